@@ -0,0 +1,84 @@
+/*
+ * Copyright (C) 2011 Thomas Akehurst
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.tomakehurst.wiremock.verification;
+
+import com.github.tomakehurst.wiremock.http.Cookie;
+import com.github.tomakehurst.wiremock.http.HttpHeaders;
+import com.github.tomakehurst.wiremock.http.RequestMethod;
+import com.github.tomakehurst.wiremock.stubbing.ServeEvent;
+import com.google.common.base.Optional;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.util.Collections;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the throughput of recording requests in a size-limited journal with 16 concurrent writers.
+ * Run with <code>gradle jmh</code>.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Threads(16)
+public class RequestJournalBenchmark {
+
+    @Param({"1000", "100000"})
+    public int maxEntries;
+
+    @Param({"ring-buffer", "in-memory"})
+    public String journalType;
+
+    private RequestJournal journal;
+    private ServeEvent serveEvent;
+
+    @Setup
+    public void setup() {
+        journal = "ring-buffer".equals(journalType) ?
+            new RingBufferRequestJournal(maxEntries) :
+            new InMemoryRequestJournal(Optional.of(maxEntries));
+
+        serveEvent = ServeEvent.of(new LoggedRequest(
+            "/benchmark",
+            "http://localhost:8080/benchmark",
+            RequestMethod.GET,
+            "127.0.0.1",
+            HttpHeaders.noHeaders(),
+            Collections.<String, Cookie>emptyMap(),
+            false,
+            new Date(),
+            null,
+            null,
+            null
+        ), null);
+        for (int i = 0; i < maxEntries; i++) {
+            journal.requestReceived(serveEvent);
+        }
+    }
+
+    @Benchmark
+    public void recordRequest() {
+        journal.requestReceived(serveEvent);
+    }
+}
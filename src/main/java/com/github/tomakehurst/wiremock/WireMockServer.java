@@ -18,6 +18,7 @@ package com.github.tomakehurst.wiremock;
 import com.github.tomakehurst.wiremock.admin.model.*;
 import com.github.tomakehurst.wiremock.client.MappingBuilder;
 import com.github.tomakehurst.wiremock.client.WireMock;
+import com.github.tomakehurst.wiremock.common.BodyFileCacheStats;
 import com.github.tomakehurst.wiremock.common.FatalStartupException;
 import com.github.tomakehurst.wiremock.common.FileSource;
 import com.github.tomakehurst.wiremock.common.Notifier;
@@ -28,6 +29,7 @@ import com.github.tomakehurst.wiremock.core.Options;
 import com.github.tomakehurst.wiremock.core.WireMockApp;
 import com.github.tomakehurst.wiremock.global.GlobalSettings;
 import com.github.tomakehurst.wiremock.global.GlobalSettingsHolder;
+import com.github.tomakehurst.wiremock.http.CompressedResponseCacheStats;
 import com.github.tomakehurst.wiremock.http.HttpServer;
 import com.github.tomakehurst.wiremock.http.HttpServerFactory;
 import com.github.tomakehurst.wiremock.http.RequestListener;
@@ -41,8 +43,10 @@ import com.github.tomakehurst.wiremock.recording.RecordSpec;
 import com.github.tomakehurst.wiremock.recording.RecordSpecBuilder;
 import com.github.tomakehurst.wiremock.standalone.MappingsLoader;
 import com.github.tomakehurst.wiremock.stubbing.ServeEvent;
+import com.github.tomakehurst.wiremock.stubbing.StubImport;
 import com.github.tomakehurst.wiremock.stubbing.StubMapping;
 import com.github.tomakehurst.wiremock.stubbing.StubMappingJsonRecorder;
+import com.github.tomakehurst.wiremock.stubbing.StubMatchCacheStats;
 import com.github.tomakehurst.wiremock.verification.*;
 
 import java.util.List;
@@ -137,6 +141,7 @@ public class WireMockServer implements Container, Stubbing, Admin {
 
     public void stop() {
         httpServer.stop();
+        wireMockApp.stop();
 	}
 
 	public void start() {
@@ -299,6 +304,11 @@ public class WireMockServer implements Container, Stubbing, Admin {
         wireMockApp.editStubMapping(stubMapping);
     }
 
+    @Override
+    public void importStubMappings(StubImport stubImport) {
+        wireMockApp.importStubMappings(stubImport);
+    }
+
     @Override
     public ListStubMappingsResult listAllStubMappings() {
         return wireMockApp.listAllStubMappings();
@@ -379,6 +389,51 @@ public class WireMockServer implements Container, Stubbing, Admin {
         return wireMockApp.getAllScenarios();
     }
 
+    @Override
+    public List<JournalEntry> getJournalEntriesAfter(String cursor, int limit) {
+        return wireMockApp.getJournalEntriesAfter(cursor, limit);
+    }
+
+    @Override
+    public JournalCompressionStats getJournalCompressionStats() {
+        return wireMockApp.getJournalCompressionStats();
+    }
+
+    @Override
+    public StubMatchCacheStats getStubMatchCacheStats() {
+        return wireMockApp.getStubMatchCacheStats();
+    }
+
+    @Override
+    public BodyFileCacheStats getBodyFileCacheStats() {
+        return wireMockApp.getBodyFileCacheStats();
+    }
+
+    @Override
+    public CompressedResponseCacheStats getCompressedResponseCacheStats() {
+        return wireMockApp.getCompressedResponseCacheStats();
+    }
+
+    @Override
+    public void registerRequestCounter(RequestCounterSpec spec) {
+        wireMockApp.registerRequestCounter(spec);
+    }
+
+    @Override
+    public ListRequestCountersResult getRequestCounters() {
+        return wireMockApp.getRequestCounters();
+    }
+
+    @Override
+    public SingleRequestCounterResult getRequestCounter(String name) {
+        return wireMockApp.getRequestCounter(name);
+    }
+
+    @Override
+    public void resetRequestCounters() {
+        wireMockApp.resetRequestCounters();
+    }
+
     @Override
     public FindNearMissesResult findTopNearMissesFor(LoggedRequest loggedRequest) {
         return wireMockApp.findTopNearMissesFor(loggedRequest);
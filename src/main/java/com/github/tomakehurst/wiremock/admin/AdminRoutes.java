@@ -67,11 +67,15 @@ public class AdminRoutes {
         router.add(POST, "/mappings/edit", OldEditStubMappingTask.class);  // Deprecated
         router.add(POST, "/mappings/save", SaveMappingsTask.class);
         router.add(POST, "/mappings/reset", ResetToDefaultMappingsTask.class);
+        router.add(POST, "/mappings/import", ImportStubMappingsTask.class);
+        router.add(GET,  "/mappings/match-cache", GetStubMatchCacheStatsTask.class);
+        router.add(GET,  "/mappings/compression-cache", GetCompressedResponseCacheStatsTask.class);
         router.add(GET,  "/mappings/{id}", GetStubMappingTask.class);
         router.add(PUT,  "/mappings/{id}", EditStubMappingTask.class);
         router.add(DELETE, "/mappings/{id}", RemoveStubMappingTask.class);
 
         router.add(GET, "/files", GetAllStubFilesTask.class);
+        router.add(GET, "/files/cache", GetBodyFileCacheStatsTask.class);
         router.add(PUT, "/files/{filename}", EditStubFileTask.class);
         router.add(DELETE, "/files/{filename}", DeleteStubFileTask.class);
 
@@ -85,8 +89,15 @@ public class AdminRoutes {
         router.add(POST, "/requests/find", FindRequestsTask.class);
         router.add(GET,  "/requests/unmatched", FindUnmatchedRequestsTask.class);
         router.add(GET,  "/requests/unmatched/near-misses", FindNearMissesForUnmatchedTask.class);
+        router.add(GET,  "/requests/compression", GetJournalCompressionStatsTask.class);
+        router.add(GET,  "/requests/stream", StreamServeEventsTask.class);
         router.add(GET,  "/requests/{id}", GetServedStubTask.class);
 
+        router.add(GET,  "/counters", GetAllRequestCountersTask.class);
+        router.add(POST, "/counters", RegisterRequestCounterTask.class);
+        router.add(POST, "/counters/reset", ResetRequestCountersTask.class);
+        router.add(GET,  "/counters/{name}", GetRequestCounterTask.class);
+
         router.add(POST, "/recordings/snapshot", SnapshotTask.class);
         router.add(POST, "/recordings/start", StartRecordingTask.class);
         router.add(POST, "/recordings/stop", StopRecordingTask.class);
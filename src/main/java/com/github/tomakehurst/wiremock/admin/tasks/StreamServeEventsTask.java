@@ -0,0 +1,100 @@
+/*
+ * Copyright (C) 2011 Thomas Akehurst
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.tomakehurst.wiremock.admin.tasks;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.github.tomakehurst.wiremock.admin.AdminTask;
+import com.github.tomakehurst.wiremock.admin.model.PathParams;
+import com.github.tomakehurst.wiremock.common.Errors;
+import com.github.tomakehurst.wiremock.common.InvalidInputException;
+import com.github.tomakehurst.wiremock.common.Json;
+import com.github.tomakehurst.wiremock.core.Admin;
+import com.github.tomakehurst.wiremock.http.QueryParameter;
+import com.github.tomakehurst.wiremock.http.Request;
+import com.github.tomakehurst.wiremock.http.ResponseDefinition;
+import com.github.tomakehurst.wiremock.http.StreamingBody;
+import com.github.tomakehurst.wiremock.verification.JournalEntry;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+
+import static com.github.tomakehurst.wiremock.admin.Conversions.toInt;
+import static com.github.tomakehurst.wiremock.common.Exceptions.throwUnchecked;
+
+/**
+ * Writes journal entries as newline delimited JSON, one entry per line, directly to the response.
+ * The <code>cursor</code> query parameter takes the cursor of the last entry already read.
+ */
+public class StreamServeEventsTask implements AdminTask {
+
+    public static final String NDJSON = "application/x-ndjson";
+    public static final int DEFAULT_LIMIT = 1000;
+
+    @Override
+    public ResponseDefinition execute(Admin admin, Request request, PathParams pathParams) {
+        QueryParameter cursor = request.queryParameter("cursor");
+        Integer limit = toInt(request.queryParameter("limit"));
+
+        final List<JournalEntry> entries;
+        try {
+            entries = admin.getJournalEntriesAfter(
+                cursor.isPresent() ? cursor.firstValue() : null,
+                limit != null ? limit : DEFAULT_LIMIT
+            );
+        } catch (IllegalArgumentException e) {
+            throw new InvalidInputException(Errors.validation("/cursor", e.getMessage()));
+        }
+
+        return ResponseDefinition.okForStream(NDJSON, new StreamingBody() {
+            @Override
+            public void writeTo(OutputStream out) throws IOException {
+                ObjectMapper mapper = Json.getObjectMapper();
+                ObjectWriter writer = mapper
+                    .writerWithView(Json.PublicView.class)
+                    .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+
+                JsonGenerator generator = mapper.getFactory().createGenerator(out);
+                generator.setRootValueSeparator(null);
+                for (JournalEntry entry: entries) {
+                    writer.writeValue(generator, entry);
+                    generator.writeRaw('\n');
+                }
+                generator.flush();
+            }
+
+            @Override
+            public long getLength() {
+                return -1;
+            }
+
+            @Override
+            public byte[] readContents() {
+                ByteArrayOutputStream out = new ByteArrayOutputStream();
+                try {
+                    writeTo(out);
+                } catch (IOException e) {
+                    return throwUnchecked(e, byte[].class);
+                }
+                return out.toByteArray();
+            }
+        });
+    }
+}
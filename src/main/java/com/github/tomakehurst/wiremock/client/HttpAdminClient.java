@@ -23,6 +23,7 @@ import com.github.tomakehurst.wiremock.core.Admin;
 import com.github.tomakehurst.wiremock.core.Options;
 import com.github.tomakehurst.wiremock.core.WireMockConfiguration;
 import com.github.tomakehurst.wiremock.global.GlobalSettings;
+import com.github.tomakehurst.wiremock.http.CompressedResponseCacheStats;
 import com.github.tomakehurst.wiremock.http.HttpClientFactory;
 import com.github.tomakehurst.wiremock.http.HttpHeader;
 import com.github.tomakehurst.wiremock.http.HttpStatus;
@@ -34,11 +35,18 @@ import com.github.tomakehurst.wiremock.recording.RecordSpec;
 import com.github.tomakehurst.wiremock.security.ClientAuthenticator;
 import com.github.tomakehurst.wiremock.security.NoClientAuthenticator;
 import com.github.tomakehurst.wiremock.security.NotAuthorisedException;
+import com.github.tomakehurst.wiremock.stubbing.StubImport;
 import com.github.tomakehurst.wiremock.stubbing.StubMapping;
+import com.github.tomakehurst.wiremock.stubbing.StubMatchCacheStats;
 import com.github.tomakehurst.wiremock.verification.FindNearMissesResult;
 import com.github.tomakehurst.wiremock.verification.FindRequestsResult;
+import com.github.tomakehurst.wiremock.verification.JournalCompressionStats;
+import com.github.tomakehurst.wiremock.verification.JournalEntry;
 import com.github.tomakehurst.wiremock.verification.LoggedRequest;
+import com.github.tomakehurst.wiremock.verification.RequestCounterSpec;
 import com.github.tomakehurst.wiremock.verification.VerificationResult;
+import com.google.common.base.Splitter;
+import com.google.common.collect.ImmutableList;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.http.client.methods.*;
 import org.apache.http.entity.StringEntity;
@@ -52,6 +60,7 @@ import static com.github.tomakehurst.wiremock.common.HttpClientUtils.getEntityAs
 import static com.github.tomakehurst.wiremock.security.NoClientAuthenticator.noClientAuthenticator;
 import static com.google.common.base.Charsets.UTF_8;
 import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.net.UrlEscapers.urlFormParameterEscaper;
 import static org.apache.http.HttpHeaders.HOST;
 
 public class HttpAdminClient implements Admin {
@@ -152,6 +161,23 @@ public class HttpAdminClient implements Admin {
                 Json.write(stubbMapping));
     }
 
+    @Override
+    public void importStubMappings(StubImport stubImport) {
+        for (StubMapping stubMapping: stubImport.getMappings()) {
+            if (stubMapping.getRequest().hasCustomMatcher()) {
+                throw new AdminException("Custom matchers can't be used when administering a remote WireMock server. " +
+                        "Use WireMockRule.importStubMappings() or WireMockServer.importStubMappings() to administer the local instance.");
+            }
+        }
+
+        executeRequest(
+                adminRoutes.requestSpecForTask(ImportStubMappingsTask.class),
+                PathParams.empty(),
+                stubImport,
+                Void.class
+        );
+    }
+
     @Override
     public ListStubMappingsResult listAllStubMappings() {
         return executeRequest(
@@ -254,6 +280,84 @@ public class HttpAdminClient implements Admin {
         );
     }
 
+    @Override
+    public List<JournalEntry> getJournalEntriesAfter(String cursor, int limit) {
+        String url = urlFor(StreamServeEventsTask.class) + "?limit=" + limit;
+        if (cursor != null) {
+            url += "&cursor=" + urlFormParameterEscaper().escape(cursor);
+        }
+
+        String body = safelyExecuteRequest(url, new HttpGet(url));
+        ImmutableList.Builder<JournalEntry> entries = ImmutableList.builder();
+        for (String line: Splitter.on('\n').omitEmptyStrings().split(body)) {
+            entries.add(Json.read(line, JournalEntry.class));
+        }
+        return entries.build();
+    }
+
+    @Override
+    public JournalCompressionStats getJournalCompressionStats() {
+        return executeRequest(
+            adminRoutes.requestSpecForTask(GetJournalCompressionStatsTask.class),
+            JournalCompressionStats.class
+        );
+    }
+
+    @Override
+    public BodyFileCacheStats getBodyFileCacheStats() {
+        return executeRequest(
+            adminRoutes.requestSpecForTask(GetBodyFileCacheStatsTask.class),
+            BodyFileCacheStats.class
+        );
+    }
+
+    @Override
+    public CompressedResponseCacheStats getCompressedResponseCacheStats() {
+        return executeRequest(
+            adminRoutes.requestSpecForTask(GetCompressedResponseCacheStatsTask.class),
+            CompressedResponseCacheStats.class
+        );
+    }
+
+    @Override
+    public StubMatchCacheStats getStubMatchCacheStats() {
+        return executeRequest(
+            adminRoutes.requestSpecForTask(GetStubMatchCacheStatsTask.class),
+            StubMatchCacheStats.class
+        );
+    }
+
+    @Override
+    public void registerRequestCounter(RequestCounterSpec spec) {
+        executeRequest(
+            adminRoutes.requestSpecForTask(RegisterRequestCounterTask.class),
+            spec,
+            Void.class
+        );
+    }
+
+    @Override
+    public ListRequestCountersResult getRequestCounters() {
+        return executeRequest(
+            adminRoutes.requestSpecForTask(GetAllRequestCountersTask.class),
+            ListRequestCountersResult.class
+        );
+    }
+
+    @Override
+    public SingleRequestCounterResult getRequestCounter(String name) {
+        return executeRequest(
+            adminRoutes.requestSpecForTask(GetRequestCounterTask.class),
+            PathParams.single("name", name),
+            SingleRequestCounterResult.class
+        );
+    }
+
+    @Override
+    public void resetRequestCounters() {
+        executeRequest(adminRoutes.requestSpecForTask(ResetRequestCountersTask.class));
+    }
+
     @Override
     public FindNearMissesResult findTopNearMissesFor(LoggedRequest loggedRequest) {
         String body = postJsonAssertOkAndReturnBody(
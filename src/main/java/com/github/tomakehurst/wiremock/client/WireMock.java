@@ -20,12 +20,14 @@ import com.github.tomakehurst.wiremock.admin.model.SingleStubMappingResult;
 import com.github.tomakehurst.wiremock.recording.RecordingStatusResult;
 import com.github.tomakehurst.wiremock.recording.SnapshotRecordResult;
 import com.github.tomakehurst.wiremock.recording.RecordSpecBuilder;
+import com.github.tomakehurst.wiremock.common.BodyFileCacheStats;
 import com.github.tomakehurst.wiremock.common.FileSource;
 import com.github.tomakehurst.wiremock.common.SingleRootFileSource;
 import com.github.tomakehurst.wiremock.core.Admin;
 import com.github.tomakehurst.wiremock.extension.Parameters;
 import com.github.tomakehurst.wiremock.global.GlobalSettings;
 import com.github.tomakehurst.wiremock.global.GlobalSettingsHolder;
+import com.github.tomakehurst.wiremock.http.CompressedResponseCacheStats;
 import com.github.tomakehurst.wiremock.http.DelayDistribution;
 import com.github.tomakehurst.wiremock.http.Request;
 import com.github.tomakehurst.wiremock.http.RequestMethod;
@@ -34,7 +36,10 @@ import com.github.tomakehurst.wiremock.security.ClientAuthenticator;
 import com.github.tomakehurst.wiremock.standalone.RemoteMappingsLoader;
 import com.github.tomakehurst.wiremock.stubbing.Scenario;
 import com.github.tomakehurst.wiremock.stubbing.ServeEvent;
+import com.github.tomakehurst.wiremock.stubbing.StubImport;
+import com.github.tomakehurst.wiremock.stubbing.StubImportBuilder;
 import com.github.tomakehurst.wiremock.stubbing.StubMapping;
+import com.github.tomakehurst.wiremock.stubbing.StubMatchCacheStats;
 import com.github.tomakehurst.wiremock.verification.*;
 import com.github.tomakehurst.wiremock.verification.diff.Diff;
 
@@ -122,6 +127,14 @@ public class WireMock {
         defaultInstance.get().removeStubMapping(stubMapping);
     }
 
+    public static void importStubs(StubImportBuilder stubImport) {
+        importStubs(stubImport.build());
+    }
+
+    public static void importStubs(StubImport stubImport) {
+        defaultInstance.get().importStubMappings(stubImport);
+    }
+
     public static ListStubMappingsResult listAllStubMappings() {
         return defaultInstance.get().allStubMappings();
     }
@@ -270,6 +283,90 @@ public class WireMock {
         return admin.getAllScenarios().getScenarios();
     }
 
+    /**
+     * Reads the request journal incrementally, oldest first. Pass null to start from the oldest entry,
+     * then the cursor of the last entry returned to continue from there.
+     */
+    public static List<JournalEntry> getJournalEntriesAfter(String cursor, int limit) {
+        return defaultInstance.get().getEntriesAfter(cursor, limit);
+    }
+
+    public List<JournalEntry> getEntriesAfter(String cursor, int limit) {
+        return admin.getJournalEntriesAfter(cursor, limit);
+    }
+
+    public static JournalCompressionStats getJournalCompressionStats() {
+        return defaultInstance.get().getCompressionStats();
+    }
+
+    private JournalCompressionStats getCompressionStats() {
+        return admin.getJournalCompressionStats();
+    }
+
+    public static BodyFileCacheStats getBodyFileCacheStats() {
+        return defaultInstance.get().getFileCacheStats();
+    }
+
+    private BodyFileCacheStats getFileCacheStats() {
+        return admin.getBodyFileCacheStats();
+    }
+
+    public static CompressedResponseCacheStats getCompressedResponseCacheStats() {
+        return defaultInstance.get().getCompressionCacheStats();
+    }
+
+    private CompressedResponseCacheStats getCompressionCacheStats() {
+        return admin.getCompressedResponseCacheStats();
+    }
+
+    public static StubMatchCacheStats getStubMatchCacheStats() {
+        return defaultInstance.get().getMatchCacheStats();
+    }
+
+    private StubMatchCacheStats getMatchCacheStats() {
+        return admin.getStubMatchCacheStats();
+    }
+
+    public static void registerRequestCounter(String name, RequestPatternBuilder requestPatternBuilder) {
+        defaultInstance.get().registerCounter(name, requestPatternBuilder);
+    }
+
+    public static void registerRequestCounter(String name, RequestPatternBuilder requestPatternBuilder, int windowSeconds) {
+        defaultInstance.get().registerCounter(name, requestPatternBuilder, windowSeconds);
+    }
+
+    public static RequestCounterStats getRequestCounter(String name) {
+        return defaultInstance.get().getCounter(name);
+    }
+
+    public static List<RequestCounterStats> getRequestCounters() {
+        return defaultInstance.get().getCounters();
+    }
+
+    public static void resetRequestCounters() {
+        defaultInstance.get().resetCounters();
+    }
+
+    public void registerCounter(String name, RequestPatternBuilder requestPatternBuilder) {
+        admin.registerRequestCounter(new RequestCounterSpec(name, requestPatternBuilder.build()));
+    }
+
+    public void registerCounter(String name, RequestPatternBuilder requestPatternBuilder, int windowSeconds) {
+        admin.registerRequestCounter(new RequestCounterSpec(name, requestPatternBuilder.build(), windowSeconds));
+    }
+
+    public RequestCounterStats getCounter(String name) {
+        return admin.getRequestCounter(name).getItem();
+    }
+
+    public List<RequestCounterStats> getCounters() {
+        return admin.getRequestCounters().getCounters();
+    }
+
+    public void resetCounters() {
+        admin.resetRequestCounters();
+    }
+
     public static void resetAllScenarios() {
 		defaultInstance.get().resetScenarios();
 	}
@@ -292,6 +389,14 @@ public class WireMock {
         admin.addStubMapping(mapping);
     }
 
+    public void importStubMappings(StubImportBuilder stubImport) {
+        importStubMappings(stubImport.build());
+    }
+
+    public void importStubMappings(StubImport stubImport) {
+        admin.importStubMappings(stubImport);
+    }
+
 	public void editStubMapping(MappingBuilder mappingBuilder) {
 		admin.editStubMapping(mappingBuilder.build());
 	}
@@ -0,0 +1,127 @@
+/*
+ * Copyright (C) 2011 Thomas Akehurst
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.tomakehurst.wiremock.common;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.Weigher;
+
+import java.io.File;
+import java.net.URI;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps the contents of recently served body files in memory, up to a total number of bytes.
+ *
+ * Files on the local filesystem are checked on each lookup and re-read when their modification time or
+ * length has changed. Files served from anywhere else, e.g. inside a jar, can't change and are never re-read.
+ * The arrays returned are shared between requests and must not be modified.
+ */
+public class BodyFileCache {
+
+    private final long maxBytes;
+    private final Cache<URI, Entry> cache;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    public BodyFileCache(long maxBytes) {
+        this.maxBytes = maxBytes;
+        this.cache = maxBytes > 0 ?
+            CacheBuilder.newBuilder()
+                // A single segment, as each segment only gets its share of the budget and evicts anything heavier
+                .concurrencyLevel(1)
+                .maximumWeight(maxBytes)
+                .weigher(new Weigher<URI, Entry>() {
+                    @Override
+                    public int weigh(URI uri, Entry entry) {
+                        return entry.contents.length;
+                    }
+                })
+                .<URI, Entry>build() :
+            null;
+    }
+
+    public static BodyFileCache disabled() {
+        return new BodyFileCache(0);
+    }
+
+    public boolean isEnabled() {
+        return cache != null;
+    }
+
+    public byte[] contentsOf(BinaryFile file) {
+        if (!isEnabled()) {
+            return file.readContents();
+        }
+
+        URI uri = file.getUri();
+        File localFile = "file".equals(uri.getScheme()) ? new File(uri) : null;
+        long lastModified = localFile != null ? localFile.lastModified() : 0;
+        long length = localFile != null ? localFile.length() : -1;
+
+        Entry entry = cache.getIfPresent(uri);
+        if (entry != null && entry.lastModified == lastModified && (length == -1 || entry.contents.length == length)) {
+            hits.incrementAndGet();
+            return entry.contents;
+        }
+
+        misses.incrementAndGet();
+        byte[] contents = file.readContents();
+        if (contents.length <= maxBytes) {
+            cache.put(uri, new Entry(contents, lastModified));
+        }
+
+        return contents;
+    }
+
+    public void flush() {
+        if (isEnabled()) {
+            cache.invalidateAll();
+        }
+    }
+
+    public BodyFileCacheStats getStats() {
+        long sizeBytes = 0;
+        if (isEnabled()) {
+            for (Entry entry: cache.asMap().values()) {
+                sizeBytes += entry.contents.length;
+            }
+        }
+
+        long hitCount = hits.get();
+        long missCount = misses.get();
+        long lookups = hitCount + missCount;
+        return new BodyFileCacheStats(
+            maxBytes,
+            sizeBytes,
+            isEnabled() ? cache.size() : 0,
+            hitCount,
+            missCount,
+            lookups > 0 ? (double) hitCount / lookups : 0.0
+        );
+    }
+
+    private static class Entry {
+
+        final byte[] contents;
+        final long lastModified;
+
+        Entry(byte[] contents, long lastModified) {
+            this.contents = contents;
+            this.lastModified = lastModified;
+        }
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright (C) 2011 Thomas Akehurst
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.tomakehurst.wiremock.common;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+public class BodyFileCacheStats {
+
+    private final long maxBytes;
+    private final long sizeBytes;
+    private final long entries;
+    private final long hits;
+    private final long misses;
+    private final double hitRate;
+
+    @JsonCreator
+    public BodyFileCacheStats(@JsonProperty("maxBytes") long maxBytes,
+                              @JsonProperty("sizeBytes") long sizeBytes,
+                              @JsonProperty("entries") long entries,
+                              @JsonProperty("hits") long hits,
+                              @JsonProperty("misses") long misses,
+                              @JsonProperty("hitRate") double hitRate) {
+        this.maxBytes = maxBytes;
+        this.sizeBytes = sizeBytes;
+        this.entries = entries;
+        this.hits = hits;
+        this.misses = misses;
+        this.hitRate = hitRate;
+    }
+
+    public long getMaxBytes() {
+        return maxBytes;
+    }
+
+    public long getSizeBytes() {
+        return sizeBytes;
+    }
+
+    public long getEntries() {
+        return entries;
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    public long getMisses() {
+        return misses;
+    }
+
+    public double getHitRate() {
+        return hitRate;
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright (C) 2011 Thomas Akehurst
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.tomakehurst.wiremock.common;
+
+/**
+ * A body held in encoded form, decoded each time it is read so the original bytes are never retained.
+ * It can also start out holding the original bytes and be encoded later, e.g. on a background thread,
+ * after which they are released. Reads in the meantime just return the original.
+ */
+public class CompressedBody {
+
+    private final int originalLength;
+    private volatile byte[] original;
+    private volatile Encoded encoded;
+
+    private CompressedBody(byte[] original) {
+        this.originalLength = original.length;
+        this.original = original;
+    }
+
+    public static CompressedBody uncompressed(byte[] body) {
+        return new CompressedBody(body);
+    }
+
+    /**
+     * @return false, leaving the original in place, if the encoded form would be no smaller or the
+     * body has already been encoded
+     */
+    public boolean compressWith(BodyCodec codec) {
+        byte[] body = original;
+        if (body == null) {
+            return false;
+        }
+
+        byte[] encodedBody = codec.encode(body);
+        if (encodedBody.length >= body.length) {
+            return false;
+        }
+
+        encoded = new Encoded(codec, encodedBody);
+        original = null;
+        return true;
+    }
+
+    public byte[] decompress() {
+        byte[] body = original;
+        if (body != null) {
+            return body;
+        }
+
+        Encoded current = encoded;
+        return current.codec.decode(current.bytes);
+    }
+
+    public boolean isCompressed() {
+        return original == null;
+    }
+
+    public int getOriginalLength() {
+        return originalLength;
+    }
+
+    public int getCompressedLength() {
+        Encoded current = encoded;
+        return current != null ? current.bytes.length : originalLength;
+    }
+
+    private static class Encoded {
+
+        final BodyCodec codec;
+        final byte[] bytes;
+
+        Encoded(BodyCodec codec, byte[] bytes) {
+            this.codec = codec;
+            this.bytes = bytes;
+        }
+    }
+}
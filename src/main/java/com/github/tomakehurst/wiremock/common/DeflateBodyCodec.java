@@ -0,0 +1,70 @@
+/*
+ * Copyright (C) 2011 Thomas Akehurst
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.tomakehurst.wiremock.common;
+
+import com.google.common.io.ByteStreams;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+import static com.github.tomakehurst.wiremock.common.Exceptions.throwUnchecked;
+
+public class DeflateBodyCodec implements BodyCodec {
+
+    private final int level;
+
+    public DeflateBodyCodec() {
+        this(Deflater.BEST_SPEED);
+    }
+
+    public DeflateBodyCodec(int level) {
+        this.level = level;
+    }
+
+    @Override
+    public String getName() {
+        return "deflate";
+    }
+
+    @Override
+    public byte[] encode(byte[] body) {
+        Deflater deflater = new Deflater(level);
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(body.length / 4 + 16);
+            DeflaterOutputStream deflaterOutputStream = new DeflaterOutputStream(bytes, deflater);
+            deflaterOutputStream.write(body);
+            deflaterOutputStream.close();
+            return bytes.toByteArray();
+        } catch (IOException e) {
+            return throwUnchecked(e, byte[].class);
+        } finally {
+            deflater.end();
+        }
+    }
+
+    @Override
+    public byte[] decode(byte[] encoded) {
+        try {
+            return ByteStreams.toByteArray(new InflaterInputStream(new ByteArrayInputStream(encoded)));
+        } catch (IOException e) {
+            return throwUnchecked(e, byte[].class);
+        }
+    }
+}
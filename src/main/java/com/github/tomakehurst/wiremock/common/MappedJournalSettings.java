@@ -0,0 +1,56 @@
+/*
+ * Copyright (C) 2011 Thomas Akehurst
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.tomakehurst.wiremock.common;
+
+import com.google.common.base.Optional;
+
+public class MappedJournalSettings {
+
+    public static final int DEFAULT_SEGMENT_SIZE_MB = 16;
+    public static final int DEFAULT_MAX_SEGMENTS = 8;
+
+    private final boolean enabled;
+    private final int segmentSizeMb;
+    private final int maxSegments;
+    private final Optional<Integer> maxAgeSeconds;
+
+    public MappedJournalSettings(boolean enabled, int segmentSizeMb, int maxSegments, Optional<Integer> maxAgeSeconds) {
+        this.enabled = enabled;
+        this.segmentSizeMb = segmentSizeMb;
+        this.maxSegments = maxSegments;
+        this.maxAgeSeconds = maxAgeSeconds;
+    }
+
+    public static MappedJournalSettings disabled() {
+        return new MappedJournalSettings(false, DEFAULT_SEGMENT_SIZE_MB, DEFAULT_MAX_SEGMENTS, Optional.<Integer>absent());
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public int getSegmentSizeMb() {
+        return segmentSizeMb;
+    }
+
+    public int getMaxSegments() {
+        return maxSegments;
+    }
+
+    public Optional<Integer> getMaxAgeSeconds() {
+        return maxAgeSeconds;
+    }
+}
@@ -16,18 +16,26 @@
 package com.github.tomakehurst.wiremock.core;
 
 import com.github.tomakehurst.wiremock.admin.model.*;
+import com.github.tomakehurst.wiremock.common.BodyFileCacheStats;
 import com.github.tomakehurst.wiremock.global.GlobalSettings;
+import com.github.tomakehurst.wiremock.http.CompressedResponseCacheStats;
 import com.github.tomakehurst.wiremock.matching.RequestPattern;
 import com.github.tomakehurst.wiremock.recording.RecordSpec;
 import com.github.tomakehurst.wiremock.recording.RecordSpecBuilder;
 import com.github.tomakehurst.wiremock.recording.RecordingStatusResult;
 import com.github.tomakehurst.wiremock.recording.SnapshotRecordResult;
+import com.github.tomakehurst.wiremock.stubbing.StubImport;
 import com.github.tomakehurst.wiremock.stubbing.StubMapping;
+import com.github.tomakehurst.wiremock.stubbing.StubMatchCacheStats;
 import com.github.tomakehurst.wiremock.verification.FindNearMissesResult;
 import com.github.tomakehurst.wiremock.verification.FindRequestsResult;
+import com.github.tomakehurst.wiremock.verification.JournalCompressionStats;
+import com.github.tomakehurst.wiremock.verification.JournalEntry;
 import com.github.tomakehurst.wiremock.verification.LoggedRequest;
+import com.github.tomakehurst.wiremock.verification.RequestCounterSpec;
 import com.github.tomakehurst.wiremock.verification.VerificationResult;
 
+import java.util.List;
 import java.util.UUID;
 
 public interface Admin {
@@ -35,6 +43,7 @@ public interface Admin {
 	void addStubMapping(StubMapping stubMapping);
 	void editStubMapping(StubMapping stubMapping);
 	void removeStubMapping(StubMapping stubbMapping);
+    void importStubMappings(StubImport stubImport);
     ListStubMappingsResult listAllStubMappings();
     SingleStubMappingResult getStubMapping(UUID id);
     void saveMappings();
@@ -50,6 +59,8 @@ public interface Admin {
     VerificationResult countRequestsMatching(RequestPattern requestPattern);
     FindRequestsResult findRequestsMatching(RequestPattern requestPattern);
     FindRequestsResult findUnmatchedRequests();
+    List<JournalEntry> getJournalEntriesAfter(String cursor, int limit);
+    JournalCompressionStats getJournalCompressionStats();
 
     FindNearMissesResult findTopNearMissesFor(LoggedRequest loggedRequest);
     FindNearMissesResult findTopNearMissesFor(RequestPattern requestPattern);
@@ -57,6 +68,15 @@ public interface Admin {
 
     GetScenariosResult getAllScenarios();
 
+    StubMatchCacheStats getStubMatchCacheStats();
+    BodyFileCacheStats getBodyFileCacheStats();
+    CompressedResponseCacheStats getCompressedResponseCacheStats();
+
+    void registerRequestCounter(RequestCounterSpec spec);
+    ListRequestCountersResult getRequestCounters();
+    SingleRequestCounterResult getRequestCounter(String name);
+    void resetRequestCounters();
+
     void updateGlobalSettings(GlobalSettings settings);
 
     SnapshotRecordResult snapshotRecord();
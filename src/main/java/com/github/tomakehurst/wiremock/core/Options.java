@@ -16,9 +16,11 @@
 package com.github.tomakehurst.wiremock.core;
 
 import com.github.tomakehurst.wiremock.common.AsynchronousResponseSettings;
+import com.github.tomakehurst.wiremock.common.BodyCodec;
 import com.github.tomakehurst.wiremock.common.FileSource;
 import com.github.tomakehurst.wiremock.common.HttpsSettings;
 import com.github.tomakehurst.wiremock.common.JettySettings;
+import com.github.tomakehurst.wiremock.common.MappedJournalSettings;
 import com.github.tomakehurst.wiremock.common.Notifier;
 import com.github.tomakehurst.wiremock.common.ProxySettings;
 import com.github.tomakehurst.wiremock.extension.Extension;
@@ -53,6 +55,14 @@ public interface Options {
     Notifier notifier();
     boolean requestJournalDisabled();
     Optional<Integer> maxRequestJournalEntries();
+    Optional<Integer> stubMatchCacheSize();
+    Optional<Integer> parallelStubMatchingChunkSize();
+    MappedJournalSettings mappedRequestJournalSettings();
+    Optional<Integer> journalBodyCompressionThreshold();
+    BodyCodec journalBodyCodec();
+    Optional<Integer> bodyFileCacheSizeMb();
+    Optional<Integer> bodyFileStreamingThreshold();
+    Optional<Integer> compressedResponseCacheSizeMb();
     String bindAddress();
     List<CaseInsensitiveKey> matchingHeaders();
     boolean shouldPreserveHostHeader();
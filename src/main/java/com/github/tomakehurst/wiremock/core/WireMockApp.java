@@ -18,7 +18,10 @@ package com.github.tomakehurst.wiremock.core;
 import com.github.tomakehurst.wiremock.admin.AdminRoutes;
 import com.github.tomakehurst.wiremock.admin.LimitAndOffsetPaginator;
 import com.github.tomakehurst.wiremock.admin.model.*;
+import com.github.tomakehurst.wiremock.common.BodyFileCache;
+import com.github.tomakehurst.wiremock.common.BodyFileCacheStats;
 import com.github.tomakehurst.wiremock.common.FileSource;
+import com.github.tomakehurst.wiremock.common.MappedJournalSettings;
 import com.github.tomakehurst.wiremock.extension.*;
 import com.github.tomakehurst.wiremock.global.GlobalSettings;
 import com.github.tomakehurst.wiremock.global.GlobalSettingsHolder;
@@ -29,14 +32,17 @@ import com.github.tomakehurst.wiremock.recording.*;
 import com.github.tomakehurst.wiremock.standalone.MappingsLoader;
 import com.github.tomakehurst.wiremock.stubbing.InMemoryStubMappings;
 import com.github.tomakehurst.wiremock.stubbing.ServeEvent;
+import com.github.tomakehurst.wiremock.stubbing.StubImport;
 import com.github.tomakehurst.wiremock.stubbing.StubMapping;
 import com.github.tomakehurst.wiremock.stubbing.StubMappings;
+import com.github.tomakehurst.wiremock.stubbing.StubMatchCacheStats;
 import com.github.tomakehurst.wiremock.verification.*;
 import com.github.tomakehurst.wiremock.verification.diff.PlainTextDiffRenderer;
 import com.google.common.base.Optional;
 import com.google.common.base.Predicate;
 import com.google.common.collect.ImmutableList;
 
+import java.io.File;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
@@ -52,11 +58,16 @@ public class WireMockApp implements StubServer, Admin {
     public static final String FILES_ROOT = "__files";
     public static final String ADMIN_CONTEXT_ROOT = "/__admin";
     public static final String MAPPINGS_ROOT = "mappings";
+    public static final String JOURNAL_ROOT = "journal";
 
     private static final PlainTextDiffRenderer diffRenderer = new PlainTextDiffRenderer();
 
     private final StubMappings stubMappings;
     private final RequestJournal requestJournal;
+    private final JournalBodyCompression journalBodyCompression;
+    private final BodyFileCache bodyFileCache;
+    private final CompressedResponseCache compressedResponseCache;
+    private final RequestCounters requestCounters = new RequestCounters();
     private final GlobalSettingsHolder globalSettingsHolder;
     private final boolean browserProxyingEnabled;
     private final MappingsLoader defaultMappingsLoader;
@@ -77,11 +88,20 @@ public class WireMockApp implements StubServer, Admin {
         this.defaultMappingsLoader = options.mappingsLoader();
         this.mappingsSaver = options.mappingsSaver();
         globalSettingsHolder = new GlobalSettingsHolder();
-        requestJournal = options.requestJournalDisabled() ? new DisabledRequestJournal() : new InMemoryRequestJournal(options.maxRequestJournalEntries());
+        journalBodyCompression = journalBodyCompressionFor(options);
+        bodyFileCache = options.bodyFileCacheSizeMb().isPresent() ?
+            new BodyFileCache(options.bodyFileCacheSizeMb().get() * 1024L * 1024L) :
+            BodyFileCache.disabled();
+        compressedResponseCache = options.compressedResponseCacheSizeMb().isPresent() ?
+            new CompressedResponseCache(options.compressedResponseCacheSizeMb().get() * 1024L * 1024L) :
+            CompressedResponseCache.disabled();
+        requestJournal = requestJournalFor(options, journalBodyCompression);
         stubMappings = new InMemoryStubMappings(
             options.extensionsOfType(RequestMatcherExtension.class),
             options.extensionsOfType(ResponseDefinitionTransformer.class),
-            fileSource);
+            fileSource,
+            options.stubMatchCacheSize(),
+            options.parallelStubMatchingChunkSize());
         nearMissCalculator = new NearMissCalculator(stubMappings, requestJournal);
         recorder = new Recorder(this);
         this.container = container;
@@ -103,7 +123,10 @@ public class WireMockApp implements StubServer, Admin {
         this.defaultMappingsLoader = defaultMappingsLoader;
         this.mappingsSaver = mappingsSaver;
         globalSettingsHolder = new GlobalSettingsHolder();
-        requestJournal = requestJournalDisabled ? new DisabledRequestJournal() : new InMemoryRequestJournal(maxRequestJournalEntries);
+        journalBodyCompression = JournalBodyCompression.disabled();
+        bodyFileCache = BodyFileCache.disabled();
+        compressedResponseCache = CompressedResponseCache.disabled();
+        requestJournal = requestJournalFor(requestJournalDisabled, maxRequestJournalEntries);
         stubMappings = new InMemoryStubMappings(requestMatchers, transformers, rootFileSource);
         this.container = container;
         nearMissCalculator = new NearMissCalculator(stubMappings, requestJournal);
@@ -138,11 +161,15 @@ public class WireMockApp implements StubServer, Admin {
                     options.shouldPreserveHostHeader(),
                     options.proxyHostHeader()
                 ),
-                ImmutableList.copyOf(options.extensionsOfType(ResponseTransformer.class).values())
+                ImmutableList.copyOf(options.extensionsOfType(ResponseTransformer.class).values()),
+                bodyFileCache,
+                options.bodyFileStreamingThreshold(),
+                compressedResponseCache
             ),
             this,
             postServeActions,
-            requestJournal
+            requestJournal,
+            requestCounters
         );
     }
 
@@ -150,6 +177,54 @@ public class WireMockApp implements StubServer, Admin {
         return globalSettingsHolder;
     }
 
+    /**
+     * Stops any background work, such as journal body compression, when the server stops.
+     */
+    public void stop() {
+        journalBodyCompression.shutdown();
+    }
+
+    /**
+     * Compression is only applied to the heap journals, so it's reported as disabled for the others.
+     */
+    private static JournalBodyCompression journalBodyCompressionFor(Options options) {
+        if (!options.journalBodyCompressionThreshold().isPresent() ||
+            options.requestJournalDisabled() ||
+            options.mappedRequestJournalSettings().isEnabled()) {
+            return JournalBodyCompression.disabled();
+        }
+
+        return new JournalBodyCompression(options.journalBodyCodec(), options.journalBodyCompressionThreshold().get());
+    }
+
+    private static RequestJournal requestJournalFor(Options options, JournalBodyCompression compression) {
+        MappedJournalSettings mappedJournalSettings = options.mappedRequestJournalSettings();
+        if (options.requestJournalDisabled() || !mappedJournalSettings.isEnabled()) {
+            RequestJournal requestJournal = requestJournalFor(options.requestJournalDisabled(), options.maxRequestJournalEntries());
+            return compression.isEnabled() ?
+                new CompressingRequestJournal(requestJournal, compression) :
+                requestJournal;
+        }
+
+        Optional<Integer> maxAgeSeconds = mappedJournalSettings.getMaxAgeSeconds();
+        return new MappedRequestJournal(
+            new File(options.filesRoot().child(JOURNAL_ROOT).getPath()),
+            mappedJournalSettings.getSegmentSizeMb() * 1024L * 1024L,
+            mappedJournalSettings.getMaxSegments(),
+            maxAgeSeconds.isPresent() ? Optional.of(maxAgeSeconds.get() * 1000L) : Optional.<Long>absent()
+        );
+    }
+
+    private static RequestJournal requestJournalFor(boolean disabled, Optional<Integer> maxEntries) {
+        if (disabled) {
+            return new DisabledRequestJournal();
+        }
+
+        return maxEntries.isPresent() && maxEntries.get() > 0 ?
+            new RingBufferRequestJournal(maxEntries.get()) :
+            new InMemoryRequestJournal(maxEntries);
+    }
+
     private void loadDefaultMappings() {
         loadMappingsUsing(defaultMappingsLoader);
     }
@@ -209,6 +284,23 @@ public class WireMockApp implements StubServer, Admin {
         }
     }
 
+    @Override
+    public void importStubMappings(StubImport stubImport) {
+        List<StubMapping> mappings = stubImport.getMappings();
+        if (stubImport.isReplaceExisting()) {
+            mappingsSaver.removeAll();
+            stubMappings.replaceAllMappings(mappings);
+        } else {
+            stubMappings.addMappings(mappings);
+        }
+
+        for (StubMapping stubMapping: mappings) {
+            if (stubMapping.shouldBePersisted()) {
+                mappingsSaver.save(stubMapping);
+            }
+        }
+    }
+
     @Override
     public ListStubMappingsResult listAllStubMappings() {
         return new ListStubMappingsResult(LimitAndOffsetPaginator.none(stubMappings.getAll()));
@@ -232,6 +324,7 @@ public class WireMockApp implements StubServer, Admin {
     @Override
     public void resetRequests() {
         requestJournal.reset();
+        requestCounters.reset();
     }
 
     @Override
@@ -329,6 +422,51 @@ public class WireMockApp implements StubServer, Admin {
         );
     }
 
+    @Override
+    public StubMatchCacheStats getStubMatchCacheStats() {
+        return stubMappings.getMatchCacheStats();
+    }
+
+    @Override
+    public List<JournalEntry> getJournalEntriesAfter(String cursor, int limit) {
+        return requestJournal.getEntriesAfter(cursor != null ? JournalEntry.sequenceOf(cursor) : -1, limit);
+    }
+
+    @Override
+    public JournalCompressionStats getJournalCompressionStats() {
+        return journalBodyCompression.getStats();
+    }
+
+    @Override
+    public BodyFileCacheStats getBodyFileCacheStats() {
+        return bodyFileCache.getStats();
+    }
+
+    @Override
+    public CompressedResponseCacheStats getCompressedResponseCacheStats() {
+        return compressedResponseCache.getStats();
+    }
+
+    @Override
+    public void registerRequestCounter(RequestCounterSpec spec) {
+        requestCounters.register(spec);
+    }
+
+    @Override
+    public ListRequestCountersResult getRequestCounters() {
+        return new ListRequestCountersResult(requestCounters.getAllStats());
+    }
+
+    @Override
+    public SingleRequestCounterResult getRequestCounter(String name) {
+        return SingleRequestCounterResult.fromOptional(requestCounters.getStats(name));
+    }
+
+    @Override
+    public void resetRequestCounters() {
+        requestCounters.reset();
+    }
+
     @Override
     public FindNearMissesResult findTopNearMissesFor(LoggedRequest loggedRequest) {
         return new FindNearMissesResult(nearMissCalculator.findNearestTo(loggedRequest));
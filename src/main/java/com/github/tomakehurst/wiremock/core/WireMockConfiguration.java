@@ -49,6 +49,9 @@ import static java.util.Collections.emptyList;
 
 public class WireMockConfiguration implements Options {
 
+    private static final String MAPPED_JOURNAL_CONFLICT =
+        "Journal compression and maximum entries can't be used with a memory-mapped request journal";
+
     private int portNumber = DEFAULT_PORT;
     private String bindAddress = DEFAULT_BIND_ADDRESS;
 
@@ -71,6 +74,17 @@ public class WireMockConfiguration implements Options {
     private Notifier notifier = new Slf4jNotifier(false);
     private boolean requestJournalDisabled = false;
     private Optional<Integer> maxRequestJournalEntries = Optional.absent();
+    private Optional<Integer> stubMatchCacheSize = Optional.absent();
+    private Optional<Integer> parallelStubMatchingChunkSize = Optional.absent();
+    private boolean mappedRequestJournalEnabled = false;
+    private int journalSegmentSizeMb = MappedJournalSettings.DEFAULT_SEGMENT_SIZE_MB;
+    private int journalMaxSegments = MappedJournalSettings.DEFAULT_MAX_SEGMENTS;
+    private Optional<Integer> journalMaxAgeSeconds = Optional.absent();
+    private Optional<Integer> journalBodyCompressionThreshold = Optional.absent();
+    private Optional<Integer> bodyFileCacheSizeMb = Optional.absent();
+    private Optional<Integer> bodyFileStreamingThreshold = Optional.absent();
+    private Optional<Integer> compressedResponseCacheSizeMb = Optional.absent();
+    private BodyCodec journalBodyCodec = new DeflateBodyCodec();
     private List<CaseInsensitiveKey> matchingHeaders = emptyList();
 
     private boolean preserveHostHeader;
@@ -247,15 +261,106 @@ public class WireMockConfiguration implements Options {
      * @deprecated use {@link #maxRequestJournalEntries(int)} instead
      */
     public WireMockConfiguration maxRequestJournalEntries(Optional<Integer> maxRequestJournalEntries) {
+        if (maxRequestJournalEntries.isPresent()) {
+            rejectIfMappedRequestJournal();
+        }
         this.maxRequestJournalEntries = maxRequestJournalEntries;
         return this;
     }
 
     public WireMockConfiguration maxRequestJournalEntries(int maxRequestJournalEntries) {
+        rejectIfMappedRequestJournal();
         this.maxRequestJournalEntries = Optional.of(maxRequestJournalEntries);
         return this;
     }
 
+    /**
+     * Remember which stub matched the most recent distinct requests, up to the given number.
+     * Requests that could only be answered by scenario-bound or custom-matched stubs are never cached.
+     */
+    public WireMockConfiguration stubMatchCacheSize(int stubMatchCacheSize) {
+        this.stubMatchCacheSize = Optional.of(stubMatchCacheSize);
+        return this;
+    }
+
+    /**
+     * When more than this many stubs are candidates for a request, match them concurrently in chunks of this size.
+     */
+    public WireMockConfiguration parallelStubMatchingChunkSize(int parallelStubMatchingChunkSize) {
+        this.parallelStubMatchingChunkSize = Optional.of(parallelStubMatchingChunkSize);
+        return this;
+    }
+
+    /**
+     * Keep the request journal in memory-mapped segment files under the root directory rather than on the heap.
+     */
+    public WireMockConfiguration mappedRequestJournal() {
+        if (journalBodyCompressionThreshold.isPresent() || maxRequestJournalEntries.isPresent()) {
+            throw new IllegalArgumentException(MAPPED_JOURNAL_CONFLICT);
+        }
+        this.mappedRequestJournalEnabled = true;
+        return this;
+    }
+
+    public WireMockConfiguration journalSegmentSizeMb(int journalSegmentSizeMb) {
+        this.journalSegmentSizeMb = journalSegmentSizeMb;
+        return this;
+    }
+
+    public WireMockConfiguration journalMaxSegments(int journalMaxSegments) {
+        this.journalMaxSegments = journalMaxSegments;
+        return this;
+    }
+
+    public WireMockConfiguration journalMaxAgeSeconds(int journalMaxAgeSeconds) {
+        this.journalMaxAgeSeconds = Optional.of(journalMaxAgeSeconds);
+        return this;
+    }
+
+    /**
+     * Compress request and response bodies of at least this many bytes before storing them in the request journal.
+     */
+    public WireMockConfiguration journalBodyCompressionThreshold(int thresholdBytes) {
+        rejectIfMappedRequestJournal();
+        this.journalBodyCompressionThreshold = Optional.of(thresholdBytes);
+        return this;
+    }
+
+    private void rejectIfMappedRequestJournal() {
+        if (mappedRequestJournalEnabled) {
+            throw new IllegalArgumentException(MAPPED_JOURNAL_CONFLICT);
+        }
+    }
+
+    public WireMockConfiguration journalBodyCodec(BodyCodec journalBodyCodec) {
+        this.journalBodyCodec = journalBodyCodec;
+        return this;
+    }
+
+    /**
+     * Keep the contents of served body files in memory, up to this many megabytes in total.
+     */
+    public WireMockConfiguration bodyFileCacheSizeMb(int bodyFileCacheSizeMb) {
+        this.bodyFileCacheSizeMb = Optional.of(bodyFileCacheSizeMb);
+        return this;
+    }
+
+    /**
+     * Stream body files of at least this many bytes straight from disk instead of reading them into memory.
+     */
+    public WireMockConfiguration bodyFileStreamingThreshold(int thresholdBytes) {
+        this.bodyFileStreamingThreshold = Optional.of(thresholdBytes);
+        return this;
+    }
+
+    /**
+     * Keep gzip and deflate encodings of static and cached body file responses, up to this many megabytes in total.
+     */
+    public WireMockConfiguration compressedResponseCacheSizeMb(int compressedResponseCacheSizeMb) {
+        this.compressedResponseCacheSizeMb = Optional.of(compressedResponseCacheSizeMb);
+        return this;
+    }
+
     public WireMockConfiguration recordRequestHeadersForMatching(List<String> headers) {
     	this.matchingHeaders = transform(headers, CaseInsensitiveKey.TO_CASE_INSENSITIVE_KEYS);
     	return this;
@@ -404,6 +509,46 @@ public class WireMockConfiguration implements Options {
         return maxRequestJournalEntries;
     }
 
+    @Override
+    public Optional<Integer> stubMatchCacheSize() {
+        return stubMatchCacheSize;
+    }
+
+    @Override
+    public Optional<Integer> parallelStubMatchingChunkSize() {
+        return parallelStubMatchingChunkSize;
+    }
+
+    @Override
+    public MappedJournalSettings mappedRequestJournalSettings() {
+        return new MappedJournalSettings(mappedRequestJournalEnabled, journalSegmentSizeMb, journalMaxSegments, journalMaxAgeSeconds);
+    }
+
+    @Override
+    public Optional<Integer> journalBodyCompressionThreshold() {
+        return journalBodyCompressionThreshold;
+    }
+
+    @Override
+    public BodyCodec journalBodyCodec() {
+        return journalBodyCodec;
+    }
+
+    @Override
+    public Optional<Integer> bodyFileCacheSizeMb() {
+        return bodyFileCacheSizeMb;
+    }
+
+    @Override
+    public Optional<Integer> bodyFileStreamingThreshold() {
+        return bodyFileStreamingThreshold;
+    }
+
+    @Override
+    public Optional<Integer> compressedResponseCacheSizeMb() {
+        return compressedResponseCacheSizeMb;
+    }
+
     @Override
     public String bindAddress() {
         return bindAddress;
@@ -22,6 +22,7 @@ import com.github.tomakehurst.wiremock.http.MultiValue;
 import com.github.tomakehurst.wiremock.http.QueryParameter;
 import com.github.tomakehurst.wiremock.http.Request;
 import com.google.common.base.Function;
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Maps;
 
 import java.net.URI;
@@ -49,19 +50,19 @@ public class RequestTemplateModel {
     public static RequestTemplateModel from(final Request request) {
         URI url = URI.create(request.getUrl());
         Map<String, QueryParameter> rawQuery = Urls.splitQuery(url);
-        Map<String, ListOrSingle<String>> adaptedQuery = Maps.transformValues(rawQuery, TO_TEMPLATE_MODEL);
+        Map<String, ListOrSingle<String>> adaptedQuery = ImmutableMap.copyOf(Maps.transformValues(rawQuery, TO_TEMPLATE_MODEL));
         Map<String, ListOrSingle<String>> adaptedHeaders = Maps.toMap(request.getAllHeaderKeys(), new Function<String, ListOrSingle<String>>() {
             @Override
             public ListOrSingle<String> apply(String input) {
                 return ListOrSingle.of(request.header(input).values());
             }
         });
-        Map<String, ListOrSingle<String>> adaptedCookies = Maps.transformValues(request.getCookies(), new Function<Cookie, ListOrSingle<String>>() {
+        Map<String, ListOrSingle<String>> adaptedCookies = ImmutableMap.copyOf(Maps.transformValues(request.getCookies(), new Function<Cookie, ListOrSingle<String>>() {
             @Override
             public ListOrSingle<String> apply(Cookie cookie) {
                 return ListOrSingle.of(cookie.getValues());
             }
-        });
+        }));
 
         UrlPath path = new UrlPath(request.getUrl());
 
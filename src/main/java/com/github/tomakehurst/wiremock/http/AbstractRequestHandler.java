@@ -16,6 +16,7 @@
 package com.github.tomakehurst.wiremock.http;
 
 import com.github.tomakehurst.wiremock.stubbing.ServeEvent;
+import com.github.tomakehurst.wiremock.verification.LoggedRequest;
 
 import java.util.List;
 
@@ -41,15 +42,16 @@ public abstract class AbstractRequestHandler implements RequestHandler, RequestE
 
 	@Override
 	public void handle(Request request, HttpResponder httpResponder) {
-		ServeEvent serveEvent = handleRequest(request);
+		LoggedRequest loggedRequest = LoggedRequest.createFrom(request);
+		ServeEvent serveEvent = handleRequest(loggedRequest);
 		ResponseDefinition responseDefinition = serveEvent.getResponseDefinition();
-		responseDefinition.setOriginalRequest(request);
+		responseDefinition.setOriginalRequest(loggedRequest);
 		Response response = responseRenderer.render(responseDefinition);
 		ServeEvent completedServeEvent = serveEvent.complete(response);
 
 		if (logRequests()) {
 			notifier().info("Request received:\n" +
-					formatRequest(request) +
+					formatRequest(loggedRequest) +
 					"\n\nMatched response definition:\n" + responseDefinition +
 					"\n\nResponse:\n" + response);
 		}
@@ -60,7 +62,7 @@ public abstract class AbstractRequestHandler implements RequestHandler, RequestE
 
         beforeResponseSent(completedServeEvent, response);
 
-		httpResponder.respond(request, response);
+		httpResponder.respond(loggedRequest, response);
 
         afterResponseSent(completedServeEvent, response);
 	}
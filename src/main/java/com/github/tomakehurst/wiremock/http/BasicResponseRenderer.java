@@ -25,6 +25,7 @@ public class BasicResponseRenderer implements ResponseRenderer {
             .status(responseDefinition.getStatus())
             .headers(responseDefinition.getHeaders())
             .body(responseDefinition.getByteBody())
+            .streamingBody(responseDefinition.getStreamingBody())
             .build();
     }
 }
\ No newline at end of file
@@ -0,0 +1,260 @@
+/*
+ * Copyright (C) 2011 Thomas Akehurst
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.tomakehurst.wiremock.http;
+
+import com.github.tomakehurst.wiremock.common.DeflateBodyCodec;
+import com.github.tomakehurst.wiremock.common.Gzip;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.Weigher;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.Deflater;
+
+import static com.google.common.net.HttpHeaders.ACCEPT_ENCODING;
+import static com.google.common.net.HttpHeaders.CONTENT_ENCODING;
+import static com.google.common.net.HttpHeaders.CONTENT_LENGTH;
+import static com.google.common.net.HttpHeaders.VARY;
+
+/**
+ * Holds gzip and deflate encodings of response bodies that are served many times over, so each
+ * is compressed once rather than on every request that accepts compression.
+ *
+ * Entries are keyed on the identity of the body array, so only bodies that are shared between requests,
+ * like those of prebuilt static responses or cached body files, are worth offering. Entries are
+ * dropped once the body is no longer referenced, or to stay within the byte budget.
+ */
+public class CompressedResponseCache {
+
+    static final String GZIP = "gzip";
+    static final String DEFLATE = "deflate";
+
+    private final long maxBytes;
+    private final Cache<byte[], Variants> cache;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    public CompressedResponseCache(long maxBytes) {
+        this.maxBytes = maxBytes;
+        this.cache = maxBytes > 0 ?
+            CacheBuilder.newBuilder()
+                .weakKeys()
+                // A single segment, as each segment only gets its share of the budget and evicts anything heavier
+                .concurrencyLevel(1)
+                .maximumWeight(maxBytes)
+                .weigher(new Weigher<byte[], Variants>() {
+                    @Override
+                    public int weigh(byte[] body, Variants variants) {
+                        return variants.size();
+                    }
+                })
+                .<byte[], Variants>build() :
+            null;
+    }
+
+    public static CompressedResponseCache disabled() {
+        return new CompressedResponseCache(0);
+    }
+
+    public boolean isEnabled() {
+        return cache != null;
+    }
+
+    /**
+     * Returns the response with its body encoded as the request prefers. Any response that could be encoded
+     * varies on Accept-Encoding, so it is marked as such even when it is sent unencoded because the request
+     * doesn't accept gzip or deflate or compression doesn't make it smaller. Already encoded responses are
+     * returned unchanged.
+     */
+    public Response compressFor(Request request, Response response) {
+        if (!isEnabled() || request == null || !isCompressible(response)) {
+            return response;
+        }
+
+        String encoding = preferredEncoding(request.header(ACCEPT_ENCODING));
+        if (encoding == null) {
+            return withHeaders(response, varyingOnAcceptEncoding(response.getHeaders(), null, null));
+        }
+
+        byte[] body = response.getBody();
+        Variants variants = cache.getIfPresent(body);
+        byte[] encoded = variants != null ? variants.get(encoding) : null;
+        if (encoded != null) {
+            hits.incrementAndGet();
+        } else {
+            misses.incrementAndGet();
+            encoded = encode(body, encoding);
+            Variants updated = variants != null ? variants.with(encoding, encoded) : new Variants(body.length).with(encoding, encoded);
+            if (updated.size() <= maxBytes) {
+                cache.put(body, updated);
+            }
+        }
+
+        if (encoded.length >= body.length) {
+            return withHeaders(response, varyingOnAcceptEncoding(response.getHeaders(), null, null));
+        }
+
+        return Response.Builder.like(response)
+            .but()
+            .headers(varyingOnAcceptEncoding(response.getHeaders(), encoding, encoded))
+            .body(encoded)
+            .build();
+    }
+
+    private static Response withHeaders(Response response, HttpHeaders headers) {
+        return Response.Builder.like(response).but().headers(headers).build();
+    }
+
+    /**
+     * Adds Accept-Encoding to any existing Vary header. When the body is being replaced by an encoded one,
+     * the Content-Encoding is added and any Content-Length the stub set is recomputed for the encoded body.
+     */
+    static HttpHeaders varyingOnAcceptEncoding(HttpHeaders headers, String encoding, byte[] encoded) {
+        List<HttpHeader> updated = new ArrayList<>();
+        HttpHeader vary = headers.getHeader(VARY);
+        for (HttpHeader header: headers.all()) {
+            if (encoding != null && header.keyEquals(CONTENT_LENGTH)) {
+                updated.add(new HttpHeader(CONTENT_LENGTH, String.valueOf(encoded.length)));
+            } else if (!header.keyEquals(VARY)) {
+                updated.add(header);
+            }
+        }
+
+        List<String> varyValues = new ArrayList<>(vary.isPresent() ? vary.values() : Collections.<String>emptyList());
+        if (!variesOnAcceptEncoding(varyValues)) {
+            varyValues.add(ACCEPT_ENCODING);
+        }
+        updated.add(new HttpHeader(VARY, varyValues));
+
+        if (encoding != null) {
+            updated.add(new HttpHeader(CONTENT_ENCODING, encoding));
+        }
+
+        return new HttpHeaders(updated);
+    }
+
+    private static boolean variesOnAcceptEncoding(List<String> varyValues) {
+        for (String value: varyValues) {
+            for (String field: value.split(",")) {
+                String name = field.trim();
+                if (name.equals("*") || name.equalsIgnoreCase(ACCEPT_ENCODING)) {
+                    return true;
+                }
+            }
+        }
+
+        return false;
+    }
+
+    private static boolean isCompressible(Response response) {
+        return response.getFault() == null &&
+            !response.hasStreamingBody() &&
+            !response.shouldAddChunkedDribbleDelay() &&
+            response.getBody() != null &&
+            response.getBody().length > 0 &&
+            !response.getHeaders().getHeader(CONTENT_ENCODING).isPresent();
+    }
+
+    static String preferredEncoding(HttpHeader acceptEncoding) {
+        if (!acceptEncoding.isPresent()) {
+            return null;
+        }
+
+        boolean deflateAccepted = false;
+        for (String value: acceptEncoding.values()) {
+            for (String coding: value.split(",")) {
+                String[] parts = coding.trim().split(";");
+                String name = parts[0].trim();
+                if (parts.length > 1 && parts[1].trim().matches("q\\s*=\\s*0(\\.0*)?")) {
+                    continue;
+                }
+
+                if (GZIP.equalsIgnoreCase(name)) {
+                    return GZIP;
+                }
+                deflateAccepted = deflateAccepted || DEFLATE.equalsIgnoreCase(name);
+            }
+        }
+
+        return deflateAccepted ? DEFLATE : null;
+    }
+
+    private static byte[] encode(byte[] body, String encoding) {
+        return GZIP.equals(encoding) ?
+            Gzip.gzip(body) :
+            new DeflateBodyCodec(Deflater.DEFAULT_COMPRESSION).encode(body);
+    }
+
+    public void flush() {
+        if (isEnabled()) {
+            cache.invalidateAll();
+        }
+    }
+
+    public CompressedResponseCacheStats getStats() {
+        long originalBytes = 0;
+        long compressedBytes = 0;
+        if (isEnabled()) {
+            for (Variants variants: cache.asMap().values()) {
+                originalBytes += variants.originalLength;
+                compressedBytes += variants.size();
+            }
+        }
+
+        return new CompressedResponseCacheStats(
+            maxBytes,
+            isEnabled() ? cache.size() : 0,
+            originalBytes,
+            compressedBytes,
+            hits.get(),
+            misses.get()
+        );
+    }
+
+    private static class Variants {
+
+        final int originalLength;
+        final byte[] gzipped;
+        final byte[] deflated;
+
+        Variants(int originalLength) {
+            this(originalLength, null, null);
+        }
+
+        private Variants(int originalLength, byte[] gzipped, byte[] deflated) {
+            this.originalLength = originalLength;
+            this.gzipped = gzipped;
+            this.deflated = deflated;
+        }
+
+        byte[] get(String encoding) {
+            return GZIP.equals(encoding) ? gzipped : deflated;
+        }
+
+        Variants with(String encoding, byte[] encoded) {
+            return GZIP.equals(encoding) ?
+                new Variants(originalLength, encoded, deflated) :
+                new Variants(originalLength, gzipped, encoded);
+        }
+
+        int size() {
+            return (gzipped != null ? gzipped.length : 0) + (deflated != null ? deflated.length : 0);
+        }
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright (C) 2011 Thomas Akehurst
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.tomakehurst.wiremock.http;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+public class CompressedResponseCacheStats {
+
+    private final long maxBytes;
+    private final long entries;
+    private final long originalBytes;
+    private final long compressedBytes;
+    private final long hits;
+    private final long misses;
+
+    @JsonCreator
+    public CompressedResponseCacheStats(@JsonProperty("maxBytes") long maxBytes,
+                                        @JsonProperty("entries") long entries,
+                                        @JsonProperty("originalBytes") long originalBytes,
+                                        @JsonProperty("compressedBytes") long compressedBytes,
+                                        @JsonProperty("hits") long hits,
+                                        @JsonProperty("misses") long misses) {
+        this.maxBytes = maxBytes;
+        this.entries = entries;
+        this.originalBytes = originalBytes;
+        this.compressedBytes = compressedBytes;
+        this.hits = hits;
+        this.misses = misses;
+    }
+
+    public long getMaxBytes() {
+        return maxBytes;
+    }
+
+    public long getEntries() {
+        return entries;
+    }
+
+    public long getOriginalBytes() {
+        return originalBytes;
+    }
+
+    public long getCompressedBytes() {
+        return compressedBytes;
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    public long getMisses() {
+        return misses;
+    }
+}
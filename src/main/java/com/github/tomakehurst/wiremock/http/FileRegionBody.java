@@ -0,0 +1,148 @@
+/*
+ * Copyright (C) 2011 Thomas Akehurst
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.tomakehurst.wiremock.http;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.Arrays;
+
+import static com.github.tomakehurst.wiremock.common.Exceptions.throwUnchecked;
+
+/**
+ * A body served from a region of a file on disk without first being read onto the heap.
+ */
+public class FileRegionBody implements StreamingBody {
+
+    private final File file;
+    private final long offset;
+    private final long length;
+
+    public FileRegionBody(File file, long offset, long length) {
+        this.file = file;
+        this.offset = offset;
+        this.length = length;
+    }
+
+    public static FileRegionBody of(File file) {
+        return new FileRegionBody(file, 0, file.length());
+    }
+
+    @Override
+    public long getLength() {
+        return length;
+    }
+
+    /**
+     * Opens a channel that reads the region and then reports end of stream, even if the file has
+     * since grown. Closing the channel closes the file.
+     */
+    public ReadableByteChannel openChannel() throws IOException {
+        FileInputStream in = new FileInputStream(file);
+        FileChannel channel = in.getChannel();
+        channel.position(offset);
+        return new RegionChannel(channel, length);
+    }
+
+    @Override
+    public void writeTo(OutputStream out) throws IOException {
+        WritableByteChannel target = Channels.newChannel(out);
+        try (FileInputStream in = new FileInputStream(file)) {
+            FileChannel channel = in.getChannel();
+            long position = offset;
+            long end = offset + length;
+            while (position < end) {
+                long written = channel.transferTo(position, end - position, target);
+                if (written <= 0) {
+                    break;
+                }
+                position += written;
+            }
+        }
+    }
+
+    @Override
+    public byte[] readContents() {
+        if (length > Integer.MAX_VALUE) {
+            throw new IllegalStateException(file + " is too large to be read into memory");
+        }
+
+        byte[] contents = new byte[(int) length];
+        ByteBuffer buffer = ByteBuffer.wrap(contents);
+        try (FileInputStream in = new FileInputStream(file)) {
+            FileChannel channel = in.getChannel();
+            while (buffer.hasRemaining() && channel.read(buffer, offset + buffer.position()) > 0) {}
+        } catch (IOException e) {
+            return throwUnchecked(e, byte[].class);
+        }
+
+        return buffer.hasRemaining() ? Arrays.copyOf(contents, buffer.position()) : contents;
+    }
+
+    private static class RegionChannel implements ReadableByteChannel {
+
+        private final FileChannel channel;
+        private long remaining;
+
+        RegionChannel(FileChannel channel, long length) {
+            this.channel = channel;
+            this.remaining = length;
+        }
+
+        @Override
+        public int read(ByteBuffer dst) throws IOException {
+            if (remaining <= 0) {
+                return -1;
+            }
+
+            int originalLimit = dst.limit();
+            if (dst.remaining() > remaining) {
+                dst.limit(dst.position() + (int) remaining);
+            }
+
+            try {
+                int read = channel.read(dst);
+                if (read > 0) {
+                    remaining -= read;
+                }
+                return read;
+            } finally {
+                dst.limit(originalLimit);
+            }
+        }
+
+        @Override
+        public boolean isOpen() {
+            return channel.isOpen();
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return file + " (" + length + " bytes from " + offset + ")";
+    }
+}
@@ -15,14 +15,18 @@
  */
 package com.github.tomakehurst.wiremock.http;
 
+import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.github.tomakehurst.wiremock.common.CompressedBody;
 import com.github.tomakehurst.wiremock.common.Encoding;
 import com.github.tomakehurst.wiremock.common.Strings;
 import com.google.common.net.MediaType;
 
 import java.nio.charset.Charset;
 
+import static com.fasterxml.jackson.annotation.JsonInclude.Include.NON_DEFAULT;
 import static com.google.common.net.MediaType.OCTET_STREAM;
 
 public class LoggedResponse {
@@ -30,29 +34,72 @@ public class LoggedResponse {
     private final int status;
     private final HttpHeaders headers;
     private final byte[] body;
+    private final CompressedBody compressedBody;
+    private final boolean bodyStreamed;
     private final Fault fault;
 
-    public LoggedResponse(@JsonProperty("status") int status,
-                          @JsonProperty("headers") HttpHeaders headers,
-                          @JsonProperty("bodyAsBase64") String bodyAsBase64,
-                          @JsonProperty("fault") Fault fault,
-                          @JsonProperty("body") String ignoredBodyOnlyUsedForBinding) {
+    public LoggedResponse(int status,
+                          HttpHeaders headers,
+                          String bodyAsBase64,
+                          Fault fault,
+                          String ignoredBodyOnlyUsedForBinding) {
+        this(status, headers, Encoding.decodeBase64(bodyAsBase64), null, false, fault);
+    }
+
+    @JsonCreator
+    public static LoggedResponse fromJson(@JsonProperty("status") int status,
+                                          @JsonProperty("headers") HttpHeaders headers,
+                                          @JsonProperty("bodyAsBase64") String bodyAsBase64,
+                                          @JsonProperty("fault") Fault fault,
+                                          @JsonProperty("body") String ignoredBodyOnlyUsedForBinding,
+                                          @JsonProperty("bodyStreamed") boolean bodyStreamed) {
+        return new LoggedResponse(status, headers, Encoding.decodeBase64(bodyAsBase64), null, bodyStreamed, fault);
+    }
+
+    private LoggedResponse(int status, HttpHeaders headers, byte[] body, CompressedBody compressedBody, boolean bodyStreamed, Fault fault) {
         this.status = status;
         this.headers = headers;
-        this.body = Encoding.decodeBase64(bodyAsBase64);
+        this.body = body;
+        this.compressedBody = compressedBody;
+        this.bodyStreamed = bodyStreamed;
         this.fault = fault;
     }
 
+    /**
+     * A streaming body isn't kept, only the fact it was streamed. Reading it back later could show what the
+     * file holds by then rather than what was served, and large bodies served from files shouldn't need to
+     * be held on the heap just to be journaled.
+     */
     public static LoggedResponse from(Response response) {
         return new LoggedResponse(
             response.getStatus(),
             response.getHeaders() == null || response.getHeaders().all().isEmpty() ? null : response.getHeaders(),
-            Encoding.encodeBase64(response.getBody()),
-            response.getFault(),
-            null
+            response.hasStreamingBody() ? null : response.getBody(),
+            null,
+            response.hasStreamingBody(),
+            response.getFault()
         );
     }
 
+    /**
+     * Returns a copy of this response holding its body in compressed form. The body is decompressed
+     * each time it is read.
+     */
+    public LoggedResponse withCompressedBody(CompressedBody compressedBody) {
+        return new LoggedResponse(status, headers, null, compressedBody, false, fault);
+    }
+
+    @JsonIgnore
+    public boolean isBodyCompressed() {
+        return compressedBody != null && compressedBody.isCompressed();
+    }
+
+    @JsonProperty("bodyStreamed")
+    @JsonInclude(NON_DEFAULT)
+    public boolean isBodyStreamed() {
+        return bodyStreamed;
+    }
+
     public int getStatus() {
         return status;
     }
@@ -69,6 +116,7 @@ public class LoggedResponse {
      */
     @JsonProperty("body")
     public String getBodyAsString() {
+        byte[] body = getBody();
         if (body == null) {
             return "";
         }
@@ -90,12 +138,16 @@ public class LoggedResponse {
 
     @JsonIgnore
     public byte[] getBody() {
+        if (compressedBody != null) {
+            return compressedBody.decompress();
+        }
+
         return body;
     }
 
     @JsonProperty("bodyAsBase64")
     public String getBodyAsBase64() {
-        return Encoding.encodeBase64(body);
+        return Encoding.encodeBase64(getBody());
     }
 
     public Fault getFault() {
@@ -33,6 +33,7 @@ public class Response {
 	private final boolean fromProxy;
 	private final long initialDelay;
     private final ChunkedDribbleDelay chunkedDribbleDelay;
+    private final StreamingBody streamingBody;
 
 	public static Response notConfigured() {
         return new Response(
@@ -53,6 +54,11 @@ public class Response {
 
     public Response(int status, String statusMessage, byte[] body, HttpHeaders headers, boolean configured, Fault fault, long initialDelay,
                     ChunkedDribbleDelay chunkedDribbleDelay, boolean fromProxy) {
+        this(status, statusMessage, body, headers, configured, fault, initialDelay, chunkedDribbleDelay, fromProxy, null);
+    }
+
+    private Response(int status, String statusMessage, byte[] body, HttpHeaders headers, boolean configured, Fault fault, long initialDelay,
+                     ChunkedDribbleDelay chunkedDribbleDelay, boolean fromProxy, StreamingBody streamingBody) {
         this.status = status;
         this.statusMessage = statusMessage;
         this.body = body;
@@ -62,6 +68,7 @@ public class Response {
         this.initialDelay = initialDelay;
         this.chunkedDribbleDelay = chunkedDribbleDelay;
         this.fromProxy = fromProxy;
+        this.streamingBody = streamingBody;
     }
 
     public Response(int status, String statusMessage, String body, HttpHeaders headers, boolean configured, Fault fault, long initialDelay,
@@ -75,6 +82,7 @@ public class Response {
         this.initialDelay = initialDelay;
         this.chunkedDribbleDelay = chunkedDribbleDelay;
         this.fromProxy = fromProxy;
+        this.streamingBody = null;
     }
 
 	public int getStatus() {
@@ -85,12 +93,15 @@ public class Response {
         return statusMessage;
     }
 
+    /**
+     * Returns the body as bytes. A streaming body is read into memory each time this is called.
+     */
     public byte[] getBody() {
-        return body;
+        return streamingBody != null ? streamingBody.readContents() : body;
     }
 
 	public String getBodyAsString() {
-        return Strings.stringFromBytes(body, headers.getContentTypeHeader().charset());
+        return Strings.stringFromBytes(getBody(), headers.getContentTypeHeader().charset());
 	}
 
 	public HttpHeaders getHeaders() {
@@ -109,6 +120,17 @@ public class Response {
         return chunkedDribbleDelay;
     }
 
+    /**
+     * @return a body to be written directly to the connection in place of {@link #getBody()}, or null
+     */
+    public StreamingBody getStreamingBody() {
+        return streamingBody;
+    }
+
+    public boolean hasStreamingBody() {
+        return streamingBody != null;
+    }
+
     public boolean shouldAddChunkedDribbleDelay() {
         return chunkedDribbleDelay != null;
     }
@@ -145,17 +167,20 @@ public class Response {
         private Optional<ResponseDefinition> renderedFromDefinition;
         private long initialDelay;
         private ChunkedDribbleDelay chunkedDribbleDelay;
+        private StreamingBody streamingBody;
 
         public static Builder like(Response response) {
             Builder responseBuilder = new Builder();
             responseBuilder.status = response.getStatus();
-            responseBuilder.body = response.getBody();
+            responseBuilder.statusMessage = response.getStatusMessage();
+            responseBuilder.body = response.body;
             responseBuilder.headers = response.getHeaders();
             responseBuilder.configured = response.wasConfigured();
             responseBuilder.fault = response.getFault();
             responseBuilder.initialDelay = response.getInitialDelay();
             responseBuilder.chunkedDribbleDelay = response.getChunkedDribbleDelay();
             responseBuilder.fromProxy = response.isFromProxy();
+            responseBuilder.streamingBody = response.getStreamingBody();
             return responseBuilder;
         }
 
@@ -176,6 +201,7 @@ public class Response {
         public Builder body(byte[] body) {
             this.body = body;
             this.bodyString = null;
+            this.streamingBody = null;
             ensureOnlyOneBodySet();
             return this;
         }
@@ -183,6 +209,7 @@ public class Response {
         public Builder body(String body) {
             this.bodyString = body;
             this.body = null;
+            this.streamingBody = null;
             ensureOnlyOneBodySet();
             return this;
         }
@@ -223,8 +250,19 @@ public class Response {
             return this;
         }
 
+        public Builder streamingBody(StreamingBody streamingBody) {
+            this.streamingBody = streamingBody;
+            if (streamingBody != null) {
+                this.body = null;
+                this.bodyString = null;
+            }
+            return this;
+        }
+
         public Response build() {
-            if (body != null) {
+            if (streamingBody != null) {
+                return new Response(status, statusMessage, null, headers, configured, fault, initialDelay, chunkedDribbleDelay, fromProxy, streamingBody);
+            } else if (body != null) {
                 return new Response(status, statusMessage, body, headers, configured, fault, initialDelay, chunkedDribbleDelay, fromProxy);
             } else if (bodyString != null) {
                 return new Response(status, statusMessage, bodyString, headers, configured, fault, initialDelay, chunkedDribbleDelay, fromProxy);
@@ -54,6 +54,8 @@ public class ResponseDefinition {
     private String browserProxyUrl;
     private Boolean wasConfigured = true;
     private Request originalRequest;
+    private StreamingBody streamingBody;
+    private Response prebuiltResponse;
 
     @JsonCreator
     public ResponseDefinition(@JsonProperty("status") int status,
@@ -193,6 +195,15 @@ public class ResponseDefinition {
             .jsonResponse(Json.write(errors), HTTP_FORBIDDEN);
     }
 
+    public static ResponseDefinition okForStream(String contentType, StreamingBody streamingBody) {
+        final ResponseDefinition response = new ResponseDefinitionBuilder()
+            .withStatus(HTTP_OK)
+            .withHeader(CONTENT_TYPE, contentType)
+            .build();
+        response.streamingBody = streamingBody;
+        return response;
+    }
+
     public static ResponseDefinition browserProxy(Request originalRequest) {
         final ResponseDefinition response = new ResponseDefinition();
         response.browserProxyUrl = originalRequest.getAbsoluteUrl();
@@ -216,6 +227,7 @@ public class ResponseDefinition {
             original.transformerParameters,
             original.wasConfigured
         );
+        newResponseDef.prebuiltResponse = original.prebuiltResponse;
         return newResponseDef;
     }
 
@@ -319,6 +331,45 @@ public class ResponseDefinition {
         this.originalRequest = originalRequest;
     }
 
+    @JsonIgnore
+    public StreamingBody getStreamingBody() {
+        return streamingBody;
+    }
+
+    /**
+     * Builds the response up front if it will be identical every time it's served, i.e. it isn't proxied,
+     * has no body file, names no transformers and has no random delay. Global delay settings can change
+     * while the stub is in place, so the renderer checks those each time.
+     */
+    public void prebuildResponseIfStatic() {
+        prebuiltResponse = isStatic() ? buildStaticResponse() : null;
+    }
+
+    private boolean isStatic() {
+        return wasConfigured() &&
+            !isProxyResponse() &&
+            !specifiesBodyFile() &&
+            (transformers == null || transformers.isEmpty()) &&
+            delayDistribution == null &&
+            streamingBody == null;
+    }
+
+    private Response buildStaticResponse() {
+        return Response.response()
+            .status(status)
+            .statusMessage(statusMessage)
+            .headers(headers)
+            .fault(fault)
+            .chunkedDribbleDelay(chunkedDribbleDelay)
+            .body(getByteBody())
+            .incrementInitialDelay(fixedDelayMilliseconds != null ? fixedDelayMilliseconds : 0)
+            .build();
+    }
+
+    Response getPrebuiltResponse() {
+        return prebuiltResponse;
+    }
+
     public Fault getFault() {
         return fault;
     }
@@ -0,0 +1,37 @@
+/*
+ * Copyright (C) 2011 Thomas Akehurst
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.tomakehurst.wiremock.http;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * A response body written straight to the connection as it is produced, rather than built up in memory first.
+ */
+public interface StreamingBody {
+
+    void writeTo(OutputStream out) throws IOException;
+
+    /**
+     * @return the number of bytes {@link #writeTo(OutputStream)} will write, or -1 if that isn't known in advance
+     */
+    long getLength();
+
+    /**
+     * Reads the whole body into memory, for when it is needed as bytes, e.g. by a response transformer.
+     */
+    byte[] readContents();
+}
@@ -16,11 +16,17 @@
 package com.github.tomakehurst.wiremock.http;
 
 import com.github.tomakehurst.wiremock.common.BinaryFile;
+import com.github.tomakehurst.wiremock.common.BodyFileCache;
 import com.github.tomakehurst.wiremock.common.FileSource;
 import com.github.tomakehurst.wiremock.extension.ResponseTransformer;
+import com.github.tomakehurst.wiremock.global.GlobalSettings;
 import com.github.tomakehurst.wiremock.global.GlobalSettingsHolder;
 import com.google.common.base.Optional;
+import com.google.common.collect.ImmutableList;
 
+import java.io.File;
+import java.util.ArrayList;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 import java.util.List;
 
@@ -34,15 +40,40 @@ public class StubResponseRenderer implements ResponseRenderer {
 	private final GlobalSettingsHolder globalSettingsHolder;
 	private final ProxyResponseRenderer proxyResponseRenderer;
 	private final List<ResponseTransformer> responseTransformers;
+	private final BodyFileCache bodyFileCache;
+	private final Optional<Integer> bodyFileStreamingThreshold;
+	private final CompressedResponseCache compressedResponseCache;
+	private final ResponseTransformer[] globalResponseTransformers;
+	private final ConcurrentHashMap<List<String>, ResponseTransformer[]> transformerChains = new ConcurrentHashMap<>();
 
     public StubResponseRenderer(FileSource fileSource,
 								GlobalSettingsHolder globalSettingsHolder,
 								ProxyResponseRenderer proxyResponseRenderer,
 								List<ResponseTransformer> responseTransformers) {
+		this(fileSource,
+			globalSettingsHolder,
+			proxyResponseRenderer,
+			responseTransformers,
+			BodyFileCache.disabled(),
+			Optional.<Integer>absent(),
+			CompressedResponseCache.disabled());
+	}
+
+	public StubResponseRenderer(FileSource fileSource,
+								GlobalSettingsHolder globalSettingsHolder,
+								ProxyResponseRenderer proxyResponseRenderer,
+								List<ResponseTransformer> responseTransformers,
+								BodyFileCache bodyFileCache,
+								Optional<Integer> bodyFileStreamingThreshold,
+								CompressedResponseCache compressedResponseCache) {
         this.fileSource = fileSource;
         this.globalSettingsHolder = globalSettingsHolder;
         this.proxyResponseRenderer = proxyResponseRenderer;
 		this.responseTransformers = responseTransformers;
+		this.bodyFileCache = bodyFileCache;
+		this.bodyFileStreamingThreshold = bodyFileStreamingThreshold;
+		this.compressedResponseCache = compressedResponseCache;
+		this.globalResponseTransformers = transformersApplicableTo(null);
 	}
 
 	@Override
@@ -51,8 +82,34 @@ public class StubResponseRenderer implements ResponseRenderer {
 			return Response.notConfigured();
 		}
 
+		Response prebuiltResponse = responseDefinition.getPrebuiltResponse();
+		if (prebuiltResponse != null && canServePrebuilt(responseDefinition)) {
+			return compressedResponseCache.compressFor(responseDefinition.getOriginalRequest(), prebuiltResponse);
+		}
+
 		Response response = buildResponse(responseDefinition);
-		return applyTransformations(responseDefinition.getOriginalRequest(), responseDefinition, response, responseTransformers);
+		byte[] untransformedBody = response.hasStreamingBody() ? null : response.getBody();
+		response = applyTransformations(responseDefinition.getOriginalRequest(), responseDefinition, response);
+
+		// Only a body shared through the body file cache is worth keeping encodings of
+		boolean sharedBody = responseDefinition.specifiesBodyFile() &&
+			bodyFileCache.isEnabled() &&
+			untransformedBody != null &&
+			!response.hasStreamingBody() &&
+			response.getBody() == untransformedBody;
+		return sharedBody ?
+			compressedResponseCache.compressFor(responseDefinition.getOriginalRequest(), response) :
+			response;
+	}
+
+	private boolean canServePrebuilt(ResponseDefinition responseDefinition) {
+		GlobalSettings globalSettings = globalSettingsHolder.get();
+		if (globalSettings.getDelayDistribution() != null ||
+			(globalSettings.getFixedDelay() != null && responseDefinition.getFixedDelayMilliseconds() == null)) {
+			return false;
+		}
+
+		return globalResponseTransformers.length == 0;
 	}
 
 	private Response buildResponse(ResponseDefinition responseDefinition) {
@@ -68,19 +125,44 @@ public class StubResponseRenderer implements ResponseRenderer {
 
 	private Response applyTransformations(Request request,
 										  ResponseDefinition responseDefinition,
-										  Response response,
-										  List<ResponseTransformer> transformers) {
-		if (transformers.isEmpty()) {
-			return response;
+										  Response response) {
+		Response newResponse = response;
+		for (ResponseTransformer transformer: transformerChainFor(responseDefinition)) {
+			newResponse = transformer.transform(request, newResponse, fileSource.child(FILES_ROOT), responseDefinition.getTransformerParameters());
 		}
 
-		ResponseTransformer transformer = transformers.get(0);
-		Response newResponse =
-				transformer.applyGlobally() || responseDefinition.hasTransformer(transformer) ?
-						transformer.transform(request, response, fileSource.child(FILES_ROOT), responseDefinition.getTransformerParameters()) :
-						response;
+		return newResponse;
+	}
+
+	/**
+	 * Chains are resolved once for each distinct list of transformer names, as only the global
+	 * transformers and the names a stub lists decide which transformers apply.
+	 */
+	private ResponseTransformer[] transformerChainFor(ResponseDefinition responseDefinition) {
+		List<String> names = responseDefinition.getTransformers();
+		if (names == null || names.isEmpty()) {
+			return globalResponseTransformers;
+		}
 
-		return applyTransformations(request, responseDefinition, newResponse, transformers.subList(1, transformers.size()));
+		ResponseTransformer[] transformerChain = transformerChains.get(names);
+		if (transformerChain == null) {
+			transformerChain = transformersApplicableTo(responseDefinition);
+			transformerChains.putIfAbsent(ImmutableList.copyOf(names), transformerChain);
+		}
+
+		return transformerChain;
+	}
+
+	private ResponseTransformer[] transformersApplicableTo(ResponseDefinition responseDefinition) {
+		List<ResponseTransformer> applicable = new ArrayList<>();
+		for (ResponseTransformer transformer: responseTransformers) {
+			if (transformer.applyGlobally() ||
+				(responseDefinition != null && responseDefinition.hasTransformer(transformer))) {
+				applicable.add(transformer);
+			}
+		}
+
+		return applicable.toArray(new ResponseTransformer[applicable.size()]);
 	}
 
 	private Response.Builder renderDirectly(ResponseDefinition responseDefinition) {
@@ -93,7 +175,12 @@ public class StubResponseRenderer implements ResponseRenderer {
 
 		if (responseDefinition.specifiesBodyFile()) {
 			BinaryFile bodyFile = fileSource.getBinaryFileNamed(responseDefinition.getBodyFileName());
-            responseBuilder.body(bodyFile.readContents());
+            File localFile = localFileToStream(bodyFile);
+            if (localFile != null) {
+                responseBuilder.streamingBody(FileRegionBody.of(localFile));
+            } else {
+                responseBuilder.body(bodyFileCache.contentsOf(bodyFile));
+            }
 		} else if (responseDefinition.specifiesBodyContent()) {
             if(responseDefinition.specifiesBinaryBodyContent()) {
                 responseBuilder.body(responseDefinition.getByteBody());
@@ -105,6 +192,15 @@ public class StubResponseRenderer implements ResponseRenderer {
         return responseBuilder;
 	}
 
+	private File localFileToStream(BinaryFile bodyFile) {
+		if (!bodyFileStreamingThreshold.isPresent() || !"file".equals(bodyFile.getUri().getScheme())) {
+			return null;
+		}
+
+		File file = new File(bodyFile.getUri());
+		return file.length() >= bodyFileStreamingThreshold.get() ? file : null;
+	}
+
     private void addDelayIfSpecifiedGloballyOrIn(ResponseDefinition responseDefinition, Response.Builder responseBuilder) {
     	Optional<Integer> optionalDelay = getDelayFromResponseOrGlobalSetting(responseDefinition);
         if (optionalDelay.isPresent()) {
@@ -15,14 +15,18 @@
  */
 package com.github.tomakehurst.wiremock.jetty9;
 
+import com.github.tomakehurst.wiremock.http.FileRegionBody;
 import org.eclipse.jetty.io.ssl.SslConnection;
 import org.eclipse.jetty.server.HttpChannel;
+import org.eclipse.jetty.server.HttpOutput;
 import org.eclipse.jetty.server.Request;
 import org.eclipse.jetty.server.Response;
 
 import javax.servlet.ServletResponse;
 import javax.servlet.http.HttpServletResponse;
 import javax.servlet.http.HttpServletResponseWrapper;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.net.Socket;
 import java.net.URI;
 
@@ -39,6 +43,19 @@ public class JettyUtils {
         return (Response) httpServletResponse;
     }
 
+    /**
+     * Hands a channel over the file region to Jetty's own output, which sends it through its pooled buffers
+     * rather than a copy on the heap. Returns false if the stream isn't Jetty's, e.g. because a filter has wrapped it.
+     */
+    public static boolean sendContent(OutputStream out, FileRegionBody body) throws IOException {
+        if (!(out instanceof HttpOutput)) {
+            return false;
+        }
+
+        ((HttpOutput) out).sendContent(body.openChannel());
+        return true;
+    }
+
     public static Socket getTlsSocket(Response response) {
         HttpChannel httpChannel = response.getHttpOutput().getHttpChannel();
         SslConnection.DecryptedEndPoint sslEndpoint = (SslConnection.DecryptedEndPoint) httpChannel.getEndPoint();
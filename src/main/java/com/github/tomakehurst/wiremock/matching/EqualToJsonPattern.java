@@ -92,8 +92,13 @@ public class EqualToJsonPattern extends StringValuePattern {
 
     @Override
     public MatchResult match(String value) {
+        return matchBody(ParsedBody.of(value));
+    }
+
+    @Override
+    public MatchResult matchBody(ParsedBody body) {
         try {
-            final JsonNode actual = Json.read(value, JsonNode.class);
+            final JsonNode actual = body.asJson();
 
             return new MatchResult() {
                 @Override
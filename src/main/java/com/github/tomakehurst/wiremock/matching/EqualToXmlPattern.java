@@ -89,7 +89,13 @@ public class EqualToXmlPattern extends StringValuePattern {
     }
 
     @Override
-    public MatchResult match(final String value) {
+    public MatchResult match(String value) {
+        return matchBody(ParsedBody.of(value));
+    }
+
+    @Override
+    public MatchResult matchBody(final ParsedBody body) {
+        final String value = body.asString();
         return new MatchResult() {
             @Override
             public boolean isExactMatch() {
@@ -99,7 +105,7 @@ public class EqualToXmlPattern extends StringValuePattern {
 
                 try {
                     Diff diff = DiffBuilder.compare(Input.from(expectedValue))
-                        .withTest(value)
+                        .withTest(body.asXmlDocument())
                         .withComparisonController(ComparisonControllers.StopWhenDifferent)
                         .ignoreWhitespace()
                         .ignoreComments()
@@ -108,7 +114,7 @@ public class EqualToXmlPattern extends StringValuePattern {
                         .build();
 
                     return !diff.hasDifferences();
-                } catch (XMLUnitException e) {
+                } catch (XMLUnitException | SAXException | IOException e) {
                     notifier().info("Failed to process XML. " + e.getMessage() +
                         "\nExpected:\n" + expectedValue +
                         "\n\nActual:\n" + value);
@@ -128,7 +134,7 @@ public class EqualToXmlPattern extends StringValuePattern {
                 Diff diff = null;
                 try {
                     diff = DiffBuilder.compare(Input.from(expectedValue))
-                        .withTest(value)
+                        .withTest(body.asXmlDocument())
                         .ignoreWhitespace()
                         .ignoreComments()
                         .withDifferenceEvaluator(IGNORE_UNCOUNTED_COMPARISONS)
@@ -145,7 +151,7 @@ public class EqualToXmlPattern extends StringValuePattern {
                         })
                         .withDocumentBuilderFactory(new SkipResolvingEntitiesDocumentBuilderFactory())
                         .build();
-                } catch (XMLUnitException e) {
+                } catch (XMLUnitException | SAXException | IOException e) {
                     notifier().info("Failed to process XML. " + e.getMessage() +
                         "\nExpected:\n" + expectedValue +
                         "\n\nActual:\n" + value);
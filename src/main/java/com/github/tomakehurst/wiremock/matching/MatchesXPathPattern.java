@@ -18,7 +18,6 @@ package com.github.tomakehurst.wiremock.matching;
 import com.fasterxml.jackson.annotation.JsonGetter;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.databind.annotation.JsonSerialize;
-import com.github.tomakehurst.wiremock.common.SilentErrorHandler;
 import com.github.tomakehurst.wiremock.common.Xml;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Sets;
@@ -32,9 +31,7 @@ import org.w3c.dom.Node;
 import org.w3c.dom.NodeList;
 import org.xml.sax.SAXException;
 
-import javax.xml.parsers.DocumentBuilder;
 import java.io.IOException;
-import java.io.StringReader;
 import java.util.Collections;
 import java.util.Map;
 import java.util.SortedSet;
@@ -86,22 +83,32 @@ public class MatchesXPathPattern extends PathPattern {
 
     @Override
     protected MatchResult isSimpleJsonPathMatch(String value) {
-        if (value == null) {
+        return isSimpleJsonPathMatch(ParsedBody.of(value));
+    }
+
+    @Override
+    protected MatchResult isAdvancedJsonPathMatch(String value) {
+        return isAdvancedJsonPathMatch(ParsedBody.of(value));
+    }
+
+    @Override
+    protected MatchResult isSimpleJsonPathMatch(ParsedBody body) {
+        if (body.asString() == null) {
             return MatchResult.noMatch();
         }
 
-        NodeList nodeList = findXmlNodesMatching(value);
+        NodeList nodeList = findXmlNodesMatching(body);
 
         return MatchResult.of(nodeList != null && nodeList.getLength() > 0);
     }
 
     @Override
-    protected MatchResult isAdvancedJsonPathMatch(String value) {
-        if (value == null) {
+    protected MatchResult isAdvancedJsonPathMatch(ParsedBody body) {
+        if (body.asString() == null) {
             return MatchResult.noMatch();
         }
 
-        NodeList nodeList = findXmlNodesMatching(value);
+        NodeList nodeList = findXmlNodesMatching(body);
         if (nodeList == null || nodeList.getLength() == 0) {
             return MatchResult.noMatch();
         }
@@ -116,11 +123,9 @@ public class MatchesXPathPattern extends PathPattern {
         return results.last();
     }
 
-    private NodeList findXmlNodesMatching(String value) {
+    private NodeList findXmlNodesMatching(ParsedBody body) {
         try {
-            DocumentBuilder documentBuilder = XMLUnit.newControlParser();
-            documentBuilder.setErrorHandler(new SilentErrorHandler());
-            Document inDocument = XMLUnit.buildDocument(documentBuilder, new StringReader(value));
+            Document inDocument = body.asXmlDocument();
             XpathEngine simpleXpathEngine = XMLUnit.newXpathEngine();
             if (xpathNamespaces != null) {
                 NamespaceContext namespaceContext = new SimpleNamespaceContext(xpathNamespaces);
@@ -129,7 +134,7 @@ public class MatchesXPathPattern extends PathPattern {
             return simpleXpathEngine.getMatchingNodes(expectedValue, inDocument);
         } catch (SAXException e) {
             notifier().info(String.format(
-                "Warning: failed to parse the XML document. Reason: %s\nXML: %s", e.getMessage(), value));
+                "Warning: failed to parse the XML document. Reason: %s\nXML: %s", e.getMessage(), body.asString()));
             return null;
         } catch (IOException e) {
             notifier().info(e.getMessage());
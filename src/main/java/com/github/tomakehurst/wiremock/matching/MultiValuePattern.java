@@ -58,6 +58,14 @@ public class MultiValuePattern implements NamedValueMatcher<MultiValue> {
         return MatchResult.of(valuePattern.isPresent() == multiValue.isPresent());
     }
 
+    public boolean isMatchedBy(MultiValue multiValue) {
+        if (valuePattern.isPresent() && multiValue.isPresent() && multiValue.isSingleValued()) {
+            return valuePattern.match(multiValue.firstValue()).isExactMatch();
+        }
+
+        return match(multiValue).isExactMatch();
+    }
+
     @JsonValue
     public StringValuePattern getValuePattern() {
         return valuePattern;
@@ -0,0 +1,155 @@
+/*
+ * Copyright (C) 2011 Thomas Akehurst
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.tomakehurst.wiremock.matching;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.github.tomakehurst.wiremock.common.Json;
+import com.github.tomakehurst.wiremock.common.SilentErrorHandler;
+import com.github.tomakehurst.wiremock.http.Request;
+import com.jayway.jsonpath.DocumentContext;
+import com.jayway.jsonpath.JsonPath;
+import org.w3c.dom.Document;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import java.io.IOException;
+import java.io.StringReader;
+
+import static com.github.tomakehurst.wiremock.common.Exceptions.throwUnchecked;
+import static com.github.tomakehurst.wiremock.common.Strings.bytesFromString;
+
+/**
+ * A view of a request body that parses it at most once per representation, so that every body
+ * pattern of every candidate stub evaluated for a request can share the same JSON or XML tree.
+ * A parse failure is remembered and rethrown on every access.
+ *
+ * Not thread safe - an instance is meant to live only as long as the matching of a single request.
+ */
+public class ParsedBody {
+
+    private final Request request;
+
+    private String string;
+    private boolean stringRead;
+    private byte[] bytes;
+
+    private JsonNode json;
+    private DocumentContext jsonPathDocument;
+    private Document xmlDocument;
+    private Exception jsonFailure;
+    private Exception jsonPathFailure;
+    private Exception xmlFailure;
+
+    private ParsedBody(Request request, String string, boolean stringRead) {
+        this.request = request;
+        this.string = string;
+        this.stringRead = stringRead;
+    }
+
+    public static ParsedBody of(Request request) {
+        return new ParsedBody(request, null, false);
+    }
+
+    public static ParsedBody of(String value) {
+        return new ParsedBody(null, value, true);
+    }
+
+    public String asString() {
+        if (!stringRead) {
+            string = request.getBodyAsString();
+            stringRead = true;
+        }
+
+        return string;
+    }
+
+    public byte[] asBytes() {
+        if (bytes == null) {
+            bytes = request != null ? request.getBody() : bytesFromString(string);
+        }
+
+        return bytes;
+    }
+
+    public JsonNode asJson() {
+        if (json == null && jsonFailure == null) {
+            try {
+                json = Json.read(asString(), JsonNode.class);
+            } catch (Exception e) {
+                jsonFailure = e;
+            }
+        }
+
+        if (jsonFailure != null) {
+            return throwUnchecked(jsonFailure, JsonNode.class);
+        }
+
+        return json;
+    }
+
+    public DocumentContext asJsonPathDocument() {
+        if (jsonPathDocument == null && jsonPathFailure == null) {
+            try {
+                jsonPathDocument = JsonPath.parse(asString());
+            } catch (Exception e) {
+                jsonPathFailure = e;
+            }
+        }
+
+        if (jsonPathFailure != null) {
+            return throwUnchecked(jsonPathFailure, DocumentContext.class);
+        }
+
+        return jsonPathDocument;
+    }
+
+    public Document asXmlDocument() throws SAXException, IOException {
+        if (xmlDocument == null && xmlFailure == null) {
+            try {
+                xmlDocument = parseXml(asString());
+            } catch (SAXException | IOException | RuntimeException e) {
+                xmlFailure = e;
+            }
+        }
+
+        if (xmlFailure instanceof SAXException) {
+            throw (SAXException) xmlFailure;
+        }
+        if (xmlFailure instanceof IOException) {
+            throw (IOException) xmlFailure;
+        }
+        if (xmlFailure != null) {
+            throw (RuntimeException) xmlFailure;
+        }
+
+        return xmlDocument;
+    }
+
+    private static Document parseXml(String xml) throws SAXException, IOException {
+        DocumentBuilderFactory documentBuilderFactory = new EqualToXmlPattern.SkipResolvingEntitiesDocumentBuilderFactory();
+        documentBuilderFactory.setNamespaceAware(true);
+        try {
+            DocumentBuilder documentBuilder = documentBuilderFactory.newDocumentBuilder();
+            documentBuilder.setErrorHandler(new SilentErrorHandler());
+            return documentBuilder.parse(new InputSource(new StringReader(xml)));
+        } catch (ParserConfigurationException e) {
+            return throwUnchecked(e, Document.class);
+        }
+    }
+}
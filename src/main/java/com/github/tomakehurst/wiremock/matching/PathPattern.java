@@ -37,11 +37,27 @@ public abstract class PathPattern extends StringValuePattern {
 
     @Override
     public MatchResult match(String value) {
+        return matchBody(ParsedBody.of(value));
+    }
+
+    @Override
+    public MatchResult matchBody(ParsedBody body) {
         if (isSimple()) {
-            return isSimpleJsonPathMatch(value);
+            return isSimpleJsonPathMatch(body);
         }
 
-        return isAdvancedJsonPathMatch(value);
+        return isAdvancedJsonPathMatch(body);
+    }
+
+    /**
+     * Override these to match against the shared parsed body. By default the body is matched as a string.
+     */
+    protected MatchResult isSimpleJsonPathMatch(ParsedBody body) {
+        return isSimpleJsonPathMatch(body.asString());
+    }
+
+    protected MatchResult isAdvancedJsonPathMatch(ParsedBody body) {
+        return isAdvancedJsonPathMatch(body.asString());
     }
 
     protected abstract MatchResult isSimpleJsonPathMatch(String value);
@@ -51,6 +51,7 @@ public class RequestPattern implements NamedValueMatcher<Request> {
     private final BasicCredentials basicAuthCredentials;
     private final List<ContentPattern<?>> bodyPatterns;
     private final List<MultipartValuePattern> multipartPatterns;
+    private final Map<String, MultiValuePattern> combinedHeaders;
 
     private CustomMatcherDefinition customMatcherDefinition;
     private ValueMatcher<Request> matcher;
@@ -92,6 +93,7 @@ public class RequestPattern implements NamedValueMatcher<Request> {
         this.queryParams = queryParams;
         this.cookies = cookies;
         this.basicAuthCredentials = basicAuthCredentials;
+        this.combinedHeaders = combineBasicAuthAndOtherHeaders();
         this.bodyPatterns = bodyPatterns;
         this.matcher = defaultMatcher;
         this.customMatcherDefinition = customMatcherDefinition;
@@ -107,7 +109,8 @@ public class RequestPattern implements NamedValueMatcher<Request> {
                           @JsonProperty("headers") Map<String, MultiValuePattern> headers,
                           @JsonProperty("queryParameters") Map<String, MultiValuePattern> queryParams,
                           @JsonProperty("cookies") Map<String, StringValuePattern> cookies,
-                          @JsonProperty("basicAuth") BasicCredentials basicAuthCredentials,
+                          @JsonProperty("basicAuth") BasicCredentials basicAuth,
+                          @JsonProperty("basicAuthCredentials") BasicCredentials basicAuthCredentials,
                           @JsonProperty("bodyPatterns") List<ContentPattern<?>> bodyPatterns,
                           @JsonProperty("customMatcher") CustomMatcherDefinition customMatcherDefinition,
                           @JsonProperty("multipartPatterns") List<MultipartValuePattern> multiPattern) {
@@ -118,7 +121,7 @@ public class RequestPattern implements NamedValueMatcher<Request> {
             headers,
             queryParams,
             cookies,
-            basicAuthCredentials,
+            basicAuth != null ? basicAuth : basicAuthCredentials,
             bodyPatterns,
             customMatcherDefinition,
             multiPattern
@@ -170,25 +173,8 @@ public class RequestPattern implements NamedValueMatcher<Request> {
             return MatchResult.aggregate(
                 from(cookies.entrySet())
                     .transform(new Function<Map.Entry<String, StringValuePattern>, MatchResult>() {
-                        public MatchResult apply(final Map.Entry<String, StringValuePattern> cookiePattern) {
-                            Cookie cookie = request.getCookies().get(cookiePattern.getKey());
-                            if (cookie == null) {
-                                return cookiePattern.getValue().nullSafeIsAbsent() ?
-                                    MatchResult.exactMatch() :
-                                    MatchResult.noMatch();
-                            }
-
-                            return from(cookie.getValues()).transform(new Function<String, MatchResult>() {
-                                @Override
-                                public MatchResult apply(String cookieValue) {
-                                    return cookiePattern.getValue().match(cookieValue);
-                                }
-                            }).toSortedList(new Comparator<MatchResult>() {
-                                @Override
-                                public int compare(MatchResult o1, MatchResult o2) {
-                                    return o2.compareTo(o1);
-                                }
-                            }).get(0);
+                        public MatchResult apply(Map.Entry<String, StringValuePattern> cookiePattern) {
+                            return cookieMatch(request, cookiePattern.getKey(), cookiePattern.getValue());
                         }
                     }).toList()
             );
@@ -197,9 +183,32 @@ public class RequestPattern implements NamedValueMatcher<Request> {
         return MatchResult.exactMatch();
     }
 
-    private MatchResult allHeadersMatchResult(final Request request) {
-        Map<String, MultiValuePattern> combinedHeaders = combineBasicAuthAndOtherHeaders();
+    private static MatchResult cookieMatch(Request request, String name, final StringValuePattern cookiePattern) {
+        Cookie cookie = request.getCookies().get(name);
+        if (cookie == null) {
+            return cookiePattern.nullSafeIsAbsent() ?
+                MatchResult.exactMatch() :
+                MatchResult.noMatch();
+        }
+
+        if (cookie.isSingleValued()) {
+            return cookiePattern.match(cookie.firstValue());
+        }
+
+        return from(cookie.getValues()).transform(new Function<String, MatchResult>() {
+            @Override
+            public MatchResult apply(String cookieValue) {
+                return cookiePattern.match(cookieValue);
+            }
+        }).toSortedList(new Comparator<MatchResult>() {
+            @Override
+            public int compare(MatchResult o1, MatchResult o2) {
+                return o2.compareTo(o1);
+            }
+        }).get(0);
+    }
 
+    private MatchResult allHeadersMatchResult(final Request request) {
         if (combinedHeaders != null && !combinedHeaders.isEmpty()) {
             return MatchResult.aggregate(
                 from(combinedHeaders.entrySet())
@@ -246,15 +255,12 @@ public class RequestPattern implements NamedValueMatcher<Request> {
     @SuppressWarnings("unchecked")
     private MatchResult allBodyPatternsMatch(final Request request) {
         if (bodyPatterns != null && !bodyPatterns.isEmpty() && request.getBody() != null) {
+            final ParsedBody body = ParsedBody.of(request);
             return MatchResult.aggregate(
                 from(bodyPatterns).transform(new Function<ContentPattern, MatchResult>() {
                     @Override
                     public MatchResult apply(ContentPattern pattern) {
-                        if (StringValuePattern.class.isAssignableFrom(pattern.getClass())) {
-                            return pattern.match(request.getBodyAsString());
-                        }
-
-                        return ((BinaryEqualToPattern) pattern).match(request.getBody());
+                        return matchBody(pattern, body);
                     }
 
 
@@ -285,7 +291,98 @@ public class RequestPattern implements NamedValueMatcher<Request> {
     }
 
     public boolean isMatchedBy(Request request, Map<String, RequestMatcherExtension> customMatchers) {
-        return match(request, customMatchers).isExactMatch();
+        return isMatchedBy(request, ParsedBody.of(request), customMatchers);
+    }
+
+    public boolean isMatchedBy(Request request, ParsedBody body, Map<String, RequestMatcherExtension> customMatchers) {
+        if (customMatcherDefinition != null || matcher != defaultMatcher) {
+            return match(request, customMatchers).isExactMatch();
+        }
+
+        return methodMatches(request) &&
+            url.match(request.getUrl()).isExactMatch() &&
+            allHeadersMatchExactly(request) &&
+            allQueryParamsMatchExactly(request) &&
+            allCookiesMatchExactly(request) &&
+            allMultipartPatternsMatchExactly(request) &&
+            allBodyPatternsMatchExactly(request, body);
+    }
+
+    private boolean methodMatches(Request request) {
+        return method.equals(RequestMethod.ANY) || method.equals(request.getMethod());
+    }
+
+    private boolean allHeadersMatchExactly(Request request) {
+        if (combinedHeaders != null) {
+            for (Map.Entry<String, MultiValuePattern> headerPattern: combinedHeaders.entrySet()) {
+                if (!headerPattern.getValue().isMatchedBy(request.header(headerPattern.getKey()))) {
+                    return false;
+                }
+            }
+        }
+
+        return true;
+    }
+
+    private boolean allQueryParamsMatchExactly(Request request) {
+        if (queryParams != null) {
+            for (Map.Entry<String, MultiValuePattern> queryParamPattern: queryParams.entrySet()) {
+                if (!queryParamPattern.getValue().isMatchedBy(request.queryParameter(queryParamPattern.getKey()))) {
+                    return false;
+                }
+            }
+        }
+
+        return true;
+    }
+
+    private boolean allCookiesMatchExactly(Request request) {
+        if (cookies != null) {
+            for (Map.Entry<String, StringValuePattern> cookiePattern: cookies.entrySet()) {
+                if (!cookieMatch(request, cookiePattern.getKey(), cookiePattern.getValue()).isExactMatch()) {
+                    return false;
+                }
+            }
+        }
+
+        return true;
+    }
+
+    private boolean allMultipartPatternsMatchExactly(Request request) {
+        if (multipartPatterns != null && !multipartPatterns.isEmpty()) {
+            if (!request.isMultipart()) {
+                return false;
+            }
+
+            for (MultipartValuePattern pattern: multipartPatterns) {
+                if (!pattern.match(request).isExactMatch()) {
+                    return false;
+                }
+            }
+        }
+
+        return true;
+    }
+
+    @SuppressWarnings("unchecked")
+    private boolean allBodyPatternsMatchExactly(Request request, ParsedBody body) {
+        if (bodyPatterns != null && !bodyPatterns.isEmpty() && request.getBody() != null) {
+            for (ContentPattern<?> pattern: bodyPatterns) {
+                if (!matchBody(pattern, body).isExactMatch()) {
+                    return false;
+                }
+            }
+        }
+
+        return true;
+    }
+
+    private static MatchResult matchBody(ContentPattern<?> pattern, ParsedBody body) {
+        if (StringValuePattern.class.isAssignableFrom(pattern.getClass())) {
+            return ((StringValuePattern) pattern).matchBody(body);
+        }
+
+        return ((BinaryEqualToPattern) pattern).match(body.asBytes());
     }
 
     public String getUrl() {
@@ -395,7 +492,7 @@ public class RequestPattern implements NamedValueMatcher<Request> {
         return new Predicate<Request>() {
             @Override
             public boolean apply(Request request) {
-                return pattern.match(request).isExactMatch();
+                return pattern.isMatchedBy(request, Collections.<String, RequestMatcherExtension>emptyMap());
             }
         };
     }
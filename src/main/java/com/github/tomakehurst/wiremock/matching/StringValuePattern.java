@@ -33,6 +33,10 @@ public abstract class StringValuePattern extends ContentPattern<String> {
         super(expectedValue);
     }
 
+    public MatchResult matchBody(ParsedBody body) {
+        return match(body.asString());
+    }
+
     @JsonIgnore
     public boolean isPresent() {
         return this != ABSENT;
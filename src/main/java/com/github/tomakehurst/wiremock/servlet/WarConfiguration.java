@@ -112,6 +112,70 @@ public class WarConfiguration implements Options {
         return Optional.of(Integer.parseInt(str));
     }
 
+    @Override
+    public Optional<Integer> stubMatchCacheSize() {
+        String str = servletContext.getInitParameter("stubMatchCacheSize");
+        if(str == null) {
+            return Optional.absent();
+        }
+        return Optional.of(Integer.parseInt(str));
+    }
+
+    @Override
+    public Optional<Integer> parallelStubMatchingChunkSize() {
+        String str = servletContext.getInitParameter("parallelStubMatchingChunkSize");
+        if(str == null) {
+            return Optional.absent();
+        }
+        return Optional.of(Integer.parseInt(str));
+    }
+
+    @Override
+    public MappedJournalSettings mappedRequestJournalSettings() {
+        return MappedJournalSettings.disabled();
+    }
+
+    @Override
+    public Optional<Integer> journalBodyCompressionThreshold() {
+        String str = servletContext.getInitParameter("journalBodyCompressionThreshold");
+        if(str == null) {
+            return Optional.absent();
+        }
+        return Optional.of(Integer.parseInt(str));
+    }
+
+    @Override
+    public BodyCodec journalBodyCodec() {
+        return new DeflateBodyCodec();
+    }
+
+    @Override
+    public Optional<Integer> bodyFileCacheSizeMb() {
+        String str = servletContext.getInitParameter("bodyFileCacheSizeMb");
+        if(str == null) {
+            return Optional.absent();
+        }
+        return Optional.of(Integer.parseInt(str));
+    }
+
+    @Override
+    public Optional<Integer> bodyFileStreamingThreshold() {
+        String str = servletContext.getInitParameter("bodyFileStreamingThreshold");
+        if(str == null) {
+            return Optional.absent();
+        }
+        return Optional.of(Integer.parseInt(str));
+    }
+
+    @Override
+    public Optional<Integer> compressedResponseCacheSizeMb() {
+        String str = servletContext.getInitParameter("compressedResponseCacheSizeMb");
+        if(str == null) {
+            return Optional.absent();
+        }
+        return Optional.of(Integer.parseInt(str));
+    }
+
     @Override
     public String bindAddress() {
         return null;
@@ -20,6 +20,7 @@ import com.github.tomakehurst.wiremock.common.Notifier;
 import com.github.tomakehurst.wiremock.core.FaultInjector;
 import com.github.tomakehurst.wiremock.core.WireMockApp;
 import com.github.tomakehurst.wiremock.http.*;
+import com.github.tomakehurst.wiremock.jetty9.JettyUtils;
 import com.github.tomakehurst.wiremock.verification.LoggedRequest;
 
 import javax.servlet.*;
@@ -47,6 +48,10 @@ public class WireMockHandlerDispatchingServlet extends HttpServlet {
 
 	private static final long serialVersionUID = -6602042274260495538L;
 
+    private static final String CONTENT_LENGTH = "Content-Length";
+    private static final String TRANSFER_ENCODING = "Transfer-Encoding";
+    private static final boolean IS_JETTY = isJetty();
+
     private ScheduledExecutorService scheduledExecutorService;
 
     private RequestHandler requestHandler;
@@ -211,7 +216,10 @@ public class WireMockHandlerDispatchingServlet extends HttpServlet {
 
         if (response.shouldAddChunkedDribbleDelay()) {
 			writeAndTranslateExceptionsWithChunkedDribbleDelay(httpServletResponse, response.getBody(), response.getChunkedDribbleDelay());
-		} else {
+		} else if (response.hasStreamingBody()) {
+            setContentLengthIfKnown(response, httpServletResponse);
+            writeAndTranslateExceptions(httpServletResponse, response.getStreamingBody());
+        } else {
 			writeAndTranslateExceptions(httpServletResponse, response.getBody());
 		}
     }
@@ -231,6 +239,34 @@ public class WireMockHandlerDispatchingServlet extends HttpServlet {
         }
     }
 
+    private static void setContentLengthIfKnown(Response response, HttpServletResponse httpServletResponse) {
+        long length = response.getStreamingBody().getLength();
+        if (length >= 0 &&
+            !response.getHeaders().getHeader(CONTENT_LENGTH).isPresent() &&
+            !response.getHeaders().getHeader(TRANSFER_ENCODING).isPresent()) {
+            httpServletResponse.setHeader(CONTENT_LENGTH, String.valueOf(length));
+        }
+    }
+
+    /**
+     * Under Jetty, file bodies are opened as a channel and handed to the connection, which reads them
+     * straight from the file rather than copying them onto the heap. The mock context's GzipFilter wraps
+     * the stream for clients that accept gzip, so those responses fall back to writing the file with
+     * transferTo instead of Jetty's direct send.
+     */
+    private static void writeAndTranslateExceptions(HttpServletResponse httpServletResponse, StreamingBody streamingBody) {
+        try {
+            ServletOutputStream out = httpServletResponse.getOutputStream();
+            if (!(IS_JETTY && streamingBody instanceof FileRegionBody && JettyUtils.sendContent(out, (FileRegionBody) streamingBody))) {
+                streamingBody.writeTo(out);
+            }
+            out.flush();
+            out.close();
+        } catch (IOException e) {
+            throwUnchecked(e);
+        }
+    }
+
 	private void writeAndTranslateExceptionsWithChunkedDribbleDelay(HttpServletResponse httpServletResponse, byte[] body, ChunkedDribbleDelay chunkedDribbleDelay) {
 
 		try (ServletOutputStream out = httpServletResponse.getOutputStream()) {
@@ -258,6 +294,15 @@ public class WireMockHandlerDispatchingServlet extends HttpServlet {
         }
 	}
 
+    private static boolean isJetty() {
+        try {
+            Class.forName("org.eclipse.jetty.server.HttpOutput", false, WireMockHandlerDispatchingServlet.class.getClassLoader());
+            return true;
+        } catch (ClassNotFoundException e) {
+            return false;
+        }
+    }
+
     private void forwardToFilesContext(HttpServletRequest httpServletRequest,
             HttpServletResponse httpServletResponse, Request request) throws ServletException, IOException {
         String forwardUrl = wiremockFileSourceRoot + WireMockApp.FILES_ROOT + request.getUrl();
@@ -16,6 +16,7 @@
 package com.github.tomakehurst.wiremock.servlet;
 
 import com.github.tomakehurst.wiremock.common.Gzip;
+import com.github.tomakehurst.wiremock.http.CaseInsensitiveKey;
 import com.github.tomakehurst.wiremock.http.ContentTypeHeader;
 import com.github.tomakehurst.wiremock.http.Cookie;
 import com.github.tomakehurst.wiremock.http.HttpHeader;
@@ -29,15 +30,14 @@ import com.google.common.base.Joiner;
 import com.google.common.base.Optional;
 import com.google.common.base.Predicate;
 import com.google.common.collect.ImmutableList;
-import com.google.common.collect.ImmutableMultimap;
-import com.google.common.collect.Maps;
+import com.google.common.collect.ImmutableListMultimap;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.charset.Charset;
 import java.util.Collection;
-import java.util.Enumeration;
-import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -57,15 +57,21 @@ import static com.google.common.collect.FluentIterable.from;
 import static com.google.common.collect.Lists.newArrayList;
 import static com.google.common.io.ByteStreams.toByteArray;
 import static java.util.Collections.list;
+import static java.util.Collections.singletonList;
 
 public class WireMockHttpServletRequestAdapter implements Request {
 
     public static final String ORIGINAL_REQUEST_KEY = "wiremock.ORIGINAL_REQUEST";
 
     private final HttpServletRequest request;
-    private byte[] cachedBody;
+    private volatile byte[] cachedBody;
     private String urlPrefixToRemove;
     private Collection<Part> cachedMultiparts;
+    private volatile ImmutableListMultimap<CaseInsensitiveKey, String> cachedHeaders;
+    private volatile Set<String> cachedHeaderKeys;
+    private volatile HttpHeaders cachedHttpHeaders;
+    private volatile Map<String, Cookie> cachedCookies;
+    private volatile Map<String, QueryParameter> cachedQueryParameters;
 
     public WireMockHttpServletRequestAdapter(HttpServletRequest request) {
         this.request = request;
@@ -116,19 +122,34 @@ public class WireMockHttpServletRequestAdapter implements Request {
         return  request.getRemoteAddr();
     }
 
+    /**
+     * The input stream can only be read once, so unlike the other cached values the body is read under
+     * a lock, which is only taken until it has been read.
+     */
     @Override
-    public synchronized byte[] getBody() {
-        if (cachedBody == null) {
-            try {
-                byte[] body = toByteArray(request.getInputStream());
-                boolean isGzipped = hasGzipEncoding() || Gzip.isGzipped(body);
-                cachedBody = isGzipped ? Gzip.unGzip(body) : body;
-            } catch (IOException ioe) {
-                throw new RuntimeException(ioe);
+    public byte[] getBody() {
+        byte[] body = cachedBody;
+        if (body == null) {
+            synchronized (this) {
+                body = cachedBody;
+                if (body == null) {
+                    body = readBody();
+                    cachedBody = body;
+                }
             }
         }
 
-        return cachedBody;
+        return body;
+    }
+
+    private byte[] readBody() {
+        try {
+            byte[] body = toByteArray(request.getInputStream());
+            boolean isGzipped = hasGzipEncoding() || Gzip.isGzipped(body);
+            return isGzipped ? Gzip.unGzip(body) : body;
+        } catch (IOException ioe) {
+            throw new RuntimeException(ioe);
+        }
     }
 
     private Charset encodingFromContentTypeHeaderOrUtf8() {
@@ -140,7 +161,7 @@ public class WireMockHttpServletRequestAdapter implements Request {
     }
 
     private boolean hasGzipEncoding() {
-        String encodingHeader = request.getHeader("Content-Encoding");
+        String encodingHeader = getHeader("Content-Encoding");
         return encodingHeader != null && encodingHeader.contains("gzip");
     }
 
@@ -154,35 +175,16 @@ public class WireMockHttpServletRequestAdapter implements Request {
         return encodeBase64(getBody());
     }
 
-    @SuppressWarnings("unchecked")
     @Override
     public String getHeader(String key) {
-        List<String> headerNames = list(request.getHeaderNames());
-        for (String currentKey : headerNames) {
-            if (currentKey.toLowerCase().equals(key.toLowerCase())) {
-                return request.getHeader(currentKey);
-            }
-        }
-
-        return null;
+        List<String> values = headers().get(CaseInsensitiveKey.from(key));
+        return values.isEmpty() ? null : values.get(0);
     }
 
     @Override
-    @SuppressWarnings("unchecked")
     public HttpHeader header(String key) {
-        List<String> headerNames = list(request.getHeaderNames());
-        for (String currentKey : headerNames) {
-            if (currentKey.toLowerCase().equals(key.toLowerCase())) {
-                List<String> valueList = list(request.getHeaders(currentKey));
-                if (valueList.isEmpty()) {
-                    return HttpHeader.empty(key);
-                }
-
-                return new HttpHeader(key, valueList);
-            }
-        }
-
-        return HttpHeader.absent(key);
+        List<String> values = headers().get(CaseInsensitiveKey.from(key));
+        return values.isEmpty() ? HttpHeader.absent(key) : new HttpHeader(key, values);
     }
 
     @Override
@@ -192,52 +194,91 @@ public class WireMockHttpServletRequestAdapter implements Request {
 
     @Override
     public boolean containsHeader(String key) {
-        return header(key).isPresent();
+        return headers().containsKey(CaseInsensitiveKey.from(key));
     }
 
     @Override
     public HttpHeaders getHeaders() {
-        List<HttpHeader> headerList = newArrayList();
-        for (String key : getAllHeaderKeys()) {
-            headerList.add(header(key));
+        HttpHeaders httpHeaders = cachedHttpHeaders;
+        if (httpHeaders == null) {
+            List<HttpHeader> headerList = newArrayList();
+            for (String key : getAllHeaderKeys()) {
+                headerList.add(header(key));
+            }
+
+            httpHeaders = new HttpHeaders(headerList);
+            cachedHttpHeaders = httpHeaders;
         }
 
-        return new HttpHeaders(headerList);
+        return httpHeaders;
     }
 
-    @SuppressWarnings("unchecked")
     @Override
     public Set<String> getAllHeaderKeys() {
-        LinkedHashSet<String> headerKeys = new LinkedHashSet<String>();
-        for (Enumeration<String> headerNames = request.getHeaderNames(); headerNames.hasMoreElements(); ) {
-            headerKeys.add(headerNames.nextElement());
+        headers();
+        return cachedHeaderKeys;
+    }
+
+    /**
+     * Cached values other than the body are built racily: threads that get here together each build
+     * an equal copy and one of them wins. The header keys are written before the headers, so they're
+     * always visible once the headers are.
+     */
+    private ImmutableListMultimap<CaseInsensitiveKey, String> headers() {
+        ImmutableListMultimap<CaseInsensitiveKey, String> headers = cachedHeaders;
+        if (headers == null) {
+            ImmutableListMultimap.Builder<CaseInsensitiveKey, String> builder = ImmutableListMultimap.builder();
+            ImmutableSet.Builder<String> headerKeys = ImmutableSet.builder();
+            for (String key : list(request.getHeaderNames())) {
+                List<String> values = list(request.getHeaders(key));
+                builder.putAll(CaseInsensitiveKey.from(key), values.isEmpty() ? singletonList("") : values);
+                headerKeys.add(key);
+            }
+
+            headers = builder.build();
+            cachedHeaderKeys = headerKeys.build();
+            cachedHeaders = headers;
         }
 
-        return headerKeys;
+        return headers;
     }
 
     @Override
     public Map<String, Cookie> getCookies() {
-        ImmutableMultimap.Builder<String, String> builder = ImmutableMultimap.builder();
+        Map<String, Cookie> cookies = cachedCookies;
+        if (cookies == null) {
+            ImmutableListMultimap.Builder<String, String> builder = ImmutableListMultimap.builder();
 
-        javax.servlet.http.Cookie[] cookies = firstNonNull(request.getCookies(), new javax.servlet.http.Cookie[0]);
-        for (javax.servlet.http.Cookie cookie: cookies) {
-            builder.put(cookie.getName(), cookie.getValue());
-        }
+            javax.servlet.http.Cookie[] servletCookies = firstNonNull(request.getCookies(), new javax.servlet.http.Cookie[0]);
+            for (javax.servlet.http.Cookie cookie: servletCookies) {
+                builder.put(cookie.getName(), cookie.getValue());
+            }
 
-        return Maps.transformValues(builder.build().asMap(), new Function<Collection<String>, Cookie>() {
-            @Override
-            public Cookie apply(Collection<String> input) {
-                return new Cookie(null, ImmutableList.copyOf(input));
+            ImmutableMap.Builder<String, Cookie> cookieMap = ImmutableMap.builder();
+            for (Map.Entry<String, Collection<String>> entry: builder.build().asMap().entrySet()) {
+                cookieMap.put(entry.getKey(), new Cookie(null, ImmutableList.copyOf(entry.getValue())));
             }
-        });
+
+            cookies = cookieMap.build();
+            cachedCookies = cookies;
+        }
+
+        return cookies;
     }
 
     @Override
     public QueryParameter queryParameter(String key) {
-        return firstNonNull((splitQuery(request.getQueryString())
-                .get(key)),
-            QueryParameter.absent(key));
+        return firstNonNull(queryParameters().get(key), QueryParameter.absent(key));
+    }
+
+    private Map<String, QueryParameter> queryParameters() {
+        Map<String, QueryParameter> queryParameters = cachedQueryParameters;
+        if (queryParameters == null) {
+            queryParameters = ImmutableMap.copyOf(splitQuery(request.getQueryString()));
+            cachedQueryParameters = queryParameters;
+        }
+
+        return queryParameters;
     }
 
     @Override
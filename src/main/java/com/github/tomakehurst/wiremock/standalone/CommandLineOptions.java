@@ -81,6 +81,16 @@ public class CommandLineOptions implements Options {
     private static final String DISABLE_REQUEST_JOURNAL = "no-request-journal";
     private static final String EXTENSIONS = "extensions";
     private static final String MAX_ENTRIES_REQUEST_JOURNAL = "max-request-journal-entries";
+    private static final String STUB_MATCH_CACHE_SIZE = "stub-match-cache-size";
+    private static final String PARALLEL_STUB_MATCHING_CHUNK_SIZE = "parallel-match-chunk-size";
+    private static final String MAPPED_REQUEST_JOURNAL = "mapped-request-journal";
+    private static final String JOURNAL_SEGMENT_SIZE_MB = "journal-segment-size-mb";
+    private static final String JOURNAL_MAX_SEGMENTS = "journal-max-segments";
+    private static final String JOURNAL_MAX_AGE_SECONDS = "journal-max-age-seconds";
+    private static final String JOURNAL_COMPRESSION_THRESHOLD = "journal-compression-threshold";
+    private static final String BODY_FILE_CACHE_SIZE_MB = "body-file-cache-size-mb";
+    private static final String BODY_FILE_STREAMING_THRESHOLD = "body-file-streaming-threshold";
+    private static final String COMPRESSED_RESPONSE_CACHE_SIZE_MB = "compressed-response-cache-size-mb";
     private static final String JETTY_ACCEPTOR_THREAD_COUNT = "jetty-acceptor-threads";
     private static final String PRINT_ALL_NETWORK_TRAFFIC = "print-all-network-traffic";
     private static final String JETTY_ACCEPT_QUEUE_SIZE = "jetty-accept-queue-size";
@@ -123,6 +133,16 @@ public class CommandLineOptions implements Options {
         optionParser.accepts(DISABLE_REQUEST_JOURNAL, "Disable the request journal (to avoid heap growth when running wiremock for long periods without reset)");
         optionParser.accepts(EXTENSIONS, "Matching and/or response transformer extension class names, comma separated.").withRequiredArg();
         optionParser.accepts(MAX_ENTRIES_REQUEST_JOURNAL, "Set maximum number of entries in request journal (if enabled) to discard old entries if the log becomes too large. Default: no discard").withRequiredArg();
+        optionParser.accepts(STUB_MATCH_CACHE_SIZE, "Cache the matched stub for up to this many distinct requests. Default: no cache").withRequiredArg();
+        optionParser.accepts(PARALLEL_STUB_MATCHING_CHUNK_SIZE, "Match requests against more candidate stubs than this concurrently, in chunks of this size. Default: sequential matching").withRequiredArg();
+        optionParser.accepts(MAPPED_REQUEST_JOURNAL, "Keep the request journal in memory-mapped segment files under the root directory instead of on the heap");
+        optionParser.accepts(JOURNAL_SEGMENT_SIZE_MB, "Size in megabytes of each memory-mapped request journal segment").withRequiredArg().defaultsTo(String.valueOf(MappedJournalSettings.DEFAULT_SEGMENT_SIZE_MB));
+        optionParser.accepts(JOURNAL_MAX_SEGMENTS, "Number of memory-mapped request journal segments to keep before deleting the oldest").withRequiredArg().defaultsTo(String.valueOf(MappedJournalSettings.DEFAULT_MAX_SEGMENTS));
+        optionParser.accepts(JOURNAL_MAX_AGE_SECONDS, "Delete memory-mapped request journal segments whose newest request is older than this. Default: no age limit").withRequiredArg();
+        optionParser.accepts(JOURNAL_COMPRESSION_THRESHOLD, "Deflate request and response bodies of at least this many bytes before storing them in the request journal. Default: no compression").withRequiredArg();
+        optionParser.accepts(BODY_FILE_CACHE_SIZE_MB, "Keep served body files in memory, up to this many megabytes in total. Files are re-read when they change on disk. Default: no caching").withRequiredArg();
+        optionParser.accepts(BODY_FILE_STREAMING_THRESHOLD, "Stream body files of at least this many bytes straight from disk instead of reading them into memory. Default: no streaming").withRequiredArg();
+        optionParser.accepts(COMPRESSED_RESPONSE_CACHE_SIZE_MB, "Keep gzip and deflate encodings of static and cached body file responses, up to this many megabytes in total. Default: compress on every request").withRequiredArg();
         optionParser.accepts(JETTY_ACCEPTOR_THREAD_COUNT, "Number of Jetty acceptor threads").withRequiredArg();
         optionParser.accepts(JETTY_ACCEPT_QUEUE_SIZE, "The size of Jetty's accept queue size").withRequiredArg();
         optionParser.accepts(JETTY_HEADER_BUFFER_SIZE, "The size of Jetty's buffer for request headers").withRequiredArg();
@@ -153,6 +173,11 @@ public class CommandLineOptions implements Options {
         if (optionSet.has(RECORD_MAPPINGS) && optionSet.has(DISABLE_REQUEST_JOURNAL)) {
             throw new IllegalArgumentException("Request journal must be enabled to record stubs");
         }
+
+        if (optionSet.has(MAPPED_REQUEST_JOURNAL) &&
+            (optionSet.has(JOURNAL_COMPRESSION_THRESHOLD) || optionSet.has(MAX_ENTRIES_REQUEST_JOURNAL))) {
+            throw new IllegalArgumentException("Journal compression and maximum entries can't be used with a memory-mapped request journal");
+        }
     }
 
     private void captureHelpTextIfRequested(OptionParser optionParser) {
@@ -402,6 +427,77 @@ public class CommandLineOptions implements Options {
         return Optional.absent();
     }
 
+    @Override
+    public Optional<Integer> stubMatchCacheSize() {
+        if (optionSet.has(STUB_MATCH_CACHE_SIZE)) {
+            return Optional.of(Integer.parseInt((String) optionSet.valueOf(STUB_MATCH_CACHE_SIZE)));
+        }
+        return Optional.absent();
+    }
+
+    @Override
+    public Optional<Integer> parallelStubMatchingChunkSize() {
+        if (optionSet.has(PARALLEL_STUB_MATCHING_CHUNK_SIZE)) {
+            return Optional.of(Integer.parseInt((String) optionSet.valueOf(PARALLEL_STUB_MATCHING_CHUNK_SIZE)));
+        }
+        return Optional.absent();
+    }
+
+    @Override
+    public MappedJournalSettings mappedRequestJournalSettings() {
+        Optional<Integer> maxAgeSeconds = optionSet.has(JOURNAL_MAX_AGE_SECONDS) ?
+            Optional.of(Integer.parseInt((String) optionSet.valueOf(JOURNAL_MAX_AGE_SECONDS))) :
+            Optional.<Integer>absent();
+
+        return new MappedJournalSettings(
+            optionSet.has(MAPPED_REQUEST_JOURNAL),
+            Integer.parseInt((String) optionSet.valueOf(JOURNAL_SEGMENT_SIZE_MB)),
+            Integer.parseInt((String) optionSet.valueOf(JOURNAL_MAX_SEGMENTS)),
+            maxAgeSeconds
+        );
+    }
+
+    @Override
+    public Optional<Integer> journalBodyCompressionThreshold() {
+        if (optionSet.has(JOURNAL_COMPRESSION_THRESHOLD)) {
+            return Optional.of(Integer.parseInt((String) optionSet.valueOf(JOURNAL_COMPRESSION_THRESHOLD)));
+        }
+
+        return Optional.absent();
+    }
+
+    @Override
+    public BodyCodec journalBodyCodec() {
+        return new DeflateBodyCodec();
+    }
+
+    @Override
+    public Optional<Integer> bodyFileCacheSizeMb() {
+        if (optionSet.has(BODY_FILE_CACHE_SIZE_MB)) {
+            return Optional.of(Integer.parseInt((String) optionSet.valueOf(BODY_FILE_CACHE_SIZE_MB)));
+        }
+
+        return Optional.absent();
+    }
+
+    @Override
+    public Optional<Integer> bodyFileStreamingThreshold() {
+        if (optionSet.has(BODY_FILE_STREAMING_THRESHOLD)) {
+            return Optional.of(Integer.parseInt((String) optionSet.valueOf(BODY_FILE_STREAMING_THRESHOLD)));
+        }
+
+        return Optional.absent();
+    }
+
+    @Override
+    public Optional<Integer> compressedResponseCacheSizeMb() {
+        if (optionSet.has(COMPRESSED_RESPONSE_CACHE_SIZE_MB)) {
+            return Optional.of(Integer.parseInt((String) optionSet.valueOf(COMPRESSED_RESPONSE_CACHE_SIZE_MB)));
+        }
+
+        return Optional.absent();
+    }
+
     @Override
     public int containerThreads() {
         if (optionSet.has(CONTAINER_THREADS)) {
@@ -439,6 +535,36 @@ public class CommandLineOptions implements Options {
         builder.put(DISABLE_REQUEST_JOURNAL, requestJournalDisabled())
                .put(VERBOSE, verboseLoggingEnabled());
 
+        if (stubMatchCacheSize().isPresent()) {
+            builder.put(STUB_MATCH_CACHE_SIZE, stubMatchCacheSize().get());
+        }
+
+        if (parallelStubMatchingChunkSize().isPresent()) {
+            builder.put(PARALLEL_STUB_MATCHING_CHUNK_SIZE, parallelStubMatchingChunkSize().get());
+        }
+
+        if (mappedRequestJournalSettings().isEnabled()) {
+            builder.put(MAPPED_REQUEST_JOURNAL, true)
+                   .put(JOURNAL_SEGMENT_SIZE_MB, mappedRequestJournalSettings().getSegmentSizeMb())
+                   .put(JOURNAL_MAX_SEGMENTS, mappedRequestJournalSettings().getMaxSegments());
+        }
+
+        if (journalBodyCompressionThreshold().isPresent()) {
+            builder.put(JOURNAL_COMPRESSION_THRESHOLD, journalBodyCompressionThreshold().get());
+        }
+
+        if (bodyFileCacheSizeMb().isPresent()) {
+            builder.put(BODY_FILE_CACHE_SIZE_MB, bodyFileCacheSizeMb().get());
+        }
+
+        if (bodyFileStreamingThreshold().isPresent()) {
+            builder.put(BODY_FILE_STREAMING_THRESHOLD, bodyFileStreamingThreshold().get());
+        }
+
+        if (compressedResponseCacheSizeMb().isPresent()) {
+            builder.put(COMPRESSED_RESPONSE_CACHE_SIZE_MB, compressedResponseCacheSizeMb().get());
+        }
+
         if (jettySettings().getAcceptQueueSize().isPresent()) {
             builder.put(JETTY_ACCEPT_QUEUE_SIZE, jettySettings().getAcceptQueueSize().get());
         }
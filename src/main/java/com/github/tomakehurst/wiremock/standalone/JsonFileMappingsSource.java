@@ -22,6 +22,7 @@ import com.github.tomakehurst.wiremock.common.TextFile;
 import com.github.tomakehurst.wiremock.stubbing.StubMapping;
 import com.github.tomakehurst.wiremock.stubbing.StubMappings;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -76,18 +77,23 @@ public class JsonFileMappingsSource implements MappingsSource {
 		fileNameMap.clear();
 	}
 
+	/**
+	 * Parses every file before adding any, so the mappings go in as one batch rather than one change each.
+	 */
 	@Override
 	public void loadMappingsInto(StubMappings stubMappings) {
 		if (!mappingsFileSource.exists()) {
 			return;
 		}
 		Iterable<TextFile> mappingFiles = filter(mappingsFileSource.listFilesRecursively(), AbstractFileSource.byFileExtension("json"));
+		List<StubMapping> mappings = new ArrayList<>();
 		for (TextFile mappingFile: mappingFiles) {
             StubMapping mapping = StubMapping.buildFrom(mappingFile.readContentsAsString());
             mapping.setDirty(false);
-			stubMappings.addMapping(mapping);
+			mappings.add(mapping);
 			fileNameMap.put(mapping.getId(), mappingFile.getPath());
 		}
+		stubMappings.addMappings(mappings);
 	}
 
 }
@@ -20,12 +20,16 @@ import com.github.tomakehurst.wiremock.common.SingleRootFileSource;
 import com.github.tomakehurst.wiremock.extension.ResponseDefinitionTransformer;
 import com.github.tomakehurst.wiremock.http.Request;
 import com.github.tomakehurst.wiremock.http.ResponseDefinition;
+import com.github.tomakehurst.wiremock.matching.ParsedBody;
 import com.github.tomakehurst.wiremock.matching.RequestMatcherExtension;
 import com.github.tomakehurst.wiremock.verification.LoggedRequest;
 import com.google.common.base.Optional;
 import com.google.common.base.Predicate;
+import com.google.common.base.Supplier;
 import com.google.common.collect.ImmutableList;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
@@ -34,8 +38,7 @@ import java.util.UUID;
 import static com.github.tomakehurst.wiremock.common.LocalNotifier.notifier;
 import static com.github.tomakehurst.wiremock.core.WireMockApp.FILES_ROOT;
 import static com.github.tomakehurst.wiremock.http.ResponseDefinition.copyOf;
-import static com.google.common.collect.Iterables.find;
-import static com.google.common.collect.Iterables.tryFind;
+import static com.google.common.collect.Iterables.all;
 
 
 public class InMemoryStubMappings implements StubMappings {
@@ -44,12 +47,37 @@ public class InMemoryStubMappings implements StubMappings {
 	private final Scenarios scenarios = new Scenarios();
 	private final Map<String, RequestMatcherExtension> customMatchers;
     private final Map<String, ResponseDefinitionTransformer> transformers;
+    private final ResponseDefinitionTransformer[] globalTransformers;
     private final FileSource rootFileSource;
+    private final StubMatchCache matchCache;
+    private final ParallelStubMatcher parallelMatcher;
 
 	public InMemoryStubMappings(Map<String, RequestMatcherExtension> customMatchers, Map<String, ResponseDefinitionTransformer> transformers, FileSource rootFileSource) {
+		this(customMatchers, transformers, rootFileSource, Optional.<Integer>absent());
+	}
+
+	public InMemoryStubMappings(Map<String, RequestMatcherExtension> customMatchers,
+								Map<String, ResponseDefinitionTransformer> transformers,
+								FileSource rootFileSource,
+								Optional<Integer> matchCacheSize) {
+		this(customMatchers, transformers, rootFileSource, matchCacheSize, Optional.<Integer>absent());
+	}
+
+	public InMemoryStubMappings(Map<String, RequestMatcherExtension> customMatchers,
+								Map<String, ResponseDefinitionTransformer> transformers,
+								FileSource rootFileSource,
+								Optional<Integer> matchCacheSize,
+								Optional<Integer> parallelMatchingChunkSize) {
 		this.customMatchers = customMatchers;
         this.transformers = transformers;
+        this.globalTransformers = transformersApplicableTo(null);
         this.rootFileSource = rootFileSource;
+        this.matchCache = matchCacheSize.isPresent() ?
+            new StubMatchCache(matchCacheSize.get(), mappings) :
+            StubMatchCache.disabled();
+        this.parallelMatcher = parallelMatchingChunkSize.isPresent() ?
+            new ParallelStubMatcher(parallelMatchingChunkSize.get()) :
+            ParallelStubMatcher.disabled();
     }
 
 	public InMemoryStubMappings() {
@@ -60,16 +88,13 @@ public class InMemoryStubMappings implements StubMappings {
 
 	@Override
 	public ServeEvent serveFor(Request request) {
-		StubMapping matchingMapping = find(
-				mappings,
-				mappingMatchingAndInCorrectScenarioState(request),
-				StubMapping.NOT_CONFIGURED);
-		
+		StubMapping matchingMapping = findMatchingMapping(request);
+
 		scenarios.onStubServed(matchingMapping);
 
         ResponseDefinition responseDefinition = applyTransformations(request,
             matchingMapping.getResponse(),
-            ImmutableList.copyOf(transformers.values()));
+            transformerChainFor(matchingMapping));
 
 		return ServeEvent.of(
             LoggedRequest.createFrom(request),
@@ -78,40 +103,171 @@ public class InMemoryStubMappings implements StubMappings {
         );
 	}
 
+	private StubMapping findMatchingMapping(Request request) {
+		StubMatchCache.Slot cacheSlot = matchCache.slotFor(request);
+		if (cacheSlot != null) {
+			StubMapping cached = cacheSlot.get();
+			if (cached != null) {
+				return cached;
+			}
+		}
+
+		Iterable<StubMapping> candidates = mappings.findCandidatesFor(request);
+		if (parallelMatcher.isEnabled()) {
+			List<StubMapping> candidateList = candidates instanceof SortedMappingArray ?
+				((SortedMappingArray) candidates).asList() :
+				ImmutableList.copyOf(candidates);
+			if (parallelMatcher.shouldMatchInParallel(candidateList.size())) {
+				return findMatchingMappingInParallel(request, candidateList, cacheSlot);
+			}
+			candidates = candidateList;
+		}
+
+		Predicate<StubMapping> isMatch = mappingMatchingAndInCorrectScenarioState(request);
+		boolean cacheable = true;
+		StubMapping matchingMapping = StubMapping.NOT_CONFIGURED;
+		for (StubMapping mapping: candidates) {
+			cacheable = cacheable && isCacheable(mapping);
+			if (isMatch.apply(mapping)) {
+				matchingMapping = mapping;
+				break;
+			}
+		}
+
+		if (cacheSlot != null && cacheable) {
+			cacheSlot.put(matchingMapping);
+		}
+
+		return matchingMapping;
+	}
+
+	private StubMapping findMatchingMappingInParallel(final Request request,
+													  List<StubMapping> candidateList,
+													  StubMatchCache.Slot cacheSlot) {
+		int index = parallelMatcher.indexOfFirstMatch(candidateList, new Supplier<Predicate<StubMapping>>() {
+			@Override
+			public Predicate<StubMapping> get() {
+				return mappingMatchingAndInCorrectScenarioState(request);
+			}
+		});
+
+		StubMapping matchingMapping = index >= 0 ? candidateList.get(index) : StubMapping.NOT_CONFIGURED;
+		if (cacheSlot != null) {
+			List<StubMapping> consulted = index >= 0 ? candidateList.subList(0, index + 1) : candidateList;
+			if (all(consulted, CACHEABLE)) {
+				cacheSlot.put(matchingMapping);
+			}
+		}
+
+		return matchingMapping;
+	}
+
+	private static final Predicate<StubMapping> CACHEABLE = new Predicate<StubMapping>() {
+		@Override
+		public boolean apply(StubMapping mapping) {
+			return isCacheable(mapping);
+		}
+	};
+
+	private static boolean isCacheable(StubMapping mapping) {
+		return mapping.isIndependentOfScenarioState() &&
+			!mapping.getRequest().hasCustomMatcher() &&
+			mapping.getRequest().getCustomMatcher() == null;
+	}
+
     private ResponseDefinition applyTransformations(Request request,
                                                     ResponseDefinition responseDefinition,
-                                                    List<ResponseDefinitionTransformer> transformers) {
-        if (transformers.isEmpty()) {
-            return responseDefinition;
+                                                    ResponseDefinitionTransformer[] transformerChain) {
+        ResponseDefinition newResponseDef = responseDefinition;
+        for (ResponseDefinitionTransformer transformer: transformerChain) {
+            newResponseDef = transformer.transform(request, newResponseDef, rootFileSource.child(FILES_ROOT), newResponseDef.getTransformerParameters());
         }
 
-        ResponseDefinitionTransformer transformer = transformers.get(0);
-        ResponseDefinition newResponseDef =
-            transformer.applyGlobally() || responseDefinition.hasTransformer(transformer) ?
-                transformer.transform(request, responseDefinition, rootFileSource.child(FILES_ROOT), responseDefinition.getTransformerParameters()) :
-                responseDefinition;
-
-        return applyTransformations(request, newResponseDef, transformers.subList(1, transformers.size()));
+        return newResponseDef;
     }
 
+	private ResponseDefinitionTransformer[] transformerChainFor(StubMapping mapping) {
+		ResponseDefinitionTransformer[] transformerChain = mapping.getTransformerChain();
+		return transformerChain != null ? transformerChain : globalTransformers;
+	}
+
+	private ResponseDefinitionTransformer[] transformersApplicableTo(ResponseDefinition responseDefinition) {
+		List<ResponseDefinitionTransformer> applicable = new ArrayList<>();
+		for (ResponseDefinitionTransformer transformer: transformers.values()) {
+			if (transformer.applyGlobally() ||
+				(responseDefinition != null && responseDefinition.hasTransformer(transformer))) {
+				applicable.add(transformer);
+			}
+		}
+
+		return applicable.toArray(new ResponseDefinitionTransformer[applicable.size()]);
+	}
+
+	/**
+	 * Resolves the transformers each stub's response definition will pass through, so serving it is a
+	 * plain loop over them. Static responses are only prebuilt when no response definition transformer
+	 * applies globally, as one could change any response.
+	 */
+	private void prepareResponses(Iterable<StubMapping> stubMappings) {
+		for (StubMapping mapping: stubMappings) {
+			mapping.setTransformerChain(transformersApplicableTo(mapping.getResponse()));
+			if (mapping.getResponse() != null && globalTransformers.length == 0) {
+				mapping.getResponse().prebuildResponseIfStatic();
+			}
+		}
+	}
+
 	@Override
 	public void addMapping(StubMapping mapping) {
-		mappings.add(mapping);
-		scenarios.onStubMappingAddedOrUpdated(mapping, mappings);
+		prepareResponses(Collections.singletonList(mapping));
+		matchCache.stubsChanging();
+		try {
+			mappings.add(mapping);
+			scenarios.onStubMappingAddedOrUpdated(mapping, mappings);
+		} finally {
+			matchCache.stubsChanged();
+		}
+	}
+
+	@Override
+	public void addMappings(Collection<StubMapping> newMappings) {
+		prepareResponses(newMappings);
+		matchCache.stubsChanging();
+		try {
+			mappings.addAll(newMappings);
+			scenarios.onStubMappingsAdded(newMappings, mappings);
+		} finally {
+			matchCache.stubsChanged();
+		}
+	}
+
+	@Override
+	public void replaceAllMappings(Collection<StubMapping> newMappings) {
+		prepareResponses(newMappings);
+		matchCache.stubsChanging();
+		try {
+			mappings.replaceAll(newMappings);
+			scenarios.clear();
+			scenarios.onStubMappingsAdded(newMappings, mappings);
+		} finally {
+			matchCache.stubsChanged();
+		}
 	}
 
 	@Override
 	public void removeMapping(StubMapping mapping) {
-		mappings.remove(mapping);
-		scenarios.onStubMappingRemoved(mapping, mappings);
+		matchCache.stubsChanging();
+		try {
+			mappings.remove(mapping);
+			scenarios.onStubMappingRemoved(mapping, mappings);
+		} finally {
+			matchCache.stubsChanged();
+		}
 	}
 
 	@Override
 	public void editMapping(StubMapping stubMapping) {
-		final Optional<StubMapping> optionalExistingMapping = tryFind(
-				mappings,
-				mappingMatchingUuid(stubMapping.getUuid())
-		);
+		final Optional<StubMapping> optionalExistingMapping = mappings.get(stubMapping.getUuid());
 
 		if (!optionalExistingMapping.isPresent()) {
 			String msg = "StubMapping with UUID: " + stubMapping.getUuid() + " not found";
@@ -123,16 +279,27 @@ public class InMemoryStubMappings implements StubMappings {
 
 		stubMapping.setInsertionIndex(existingMapping.getInsertionIndex());
 		stubMapping.setDirty(true);
+		prepareResponses(Collections.singletonList(stubMapping));
 
-		mappings.replace(existingMapping, stubMapping);
-		scenarios.onStubMappingAddedOrUpdated(stubMapping, mappings);
+		matchCache.stubsChanging();
+		try {
+			mappings.replace(existingMapping, stubMapping);
+			scenarios.onStubMappingAddedOrUpdated(stubMapping, mappings);
+		} finally {
+			matchCache.stubsChanged();
+		}
 	}
 
 
 	@Override
 	public void reset() {
-		mappings.clear();
-        scenarios.clear();
+		matchCache.stubsChanging();
+		try {
+			mappings.clear();
+			scenarios.clear();
+		} finally {
+			matchCache.stubsChanged();
+		}
 	}
 	
 	@Override
@@ -146,13 +313,8 @@ public class InMemoryStubMappings implements StubMappings {
     }
 
 	@Override
-	public Optional<StubMapping> get(final UUID id) {
-		return tryFind(mappings, new Predicate<StubMapping>() {
-			@Override
-			public boolean apply(StubMapping input) {
-				return input.getUuid().equals(id);
-			}
-		});
+	public Optional<StubMapping> get(UUID id) {
+		return mappings.get(id);
 	}
 
 	@Override
@@ -160,24 +322,21 @@ public class InMemoryStubMappings implements StubMappings {
 		return scenarios.getAll();
 	}
 
+	@Override
+	public StubMatchCacheStats getMatchCacheStats() {
+		return matchCache.getStats();
+	}
+
 	private Predicate<StubMapping> mappingMatchingAndInCorrectScenarioState(final Request request) {
 		return mappingMatchingAndInCorrectScenarioStateNew(request);
     }
 
     private Predicate<StubMapping> mappingMatchingAndInCorrectScenarioStateNew(final Request request) {
+		final ParsedBody body = ParsedBody.of(request);
 		return new Predicate<StubMapping>() {
 			public boolean apply(StubMapping mapping) {
-				return mapping.getRequest().match(request, customMatchers).isExactMatch() &&
-				(mapping.isIndependentOfScenarioState() || scenarios.mappingMatchesScenarioState(mapping));
-			}
-		};
-	}
-
-	private Predicate<StubMapping> mappingMatchingUuid(final UUID uuid) {
-		return new Predicate<StubMapping>() {
-			@Override
-			public boolean apply(StubMapping input) {
-				return input.getUuid().equals(uuid);
+				return scenarios.isActiveInCurrentState(mapping) &&
+					mapping.getRequest().isMatchedBy(request, body, customMatchers);
 			}
 		};
 	}
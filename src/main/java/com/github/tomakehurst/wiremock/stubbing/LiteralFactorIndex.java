@@ -0,0 +1,356 @@
+/*
+ * Copyright (C) 2011 Thomas Akehurst
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.tomakehurst.wiremock.stubbing;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+
+/**
+ * Stores stub mappings with regex URLs under a literal string that any value their regex matches
+ * must contain, e.g. <code>.*&#47;orders/[0-9]+</code> is stored under <code>/orders/</code>.
+ * All the literals are compiled into a single Aho-Corasick automaton, so one pass over a request URL
+ * finds every stub whose regex could possibly match it, however many regex stubs there are.
+ *
+ * The automaton is rebuilt lazily on the first lookup after a new literal has been added.
+ */
+public class LiteralFactorIndex {
+
+    static final int MIN_LITERAL_LENGTH = 2;
+
+    private static final String QUANTIFIERS = "?*{";
+
+    // Escapes that are exactly two characters long, e.g. \d, \b or \t. Others like \x41, \u0041, \0101, \cA,
+    // \k<name>, \p{Alpha} or multi-digit back references run on past the letter, so aren't analysed.
+    private static final String TWO_CHARACTER_ESCAPES = "dDwWsShHvVbBAzZGRXtnrfae";
+
+    private final Comparator<StubMapping> ordering;
+    private volatile PersistentHashMap<String, SortedMappingArray> buckets = PersistentHashMap.empty();
+    private volatile Automaton automaton;
+
+    public LiteralFactorIndex(Comparator<StubMapping> ordering) {
+        this.ordering = ordering;
+    }
+
+    /**
+     * Returns an index holding the same mappings that can be changed without affecting this one.
+     * The buckets are immutable, and the automaton only depends on the set of literals, so both are shared.
+     */
+    public synchronized LiteralFactorIndex copy() {
+        LiteralFactorIndex copy = new LiteralFactorIndex(ordering);
+        copy.buckets = buckets;
+        copy.automaton = automaton;
+        return copy;
+    }
+
+    /**
+     * Returns the longest run of literal characters that every match of the regex must contain,
+     * or null if none can be determined safely. Regexes using alternation, inline flags, quoting,
+     * back references or escapes longer than two characters are not analysed.
+     */
+    public static String requiredLiteralOf(String regex) {
+        if (regex == null || regex.contains("|") || regex.contains("(?") || regex.contains("\\Q")) {
+            return null;
+        }
+
+        String longest = "";
+        StringBuilder run = new StringBuilder();
+        int i = 0;
+        while (i < regex.length()) {
+            char c = regex.charAt(i);
+            if (c == '\\') {
+                if (i + 1 >= regex.length()) {
+                    return null;
+                }
+
+                char escaped = regex.charAt(i + 1);
+                if (Character.isLetterOrDigit(escaped) && TWO_CHARACTER_ESCAPES.indexOf(escaped) == -1) {
+                    return null;
+                }
+
+                if (Character.isLetterOrDigit(escaped)) {
+                    longest = longestOf(longest, run);
+                    run.setLength(0);
+                } else {
+                    run.append(escaped);
+                }
+                i += 2;
+            } else if (QUANTIFIERS.indexOf(c) != -1) {
+                if (run.length() > 0) {
+                    run.setLength(run.length() - 1);
+                }
+                longest = longestOf(longest, run);
+                run.setLength(0);
+                i = c == '{' ? skipPast(regex, i, '}') : i + 1;
+            } else if (c == '+') {
+                longest = longestOf(longest, run);
+                run.setLength(0);
+                i++;
+            } else if (c == '[') {
+                longest = longestOf(longest, run);
+                run.setLength(0);
+                i = skipCharacterClass(regex, i);
+            } else if (c == '(') {
+                longest = longestOf(longest, run);
+                run.setLength(0);
+                i = skipGroup(regex, i);
+            } else if (c == '.' || c == '^' || c == '$' || c == ')' || c == ']' || c == '}') {
+                longest = longestOf(longest, run);
+                run.setLength(0);
+                i++;
+            } else {
+                run.append(c);
+                i++;
+            }
+
+            if (i < 0) {
+                return null;
+            }
+        }
+
+        longest = longestOf(longest, run);
+        return longest.length() >= MIN_LITERAL_LENGTH ? longest : null;
+    }
+
+    private static String longestOf(String longest, StringBuilder run) {
+        return run.length() > longest.length() ? run.toString() : longest;
+    }
+
+    private static int skipPast(String regex, int from, char terminator) {
+        int end = regex.indexOf(terminator, from);
+        return end == -1 ? -1 : end + 1;
+    }
+
+    private static int skipCharacterClass(String regex, int from) {
+        int i = from + 1;
+        if (i < regex.length() && regex.charAt(i) == '^') {
+            i++;
+        }
+        if (i < regex.length() && regex.charAt(i) == ']') {
+            i++;
+        }
+
+        int depth = 1;
+        while (i < regex.length()) {
+            char c = regex.charAt(i);
+            if (c == '\\') {
+                i += 2;
+                continue;
+            }
+            if (c == '[') {
+                depth++;
+            } else if (c == ']' && --depth == 0) {
+                return i + 1;
+            }
+            i++;
+        }
+
+        return -1;
+    }
+
+    private static int skipGroup(String regex, int from) {
+        int depth = 0;
+        int i = from;
+        while (i < regex.length()) {
+            char c = regex.charAt(i);
+            if (c == '\\') {
+                i += 2;
+                continue;
+            }
+            if (c == '[') {
+                i = skipCharacterClass(regex, i);
+                if (i < 0) {
+                    return -1;
+                }
+                continue;
+            }
+            if (c == '(') {
+                depth++;
+            } else if (c == ')' && --depth == 0) {
+                return i + 1;
+            }
+            i++;
+        }
+
+        return -1;
+    }
+
+    public synchronized void add(String literal, StubMapping mapping) {
+        buckets = buckets.plus(literal, bucketFor(literal).withAdded(mapping));
+    }
+
+    public synchronized void addAll(String literal, Collection<StubMapping> mappings) {
+        buckets = buckets.plus(literal, bucketFor(literal).withAddedAll(mappings));
+    }
+
+    private SortedMappingArray bucketFor(String literal) {
+        SortedMappingArray bucket = buckets.get(literal);
+        if (bucket == null) {
+            bucket = SortedMappingArray.empty(ordering);
+            automaton = null;
+        }
+
+        return bucket;
+    }
+
+    public synchronized void remove(String literal, StubMapping mapping) {
+        SortedMappingArray bucket = buckets.get(literal);
+        if (bucket == null) {
+            return;
+        }
+
+        bucket = bucket.without(mapping);
+        if (bucket.isEmpty()) {
+            buckets = buckets.minus(literal);
+            automaton = null;
+        } else {
+            buckets = buckets.plus(literal, bucket);
+        }
+    }
+
+    public synchronized void clear() {
+        buckets = PersistentHashMap.empty();
+        automaton = null;
+    }
+
+    public void collectCandidates(String value, List<Iterable<StubMapping>> sources) {
+        if (value == null || buckets.isEmpty()) {
+            return;
+        }
+
+        PersistentHashMap<String, SortedMappingArray> buckets = this.buckets;
+        for (String literal: currentAutomaton().findAll(value)) {
+            SortedMappingArray bucket = buckets.get(literal);
+            if (bucket != null && !bucket.isEmpty()) {
+                sources.add(bucket);
+            }
+        }
+    }
+
+    private Automaton currentAutomaton() {
+        Automaton current = automaton;
+        return current != null ? current : buildAutomaton();
+    }
+
+    private synchronized Automaton buildAutomaton() {
+        if (automaton == null) {
+            automaton = new Automaton(buckets.keys());
+        }
+
+        return automaton;
+    }
+
+    private static class Automaton {
+
+        private final List<Map<Character, Integer>> transitions = new ArrayList<>();
+        private final List<String[]> outputs = new ArrayList<>();
+        private final List<Integer> failures = new ArrayList<>();
+
+        Automaton(Collection<String> literals) {
+            newState();
+            Map<Integer, List<String>> outputsByState = new HashMap<>();
+            for (String literal: literals) {
+                int state = 0;
+                for (int i = 0; i < literal.length(); i++) {
+                    Integer next = transitions.get(state).get(literal.charAt(i));
+                    if (next == null) {
+                        next = newState();
+                        transitions.get(state).put(literal.charAt(i), next);
+                    }
+                    state = next;
+                }
+
+                if (!outputsByState.containsKey(state)) {
+                    outputsByState.put(state, new ArrayList<String>());
+                }
+                outputsByState.get(state).add(literal);
+            }
+
+            Queue<Integer> queue = new ArrayDeque<>();
+            for (Integer child: transitions.get(0).values()) {
+                failures.set(child, 0);
+                queue.add(child);
+            }
+
+            while (!queue.isEmpty()) {
+                int state = queue.remove();
+                List<String> stateOutputs = outputsByState.containsKey(state) ?
+                    outputsByState.get(state) :
+                    new ArrayList<String>();
+                stateOutputs.addAll(outputsOf(failures.get(state)));
+                outputs.set(state, stateOutputs.toArray(new String[stateOutputs.size()]));
+
+                for (Map.Entry<Character, Integer> transition: transitions.get(state).entrySet()) {
+                    int child = transition.getValue();
+                    int fallback = failures.get(state);
+                    while (fallback != 0 && !transitions.get(fallback).containsKey(transition.getKey())) {
+                        fallback = failures.get(fallback);
+                    }
+                    Integer target = transitions.get(fallback).get(transition.getKey());
+                    failures.set(child, target != null && target != child ? target : 0);
+                    queue.add(child);
+                }
+            }
+        }
+
+        private List<String> outputsOf(int state) {
+            String[] stateOutputs = outputs.get(state);
+            List<String> result = new ArrayList<>();
+            if (stateOutputs != null) {
+                for (String output: stateOutputs) {
+                    result.add(output);
+                }
+            }
+            return result;
+        }
+
+        private int newState() {
+            transitions.add(new HashMap<Character, Integer>());
+            outputs.add(null);
+            failures.add(0);
+            return transitions.size() - 1;
+        }
+
+        Set<String> findAll(String value) {
+            Set<String> found = new HashSet<>();
+            int state = 0;
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                Integer next;
+                while ((next = transitions.get(state).get(c)) == null && state != 0) {
+                    state = failures.get(state);
+                }
+                state = next != null ? next : 0;
+
+                String[] stateOutputs = outputs.get(state);
+                if (stateOutputs != null) {
+                    for (String output: stateOutputs) {
+                        found.add(output);
+                    }
+                }
+            }
+
+            return found;
+        }
+    }
+}
@@ -0,0 +1,145 @@
+/*
+ * Copyright (C) 2011 Thomas Akehurst
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.tomakehurst.wiremock.stubbing;
+
+import com.github.tomakehurst.wiremock.common.Notifier;
+import com.google.common.base.Predicate;
+import com.google.common.base.Supplier;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.github.tomakehurst.wiremock.common.LocalNotifier.notifier;
+import static com.github.tomakehurst.wiremock.common.LocalNotifier.set;
+
+/**
+ * Finds the first matching stub in a priority-ordered list by splitting it into chunks that are
+ * evaluated concurrently on a shared fork-join pool. The first match in list order wins, i.e. the
+ * lowest priority value and then the most recently inserted stub, exactly as with a sequential scan.
+ * Chunks positioned after a match that has already been found are abandoned.
+ */
+public class ParallelStubMatcher {
+
+    private static final ForkJoinPool POOL = new ForkJoinPool();
+
+    private final int chunkSize;
+
+    public ParallelStubMatcher(int chunkSize) {
+        this.chunkSize = chunkSize;
+    }
+
+    public static ParallelStubMatcher disabled() {
+        return new ParallelStubMatcher(0);
+    }
+
+    public boolean isEnabled() {
+        return chunkSize > 0;
+    }
+
+    public boolean shouldMatchInParallel(int candidateCount) {
+        return isEnabled() && candidateCount > chunkSize;
+    }
+
+    /**
+     * @param matcherSupplier called once per chunk, so the predicates it supplies needn't be thread safe
+     * @return the index of the first matching stub, or -1 if none match
+     */
+    public int indexOfFirstMatch(List<StubMapping> candidates, Supplier<Predicate<StubMapping>> matcherSupplier) {
+        AtomicInteger firstMatch = new AtomicInteger(Integer.MAX_VALUE);
+        Notifier notifier = notifier();
+
+        List<MatchChunk> chunks = new ArrayList<>();
+        for (int start = 0; start < candidates.size(); start += chunkSize) {
+            int to = Math.min(start + chunkSize, candidates.size());
+            chunks.add(new MatchChunk(candidates, start, to, matcherSupplier, firstMatch, notifier));
+        }
+
+        POOL.invoke(new AllChunks(chunks));
+
+        int index = firstMatch.get();
+        return index == Integer.MAX_VALUE ? -1 : index;
+    }
+
+    private static void recordMatch(AtomicInteger firstMatch, int index) {
+        int current;
+        while (index < (current = firstMatch.get())) {
+            if (firstMatch.compareAndSet(current, index)) {
+                return;
+            }
+        }
+    }
+
+    private static class MatchChunk extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final List<StubMapping> candidates;
+        private final int from;
+        private final int to;
+        private final Supplier<Predicate<StubMapping>> matcherSupplier;
+        private final AtomicInteger firstMatch;
+        private final Notifier notifier;
+
+        MatchChunk(List<StubMapping> candidates,
+                   int from,
+                   int to,
+                   Supplier<Predicate<StubMapping>> matcherSupplier,
+                   AtomicInteger firstMatch,
+                   Notifier notifier) {
+            this.candidates = candidates;
+            this.from = from;
+            this.to = to;
+            this.matcherSupplier = matcherSupplier;
+            this.firstMatch = firstMatch;
+            this.notifier = notifier;
+        }
+
+        @Override
+        protected void compute() {
+            set(notifier);
+            try {
+                Predicate<StubMapping> matcher = matcherSupplier.get();
+                for (int i = from; i < to && i < firstMatch.get(); i++) {
+                    if (matcher.apply(candidates.get(i))) {
+                        recordMatch(firstMatch, i);
+                        return;
+                    }
+                }
+            } finally {
+                set(null);
+            }
+        }
+    }
+
+    private static class AllChunks extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final List<MatchChunk> chunks;
+
+        AllChunks(List<MatchChunk> chunks) {
+            this.chunks = chunks;
+        }
+
+        @Override
+        protected void compute() {
+            invokeAll(chunks);
+        }
+    }
+}
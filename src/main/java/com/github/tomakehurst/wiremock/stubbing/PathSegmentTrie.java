@@ -0,0 +1,168 @@
+/*
+ * Copyright (C) 2011 Thomas Akehurst
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.tomakehurst.wiremock.stubbing;
+
+import com.google.common.base.Function;
+import com.google.common.base.Splitter;
+import com.google.common.collect.ImmutableList;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Stores stub mappings with regex URLs under the literal path segments their regex starts with,
+ * e.g. <code>/api/v2/customers/[0-9]+/orders.*</code> is stored under <code>api/v2/customers</code>.
+ * Only mappings whose literal segments prefix the request URL are returned as candidates.
+ * Nodes are immutable and a change replaces only those on the path to it, so lookups never lock
+ * and copies share every node. Callers must serialise changes.
+ */
+public class PathSegmentTrie {
+
+    private static final String REGEX_METACHARACTERS = "\\[](){}.*+?^$|";
+    private static final String REGEX_QUANTIFIERS = "*+?{";
+
+    private final Node empty;
+    private volatile Node root;
+
+    public PathSegmentTrie(Comparator<StubMapping> ordering) {
+        this.empty = new Node(SortedMappingArray.empty(ordering), PersistentHashMap.<String, Node>empty());
+        this.root = empty;
+    }
+
+    private PathSegmentTrie(PathSegmentTrie original) {
+        this.empty = original.empty;
+        this.root = original.root;
+    }
+
+    /**
+     * Returns a trie holding the same mappings that can be changed without affecting this one.
+     */
+    public PathSegmentTrie copy() {
+        return new PathSegmentTrie(this);
+    }
+
+    public static List<String> literalLeadingSegmentsOf(String regex) {
+        if (regex == null || regex.indexOf('|') != -1) {
+            return Collections.emptyList();
+        }
+
+        int start = regex.startsWith("^") ? 1 : 0;
+        if (!regex.startsWith("/", start)) {
+            return Collections.emptyList();
+        }
+
+        int end = start;
+        while (end < regex.length() && REGEX_METACHARACTERS.indexOf(regex.charAt(end)) == -1) {
+            end++;
+        }
+
+        if (end < regex.length() && REGEX_QUANTIFIERS.indexOf(regex.charAt(end)) != -1) {
+            end--;
+        }
+
+        String literal = regex.substring(start, end);
+        int lastSlash = literal.lastIndexOf('/');
+        if (lastSlash <= 0) {
+            return Collections.emptyList();
+        }
+
+        return ImmutableList.copyOf(Splitter.on('/').split(literal.substring(1, lastSlash)));
+    }
+
+    public void add(List<String> segments, final StubMapping mapping) {
+        root = changed(root, segments, 0, new Function<SortedMappingArray, SortedMappingArray>() {
+            @Override
+            public SortedMappingArray apply(SortedMappingArray mappings) {
+                return mappings.withAdded(mapping);
+            }
+        });
+    }
+
+    public void addAll(List<String> segments, final Collection<StubMapping> added) {
+        root = changed(root, segments, 0, new Function<SortedMappingArray, SortedMappingArray>() {
+            @Override
+            public SortedMappingArray apply(SortedMappingArray mappings) {
+                return mappings.withAddedAll(added);
+            }
+        });
+    }
+
+    public void remove(List<String> segments, final StubMapping mapping) {
+        root = changed(root, segments, 0, new Function<SortedMappingArray, SortedMappingArray>() {
+            @Override
+            public SortedMappingArray apply(SortedMappingArray mappings) {
+                return mappings.without(mapping);
+            }
+        });
+    }
+
+    private Node changed(Node node, List<String> segments, int depth, Function<SortedMappingArray, SortedMappingArray> change) {
+        if (depth == segments.size()) {
+            return new Node(change.apply(node.mappings), node.children);
+        }
+
+        String segment = segments.get(depth);
+        Node child = node.children.get(segment);
+        Node changedChild = changed(child != null ? child : empty, segments, depth + 1, change);
+        return new Node(node.mappings, changedChild.isEmpty() ?
+            node.children.minus(segment) :
+            node.children.plus(segment, changedChild));
+    }
+
+    public void clear() {
+        root = empty;
+    }
+
+    public void collectCandidates(String value, List<Iterable<StubMapping>> sources) {
+        if (value == null || !value.startsWith("/")) {
+            return;
+        }
+
+        Node node = root;
+        int position = 1;
+        int nextSlash;
+        while ((nextSlash = value.indexOf('/', position)) != -1) {
+            node = node.children.get(value.substring(position, nextSlash));
+            if (node == null) {
+                return;
+            }
+
+            SortedMappingArray mappings = node.mappings;
+            if (!mappings.isEmpty()) {
+                sources.add(mappings);
+            }
+
+            position = nextSlash + 1;
+        }
+    }
+
+    private static class Node {
+
+        final SortedMappingArray mappings;
+        final PersistentHashMap<String, Node> children;
+
+        Node(SortedMappingArray mappings, PersistentHashMap<String, Node> children) {
+            this.mappings = mappings;
+            this.children = children;
+        }
+
+        boolean isEmpty() {
+            return mappings.isEmpty() && children.isEmpty();
+        }
+    }
+}
@@ -0,0 +1,304 @@
+/*
+ * Copyright (C) 2011 Thomas Akehurst
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.tomakehurst.wiremock.stubbing;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * An immutable hash map (a hash array mapped trie) whose {@link #plus} and {@link #minus} return a new
+ * map sharing everything but the path to the changed entry, so an update costs O(log32 n) rather than
+ * a copy of the whole map. Lets the stub indexes take a cheap copy before each change.
+ */
+final class PersistentHashMap<K, V> {
+
+    private static final int BITS = 5;
+    private static final int MASK = (1 << BITS) - 1;
+
+    private static final PersistentHashMap<Object, Object> EMPTY = new PersistentHashMap<>(null, 0);
+
+    private final Node root;
+    private final int size;
+
+    private PersistentHashMap(Node root, int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    @SuppressWarnings("unchecked")
+    static <K, V> PersistentHashMap<K, V> empty() {
+        return (PersistentHashMap<K, V>) EMPTY;
+    }
+
+    @SuppressWarnings("unchecked")
+    V get(K key) {
+        return root != null ? (V) root.find(0, hash(key), key) : null;
+    }
+
+    PersistentHashMap<K, V> plus(K key, V value) {
+        checkNotNull(key);
+        boolean[] added = new boolean[1];
+        Node current = root != null ? root : BitmapNode.EMPTY;
+        Node updated = current.plus(0, hash(key), key, value, added);
+        return updated == root ? this : new PersistentHashMap<K, V>(updated, added[0] ? size + 1 : size);
+    }
+
+    PersistentHashMap<K, V> minus(K key) {
+        if (root == null) {
+            return this;
+        }
+
+        Node updated = root.minus(0, hash(key), key);
+        return updated == root ? this : new PersistentHashMap<K, V>(updated, size - 1);
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    List<K> keys() {
+        List<Object> keys = new ArrayList<>(size);
+        if (root != null) {
+            root.collectKeys(keys);
+        }
+        return (List<K>) keys;
+    }
+
+    private static int hash(Object key) {
+        int h = key.hashCode();
+        return h ^ (h >>> 16);
+    }
+
+    private static int bitFor(int hash, int shift) {
+        return 1 << ((hash >>> shift) & MASK);
+    }
+
+    private interface Node {
+        Object find(int shift, int hash, Object key);
+        Node plus(int shift, int hash, Object key, Object value, boolean[] added);
+        Node minus(int shift, int hash, Object key);
+        void collectKeys(List<Object> keys);
+    }
+
+    /**
+     * Holds up to 32 slots, each either a key and its value or, when the key is null, a child node.
+     */
+    private static final class BitmapNode implements Node {
+
+        static final BitmapNode EMPTY = new BitmapNode(0, new Object[0]);
+
+        final int bitmap;
+        final Object[] slots;
+
+        BitmapNode(int bitmap, Object[] slots) {
+            this.bitmap = bitmap;
+            this.slots = slots;
+        }
+
+        private int indexOf(int bit) {
+            return 2 * Integer.bitCount(bitmap & (bit - 1));
+        }
+
+        @Override
+        public Object find(int shift, int hash, Object key) {
+            int bit = bitFor(hash, shift);
+            if ((bitmap & bit) == 0) {
+                return null;
+            }
+
+            int i = indexOf(bit);
+            Object slotKey = slots[i];
+            if (slotKey == null) {
+                return ((Node) slots[i + 1]).find(shift + BITS, hash, key);
+            }
+
+            return key.equals(slotKey) ? slots[i + 1] : null;
+        }
+
+        @Override
+        public Node plus(int shift, int hash, Object key, Object value, boolean[] added) {
+            int bit = bitFor(hash, shift);
+            int i = indexOf(bit);
+            if ((bitmap & bit) == 0) {
+                added[0] = true;
+                Object[] updated = new Object[slots.length + 2];
+                System.arraycopy(slots, 0, updated, 0, i);
+                updated[i] = key;
+                updated[i + 1] = value;
+                System.arraycopy(slots, i, updated, i + 2, slots.length - i);
+                return new BitmapNode(bitmap | bit, updated);
+            }
+
+            Object slotKey = slots[i];
+            Object slotValue = slots[i + 1];
+            if (slotKey == null) {
+                Node child = ((Node) slotValue).plus(shift + BITS, hash, key, value, added);
+                return child == slotValue ? this : withSlot(i, null, child);
+            }
+
+            if (key.equals(slotKey)) {
+                return slotValue == value ? this : withSlot(i, key, value);
+            }
+
+            added[0] = true;
+            return withSlot(i, null, nodeOf(shift + BITS, slotKey, slotValue, hash, key, value));
+        }
+
+        @Override
+        public Node minus(int shift, int hash, Object key) {
+            int bit = bitFor(hash, shift);
+            if ((bitmap & bit) == 0) {
+                return this;
+            }
+
+            int i = indexOf(bit);
+            Object slotKey = slots[i];
+            if (slotKey == null) {
+                Node child = (Node) slots[i + 1];
+                Node updatedChild = child.minus(shift + BITS, hash, key);
+                if (updatedChild == child) {
+                    return this;
+                }
+                return updatedChild != null ? withSlot(i, null, updatedChild) : withoutSlot(bit, i);
+            }
+
+            return key.equals(slotKey) ? withoutSlot(bit, i) : this;
+        }
+
+        @Override
+        public void collectKeys(List<Object> keys) {
+            for (int i = 0; i < slots.length; i += 2) {
+                if (slots[i] == null) {
+                    ((Node) slots[i + 1]).collectKeys(keys);
+                } else {
+                    keys.add(slots[i]);
+                }
+            }
+        }
+
+        private BitmapNode withSlot(int i, Object key, Object value) {
+            Object[] updated = slots.clone();
+            updated[i] = key;
+            updated[i + 1] = value;
+            return new BitmapNode(bitmap, updated);
+        }
+
+        private BitmapNode withoutSlot(int bit, int i) {
+            if (bitmap == bit) {
+                return null;
+            }
+
+            Object[] updated = new Object[slots.length - 2];
+            System.arraycopy(slots, 0, updated, 0, i);
+            System.arraycopy(slots, i + 2, updated, i, slots.length - i - 2);
+            return new BitmapNode(bitmap ^ bit, updated);
+        }
+
+        private static Node nodeOf(int shift, Object key1, Object value1, int hash2, Object key2, Object value2) {
+            int hash1 = hash(key1);
+            if (hash1 == hash2) {
+                return new CollisionNode(hash1, new Object[] { key1, value1, key2, value2 });
+            }
+
+            boolean[] added = new boolean[1];
+            return EMPTY.plus(shift, hash1, key1, value1, added).plus(shift, hash2, key2, value2, added);
+        }
+    }
+
+    /**
+     * Holds the keys whose hashes are identical, which no amount of further branching would separate.
+     */
+    private static final class CollisionNode implements Node {
+
+        final int hash;
+        final Object[] entries;
+
+        CollisionNode(int hash, Object[] entries) {
+            this.hash = hash;
+            this.entries = entries;
+        }
+
+        private int indexOf(Object key) {
+            for (int i = 0; i < entries.length; i += 2) {
+                if (key.equals(entries[i])) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        @Override
+        public Object find(int shift, int hash, Object key) {
+            int i = indexOf(key);
+            return i >= 0 ? entries[i + 1] : null;
+        }
+
+        @Override
+        public Node plus(int shift, int hash, Object key, Object value, boolean[] added) {
+            if (hash != this.hash) {
+                return new BitmapNode(bitFor(this.hash, shift), new Object[] { null, this })
+                    .plus(shift, hash, key, value, added);
+            }
+
+            int i = indexOf(key);
+            if (i >= 0) {
+                if (entries[i + 1] == value) {
+                    return this;
+                }
+                Object[] updated = entries.clone();
+                updated[i + 1] = value;
+                return new CollisionNode(hash, updated);
+            }
+
+            added[0] = true;
+            Object[] updated = new Object[entries.length + 2];
+            System.arraycopy(entries, 0, updated, 0, entries.length);
+            updated[entries.length] = key;
+            updated[entries.length + 1] = value;
+            return new CollisionNode(hash, updated);
+        }
+
+        @Override
+        public Node minus(int shift, int hash, Object key) {
+            int i = indexOf(key);
+            if (i < 0) {
+                return this;
+            }
+            if (entries.length == 2) {
+                return null;
+            }
+
+            Object[] updated = new Object[entries.length - 2];
+            System.arraycopy(entries, 0, updated, 0, i);
+            System.arraycopy(entries, i + 2, updated, i, entries.length - i - 2);
+            return new CollisionNode(hash, updated);
+        }
+
+        @Override
+        public void collectKeys(List<Object> keys) {
+            for (int i = 0; i < entries.length; i += 2) {
+                keys.add(entries[i]);
+            }
+        }
+    }
+}
@@ -5,7 +5,10 @@ import com.google.common.base.Predicate;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Maps;
 
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 
 import static com.google.common.base.MoreObjects.firstNonNull;
@@ -33,12 +36,33 @@ public class Scenarios {
         }
     }
 
+    /**
+     * The added mappings may have replaced scenario stubs with the same IDs, so unused scenarios are
+     * cleaned up whenever there are any, not just when the batch itself contains scenario stubs.
+     */
+    public void onStubMappingsAdded(Collection<StubMapping> mappings, Iterable<StubMapping> allStubMappings) {
+        for (StubMapping mapping: mappings) {
+            if (mapping.isInScenario()) {
+                String scenarioName = mapping.getScenarioName();
+                Scenario scenario = firstNonNull(scenarioMap.get(scenarioName), Scenario.inStartedState(scenarioName));
+                scenarioMap.put(scenarioName, scenario.withPossibleState(mapping.getNewScenarioState()));
+            }
+        }
+
+        if (!scenarioMap.isEmpty()) {
+            cleanUnusedScenarios(allStubMappings);
+        }
+    }
+
     private void cleanUnusedScenarios(Iterable<StubMapping> remainingStubMappings) {
-        for (String scenarioName: scenarioMap.keySet()) {
-            if (countOtherStubsInScenario(remainingStubMappings, scenarioName) == 0) {
-                scenarioMap.remove(scenarioName);
+        Set<String> usedScenarioNames = new HashSet<>();
+        for (StubMapping mapping: remainingStubMappings) {
+            if (mapping.isInScenario()) {
+                usedScenarioNames.add(mapping.getScenarioName());
             }
         }
+
+        scenarioMap.keySet().retainAll(usedScenarioNames);
     }
 
     public void onStubMappingRemoved(StubMapping mapping, Iterable<StubMapping> remainingStubMappings) {
@@ -80,6 +104,14 @@ public class Scenarios {
         scenarioMap.clear();
     }
 
+    /**
+     * A cheap check to make before evaluating a stub's request pattern, so that stubs waiting on
+     * another scenario state are never matched against the request.
+     */
+    public boolean isActiveInCurrentState(StubMapping mapping) {
+        return mapping.isIndependentOfScenarioState() || mappingMatchesScenarioState(mapping);
+    }
+
     public boolean mappingMatchesScenarioState(StubMapping mapping) {
         String currentScenarioState = getByName(mapping.getScenarioName()).getState();
         return mapping.getRequiredScenarioState().equals(currentScenarioState);
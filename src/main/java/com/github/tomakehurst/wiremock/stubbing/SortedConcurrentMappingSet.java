@@ -15,23 +15,46 @@
  */
 package com.github.tomakehurst.wiremock.stubbing;
 
+import com.github.tomakehurst.wiremock.http.Request;
+import com.github.tomakehurst.wiremock.matching.RequestPattern;
+import com.google.common.base.Optional;
 import com.google.common.base.Predicate;
+import com.google.common.collect.ImmutableList;
 
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashSet;
 import java.util.Iterator;
-import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
 import java.util.concurrent.atomic.AtomicLong;
 
-import static com.google.common.collect.Iterables.removeIf;
+import static com.google.common.collect.FluentIterable.from;
 
+/**
+ * Stub mappings are read on every request but changed rarely, so they're held copy-on-write: mutations
+ * are serialised and publish a new immutable snapshot, while readers just use whichever snapshot was
+ * current when they started.
+ *
+ * Mappings are also looked up by UUID and by request pattern, so admin calls that get, edit or remove
+ * a single mapping don't have to scan the whole set. The sorted {@link SortedMappingArray}, the request
+ * index and these lookups are all held in the one snapshot and published with a single write, so a
+ * reader never sees a change half made, e.g. a replaced mapping missing from both the old and new places.
+ * The lookups and index are persistent structures, so a mutation shares everything it doesn't touch with
+ * the previous snapshot rather than copying it.
+ */
 public class SortedConcurrentMappingSet implements Iterable<StubMapping> {
 
-	private AtomicLong insertionCount;
-	private ConcurrentSkipListSet<StubMapping> mappingSet;
-	
+	private final AtomicLong insertionCount;
+	private final Comparator<StubMapping> ordering;
+	private volatile Snapshot snapshot;
+
 	public SortedConcurrentMappingSet() {
 		insertionCount = new AtomicLong();
-		mappingSet = new ConcurrentSkipListSet<StubMapping>(sortedByPriorityThenReverseInsertionOrder());
+		ordering = sortedByPriorityThenReverseInsertionOrder();
+		snapshot = new Snapshot(ordering);
 	}
 	
 	private Comparator<StubMapping> sortedByPriorityThenReverseInsertionOrder() {
@@ -49,49 +72,185 @@ public class SortedConcurrentMappingSet implements Iterable<StubMapping> {
 
 	@Override
 	public Iterator<StubMapping> iterator() {
-		return mappingSet.iterator();
+		return snapshot.mappings.iterator();
+	}
+
+	public Iterable<StubMapping> findCandidatesFor(Request request) {
+		return snapshot.index.findCandidatesFor(request);
 	}
 	
-	public void add(StubMapping mapping) {
+	public Optional<StubMapping> get(UUID id) {
+		SortedMappingArray matching = id != null ? snapshot.byId.get(id) : null;
+		return matching != null && !matching.isEmpty() ?
+			Optional.of(matching.get(0)) :
+			Optional.<StubMapping>absent();
+	}
+
+	public synchronized void add(StubMapping mapping) {
 		mapping.setInsertionIndex(insertionCount.getAndIncrement());
-		mappingSet.add(mapping);
+		Snapshot next = snapshot.copy();
+		next.add(mapping);
+		snapshot = next;
+	}
+
+	/**
+	 * Adds a batch of mappings, replacing any existing mappings with the same UUIDs. The new snapshot is
+	 * built aside and swapped in, so a concurrent lookup sees either none or all of the batch.
+	 */
+	public synchronized void addAll(Collection<StubMapping> mappings) {
+		final Set<UUID> importedIds = new HashSet<>();
+		for (StubMapping mapping: mappings) {
+			if (mapping.getUuid() != null) {
+				importedIds.add(mapping.getUuid());
+			}
+		}
+
+		swapIn(from(snapshot.mappings).filter(new Predicate<StubMapping>() {
+			@Override
+			public boolean apply(StubMapping mapping) {
+				return mapping.getUuid() == null || !importedIds.contains(mapping.getUuid());
+			}
+		}).toList(), mappings);
 	}
 
-	public boolean remove(final StubMapping mappingToRemove) {
-		boolean removedByUuid = removeIf(mappingSet, new Predicate<StubMapping>() {
-            @Override
-            public boolean apply(StubMapping mapping) {
-                return mappingToRemove.getUuid() != null &&
-                    mapping.getUuid() != null &&
-                    mappingToRemove.getUuid().equals(mapping.getUuid());
-            }
-        });
-
-        boolean removedByRequestPattern = !removedByUuid && removeIf(mappingSet, new Predicate<StubMapping>() {
-            @Override
-            public boolean apply(StubMapping mapping) {
-                return mappingToRemove.getRequest().equals(mapping.getRequest());
-            }
-        });
-
-        return removedByUuid || removedByRequestPattern;
+	public synchronized void replaceAll(Collection<StubMapping> mappings) {
+		swapIn(Collections.<StubMapping>emptyList(), mappings);
 	}
 
-	public boolean replace(StubMapping existingStubMapping, StubMapping newStubMapping) {
+	private void swapIn(List<StubMapping> retained, Collection<StubMapping> added) {
+		for (StubMapping mapping: added) {
+			mapping.setInsertionIndex(insertionCount.getAndIncrement());
+		}
+
+		List<StubMapping> all = ImmutableList.<StubMapping>builder().addAll(retained).addAll(added).build();
+		snapshot = new Snapshot(ordering, all);
+	}
 
-		if ( mappingSet.remove(existingStubMapping) ) {
-			mappingSet.add(newStubMapping);
-			return true;
+	/**
+	 * Removes the mappings with the same UUID as the one given or, if there are none, those with an
+	 * equal request pattern.
+	 */
+	public synchronized boolean remove(StubMapping mappingToRemove) {
+		Snapshot current = snapshot;
+		SortedMappingArray matching = mappingToRemove.getUuid() != null ? current.byId.get(mappingToRemove.getUuid()) : null;
+		if (matching == null) {
+			matching = current.byRequestPattern.get(mappingToRemove.getRequest());
 		}
-		return false;
+
+		if (matching == null) {
+			return false;
+		}
+
+		Snapshot next = current.copy();
+		for (StubMapping mapping: matching) {
+			next.remove(mapping);
+		}
+		snapshot = next;
+
+		return true;
+	}
+
+	public synchronized boolean replace(StubMapping existingStubMapping, StubMapping newStubMapping) {
+		Snapshot current = snapshot;
+		if (!current.mappings.contains(existingStubMapping)) {
+			return false;
+		}
+
+		Snapshot next = current.copy();
+		next.remove(existingStubMapping);
+		next.add(newStubMapping);
+		snapshot = next;
+		return true;
 	}
 
-	public void clear() {
-		mappingSet.clear();
+	public synchronized void clear() {
+		snapshot = new Snapshot(ordering);
 	}
 	
 	@Override
 	public String toString() {
-		return mappingSet.toString();
+		return snapshot.mappings.toString();
+	}
+
+	/**
+	 * Only changed while being prepared by a mutation, before it is published.
+	 */
+	private static class Snapshot {
+
+		private final Comparator<StubMapping> ordering;
+		private SortedMappingArray mappings;
+		private final StubMappingIndex index;
+		private PersistentHashMap<UUID, SortedMappingArray> byId;
+		private PersistentHashMap<RequestPattern, SortedMappingArray> byRequestPattern;
+
+		Snapshot(Comparator<StubMapping> ordering) {
+			this(ordering,
+				SortedMappingArray.empty(ordering),
+				new StubMappingIndex(ordering),
+				PersistentHashMap.<UUID, SortedMappingArray>empty(),
+				PersistentHashMap.<RequestPattern, SortedMappingArray>empty());
+		}
+
+		Snapshot(Comparator<StubMapping> ordering, List<StubMapping> all) {
+			this(ordering);
+			mappings = SortedMappingArray.of(ordering, all);
+			index.addAll(all);
+			for (StubMapping mapping: all) {
+				addToLookups(mapping);
+			}
+		}
+
+		private Snapshot(Comparator<StubMapping> ordering,
+						 SortedMappingArray mappings,
+						 StubMappingIndex index,
+						 PersistentHashMap<UUID, SortedMappingArray> byId,
+						 PersistentHashMap<RequestPattern, SortedMappingArray> byRequestPattern) {
+			this.ordering = ordering;
+			this.mappings = mappings;
+			this.index = index;
+			this.byId = byId;
+			this.byRequestPattern = byRequestPattern;
+		}
+
+		Snapshot copy() {
+			return new Snapshot(ordering, mappings, index.copy(), byId, byRequestPattern);
+		}
+
+		void add(StubMapping mapping) {
+			mappings = mappings.withAdded(mapping);
+			index.add(mapping);
+			addToLookups(mapping);
+		}
+
+		void remove(StubMapping mapping) {
+			mappings = mappings.without(mapping);
+			index.remove(mapping);
+			if (mapping.getUuid() != null) {
+				byId = without(byId, mapping.getUuid(), mapping);
+			}
+			byRequestPattern = without(byRequestPattern, mapping.getRequest(), mapping);
+		}
+
+		private void addToLookups(StubMapping mapping) {
+			if (mapping.getUuid() != null) {
+				byId = withAdded(byId, mapping.getUuid(), mapping);
+			}
+			byRequestPattern = withAdded(byRequestPattern, mapping.getRequest(), mapping);
+		}
+
+		private <K> PersistentHashMap<K, SortedMappingArray> withAdded(PersistentHashMap<K, SortedMappingArray> lookup, K key, StubMapping mapping) {
+			SortedMappingArray matching = lookup.get(key);
+			return lookup.plus(key, (matching != null ? matching : SortedMappingArray.empty(ordering)).withAdded(mapping));
+		}
+
+		private static <K> PersistentHashMap<K, SortedMappingArray> without(PersistentHashMap<K, SortedMappingArray> lookup, K key, StubMapping mapping) {
+			SortedMappingArray matching = lookup.get(key);
+			if (matching == null) {
+				return lookup;
+			}
+
+			matching = matching.without(mapping);
+			return matching.isEmpty() ? lookup.minus(key) : lookup.plus(key, matching);
+		}
 	}
 }
@@ -0,0 +1,136 @@
+/*
+ * Copyright (C) 2011 Thomas Akehurst
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.tomakehurst.wiremock.stubbing;
+
+import com.google.common.collect.Iterators;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * An immutable, sorted array of stub mappings. Changes return a new instance, so a reference to one
+ * can be published through a volatile field and iterated by any number of threads without locking.
+ *
+ * As with a sorted set, two mappings the comparator considers equal are treated as the same mapping.
+ */
+public class SortedMappingArray implements Iterable<StubMapping> {
+
+    private static final StubMapping[] NO_MAPPINGS = new StubMapping[0];
+
+    private final Comparator<StubMapping> ordering;
+    private final StubMapping[] mappings;
+
+    private SortedMappingArray(Comparator<StubMapping> ordering, StubMapping[] mappings) {
+        this.ordering = ordering;
+        this.mappings = mappings;
+    }
+
+    public static SortedMappingArray empty(Comparator<StubMapping> ordering) {
+        return new SortedMappingArray(ordering, NO_MAPPINGS);
+    }
+
+    public static SortedMappingArray of(Comparator<StubMapping> ordering, Collection<StubMapping> mappings) {
+        StubMapping[] sorted = mappings.toArray(new StubMapping[mappings.size()]);
+        Arrays.sort(sorted, ordering);
+        return new SortedMappingArray(ordering, sorted);
+    }
+
+    public SortedMappingArray withAdded(StubMapping mapping) {
+        int position = Arrays.binarySearch(mappings, mapping, ordering);
+        if (position >= 0) {
+            return this;
+        }
+
+        int insertAt = -(position + 1);
+        StubMapping[] updated = new StubMapping[mappings.length + 1];
+        System.arraycopy(mappings, 0, updated, 0, insertAt);
+        updated[insertAt] = mapping;
+        System.arraycopy(mappings, insertAt, updated, insertAt + 1, mappings.length - insertAt);
+        return new SortedMappingArray(ordering, updated);
+    }
+
+    public SortedMappingArray withAddedAll(Collection<StubMapping> added) {
+        if (added.isEmpty()) {
+            return this;
+        }
+
+        StubMapping[] combined = Arrays.copyOf(mappings, mappings.length + added.size());
+        int i = mappings.length;
+        for (StubMapping mapping: added) {
+            combined[i++] = mapping;
+        }
+        Arrays.sort(combined, ordering);
+
+        int size = 0;
+        for (StubMapping mapping: combined) {
+            if (size == 0 || ordering.compare(combined[size - 1], mapping) != 0) {
+                combined[size++] = mapping;
+            }
+        }
+
+        return new SortedMappingArray(ordering, size == combined.length ? combined : Arrays.copyOf(combined, size));
+    }
+
+    public SortedMappingArray without(StubMapping mapping) {
+        int position = Arrays.binarySearch(mappings, mapping, ordering);
+        if (position < 0) {
+            return this;
+        }
+
+        if (mappings.length == 1) {
+            return empty(ordering);
+        }
+
+        StubMapping[] updated = new StubMapping[mappings.length - 1];
+        System.arraycopy(mappings, 0, updated, 0, position);
+        System.arraycopy(mappings, position + 1, updated, position, mappings.length - position - 1);
+        return new SortedMappingArray(ordering, updated);
+    }
+
+    public boolean contains(StubMapping mapping) {
+        return Arrays.binarySearch(mappings, mapping, ordering) >= 0;
+    }
+
+    public int size() {
+        return mappings.length;
+    }
+
+    public boolean isEmpty() {
+        return mappings.length == 0;
+    }
+
+    public StubMapping get(int index) {
+        return mappings[index];
+    }
+
+    public List<StubMapping> asList() {
+        return Collections.unmodifiableList(Arrays.asList(mappings));
+    }
+
+    @Override
+    public Iterator<StubMapping> iterator() {
+        return Iterators.forArray(mappings);
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(mappings);
+    }
+}
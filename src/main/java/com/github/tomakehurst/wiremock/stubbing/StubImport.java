@@ -0,0 +1,53 @@
+/*
+ * Copyright (C) 2011 Thomas Akehurst
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.tomakehurst.wiremock.stubbing;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.google.common.collect.ImmutableList;
+
+import java.util.Collections;
+import java.util.List;
+
+import static com.google.common.base.MoreObjects.firstNonNull;
+
+/**
+ * A batch of stub mappings to be added in one go, optionally replacing all the existing stub mappings.
+ */
+public class StubImport {
+
+    private final List<StubMapping> mappings;
+    private final boolean replaceExisting;
+
+    @JsonCreator
+    public StubImport(@JsonProperty("mappings") List<StubMapping> mappings,
+                      @JsonProperty("replaceExisting") Boolean replaceExisting) {
+        this.mappings = ImmutableList.copyOf(firstNonNull(mappings, Collections.<StubMapping>emptyList()));
+        this.replaceExisting = replaceExisting != null && replaceExisting;
+    }
+
+    public static StubImportBuilder stubImport() {
+        return new StubImportBuilder();
+    }
+
+    public List<StubMapping> getMappings() {
+        return mappings;
+    }
+
+    public boolean isReplaceExisting() {
+        return replaceExisting;
+    }
+}
@@ -0,0 +1,45 @@
+/*
+ * Copyright (C) 2011 Thomas Akehurst
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.tomakehurst.wiremock.stubbing;
+
+import com.github.tomakehurst.wiremock.client.MappingBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class StubImportBuilder {
+
+    private final List<StubMapping> mappings = new ArrayList<>();
+    private boolean replaceExisting = false;
+
+    public StubImportBuilder stub(MappingBuilder mappingBuilder) {
+        return stub(mappingBuilder.build());
+    }
+
+    public StubImportBuilder stub(StubMapping stubMapping) {
+        mappings.add(stubMapping);
+        return this;
+    }
+
+    public StubImportBuilder replaceExisting() {
+        replaceExisting = true;
+        return this;
+    }
+
+    public StubImport build() {
+        return new StubImport(mappings, replaceExisting);
+    }
+}
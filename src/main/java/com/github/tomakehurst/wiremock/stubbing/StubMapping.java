@@ -20,6 +20,7 @@ import com.fasterxml.jackson.annotation.JsonPropertyOrder;
 import com.fasterxml.jackson.annotation.JsonView;
 import com.github.tomakehurst.wiremock.common.Json;
 import com.github.tomakehurst.wiremock.extension.Parameters;
+import com.github.tomakehurst.wiremock.extension.ResponseDefinitionTransformer;
 import com.github.tomakehurst.wiremock.http.ResponseDefinition;
 import com.github.tomakehurst.wiremock.matching.RequestPattern;
 
@@ -50,6 +51,7 @@ public class StubMapping {
 
 	private long insertionIndex;
 	private boolean isDirty = true;
+	private ResponseDefinitionTransformer[] transformerChain;
 
 	public StubMapping(RequestPattern requestPattern, ResponseDefinition response) {
 		setRequest(requestPattern);
@@ -147,6 +149,18 @@ public class StubMapping {
         this.isDirty = isDirty;
     }
 
+	/**
+	 * The response definition transformers that apply to this stub, in the order they run,
+	 * or null if they haven't been resolved since the stub was added.
+	 */
+	ResponseDefinitionTransformer[] getTransformerChain() {
+		return transformerChain;
+	}
+
+	void setTransformerChain(ResponseDefinitionTransformer[] transformerChain) {
+		this.transformerChain = transformerChain;
+	}
+
 	public Integer getPriority() {
 		return priority;
 	}
@@ -0,0 +1,343 @@
+/*
+ * Copyright (C) 2011 Thomas Akehurst
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.tomakehurst.wiremock.stubbing;
+
+import com.github.tomakehurst.wiremock.http.Request;
+import com.github.tomakehurst.wiremock.http.RequestMethod;
+import com.github.tomakehurst.wiremock.matching.EqualToPattern;
+import com.github.tomakehurst.wiremock.matching.RegexPattern;
+import com.github.tomakehurst.wiremock.matching.RequestPattern;
+import com.github.tomakehurst.wiremock.matching.StringValuePattern;
+import com.github.tomakehurst.wiremock.matching.UrlPathPattern;
+import com.github.tomakehurst.wiremock.matching.UrlPattern;
+import com.google.common.collect.ArrayListMultimap;
+import com.google.common.collect.Iterables;
+import com.google.common.collect.ListMultimap;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+import static com.github.tomakehurst.wiremock.http.RequestMethod.ANY;
+
+/**
+ * Buckets stub mappings by request method and exact URL or URL path so that serving a request
+ * only has to evaluate the stubs that could possibly match it. Mappings with a regex URL are
+ * held in a {@link PathSegmentTrie} keyed on the literal segments the regex starts with, or failing
+ * that in a {@link LiteralFactorIndex} keyed on a literal the regex requires somewhere in the URL.
+ * Anything else is kept in an unindexed set that is always consulted.
+ *
+ * Candidates are returned in the same order as the owning {@link SortedConcurrentMappingSet}.
+ * Each bucket is an immutable {@link SortedMappingArray} held in a {@link PersistentHashMap}, both replaced
+ * on change, so lookups never lock. The owning set changes a {@link #copy()} and publishes it whole, so
+ * lookups never see a change half made. Copies share everything, so taking one costs nothing.
+ */
+public class StubMappingIndex {
+
+    private final Comparator<StubMapping> ordering;
+    private volatile PersistentHashMap<String, SortedMappingArray> urlBuckets = PersistentHashMap.empty();
+    private volatile PersistentHashMap<String, SortedMappingArray> pathBuckets = PersistentHashMap.empty();
+    private final PathSegmentTrie urlRegexTrie;
+    private final PathSegmentTrie pathRegexTrie;
+    private final LiteralFactorIndex urlRegexFactors;
+    private final LiteralFactorIndex pathRegexFactors;
+    private volatile SortedMappingArray unindexed;
+
+    public StubMappingIndex(Comparator<StubMapping> ordering) {
+        this.ordering = ordering;
+        this.urlRegexTrie = new PathSegmentTrie(ordering);
+        this.pathRegexTrie = new PathSegmentTrie(ordering);
+        this.urlRegexFactors = new LiteralFactorIndex(ordering);
+        this.pathRegexFactors = new LiteralFactorIndex(ordering);
+        this.unindexed = SortedMappingArray.empty(ordering);
+    }
+
+    private StubMappingIndex(StubMappingIndex original) {
+        this.ordering = original.ordering;
+        this.urlBuckets = original.urlBuckets;
+        this.pathBuckets = original.pathBuckets;
+        this.urlRegexTrie = original.urlRegexTrie.copy();
+        this.pathRegexTrie = original.pathRegexTrie.copy();
+        this.urlRegexFactors = original.urlRegexFactors.copy();
+        this.pathRegexFactors = original.pathRegexFactors.copy();
+        this.unindexed = original.unindexed;
+    }
+
+    /**
+     * Returns an index holding the same mappings that can be changed without affecting this one.
+     * Buckets and the maps holding them are immutable, so they're shared rather than copied.
+     */
+    public synchronized StubMappingIndex copy() {
+        return new StubMappingIndex(this);
+    }
+
+    public synchronized void add(StubMapping mapping) {
+        if (isBucketed(mapping)) {
+            String key = keyFor(mapping);
+            if (isPathPattern(mapping)) {
+                pathBuckets = pathBuckets.plus(key, bucketFor(pathBuckets, key).withAdded(mapping));
+            } else {
+                urlBuckets = urlBuckets.plus(key, bucketFor(urlBuckets, key).withAdded(mapping));
+            }
+            return;
+        }
+
+        PathSegmentTrie trie = trieFor(mapping);
+        if (trie != null) {
+            trie.add(literalLeadingSegmentsFor(mapping), mapping);
+            return;
+        }
+
+        LiteralFactorIndex factors = factorIndexFor(mapping);
+        if (factors != null) {
+            factors.add(requiredLiteralFor(mapping), mapping);
+            return;
+        }
+
+        unindexed = unindexed.withAdded(mapping);
+    }
+
+    /**
+     * Sorts each bucket once rather than once per mapping, for loading a large batch of mappings.
+     */
+    public synchronized void addAll(Collection<StubMapping> mappings) {
+        ListMultimap<String, StubMapping> urlGroups = ArrayListMultimap.create();
+        ListMultimap<String, StubMapping> pathGroups = ArrayListMultimap.create();
+        ListMultimap<List<String>, StubMapping> urlTrieGroups = ArrayListMultimap.create();
+        ListMultimap<List<String>, StubMapping> pathTrieGroups = ArrayListMultimap.create();
+        ListMultimap<String, StubMapping> urlFactorGroups = ArrayListMultimap.create();
+        ListMultimap<String, StubMapping> pathFactorGroups = ArrayListMultimap.create();
+        List<StubMapping> unindexedGroup = new ArrayList<>();
+
+        for (StubMapping mapping: mappings) {
+            boolean bucketed = isBucketed(mapping);
+            PathSegmentTrie trie = !bucketed ? trieFor(mapping) : null;
+            LiteralFactorIndex factors = !bucketed && trie == null ? factorIndexFor(mapping) : null;
+            if (bucketed) {
+                (isPathPattern(mapping) ? pathGroups : urlGroups).put(keyFor(mapping), mapping);
+            } else if (trie != null) {
+                (trie == urlRegexTrie ? urlTrieGroups : pathTrieGroups).put(literalLeadingSegmentsFor(mapping), mapping);
+            } else if (factors != null) {
+                (factors == urlRegexFactors ? urlFactorGroups : pathFactorGroups).put(requiredLiteralFor(mapping), mapping);
+            } else {
+                unindexedGroup.add(mapping);
+            }
+        }
+
+        urlBuckets = withAddedAll(urlBuckets, urlGroups);
+        pathBuckets = withAddedAll(pathBuckets, pathGroups);
+        for (Map.Entry<List<String>, Collection<StubMapping>> group: urlTrieGroups.asMap().entrySet()) {
+            urlRegexTrie.addAll(group.getKey(), group.getValue());
+        }
+        for (Map.Entry<List<String>, Collection<StubMapping>> group: pathTrieGroups.asMap().entrySet()) {
+            pathRegexTrie.addAll(group.getKey(), group.getValue());
+        }
+        for (Map.Entry<String, Collection<StubMapping>> group: urlFactorGroups.asMap().entrySet()) {
+            urlRegexFactors.addAll(group.getKey(), group.getValue());
+        }
+        for (Map.Entry<String, Collection<StubMapping>> group: pathFactorGroups.asMap().entrySet()) {
+            pathRegexFactors.addAll(group.getKey(), group.getValue());
+        }
+        unindexed = unindexed.withAddedAll(unindexedGroup);
+    }
+
+    private PersistentHashMap<String, SortedMappingArray> withAddedAll(PersistentHashMap<String, SortedMappingArray> buckets,
+                                                                        ListMultimap<String, StubMapping> groups) {
+        for (Map.Entry<String, Collection<StubMapping>> group: groups.asMap().entrySet()) {
+            buckets = buckets.plus(group.getKey(), bucketFor(buckets, group.getKey()).withAddedAll(group.getValue()));
+        }
+        return buckets;
+    }
+
+    private SortedMappingArray bucketFor(PersistentHashMap<String, SortedMappingArray> buckets, String key) {
+        SortedMappingArray bucket = buckets.get(key);
+        return bucket != null ? bucket : SortedMappingArray.empty(ordering);
+    }
+
+    private static PersistentHashMap<String, SortedMappingArray> without(PersistentHashMap<String, SortedMappingArray> buckets,
+                                                                        String key,
+                                                                        StubMapping mapping) {
+        SortedMappingArray bucket = buckets.get(key);
+        if (bucket == null) {
+            return buckets;
+        }
+
+        bucket = bucket.without(mapping);
+        return bucket.isEmpty() ? buckets.minus(key) : buckets.plus(key, bucket);
+    }
+
+    public synchronized void remove(StubMapping mapping) {
+        if (isBucketed(mapping)) {
+            String key = keyFor(mapping);
+            if (isPathPattern(mapping)) {
+                pathBuckets = without(pathBuckets, key, mapping);
+            } else {
+                urlBuckets = without(urlBuckets, key, mapping);
+            }
+            return;
+        }
+
+        PathSegmentTrie trie = trieFor(mapping);
+        if (trie != null) {
+            trie.remove(literalLeadingSegmentsFor(mapping), mapping);
+            return;
+        }
+
+        LiteralFactorIndex factors = factorIndexFor(mapping);
+        if (factors != null) {
+            factors.remove(requiredLiteralFor(mapping), mapping);
+            return;
+        }
+
+        unindexed = unindexed.without(mapping);
+    }
+
+    public synchronized void clear() {
+        urlBuckets = PersistentHashMap.empty();
+        pathBuckets = PersistentHashMap.empty();
+        urlRegexTrie.clear();
+        pathRegexTrie.clear();
+        urlRegexFactors.clear();
+        pathRegexFactors.clear();
+        unindexed = SortedMappingArray.empty(ordering);
+    }
+
+    public Iterable<StubMapping> findCandidatesFor(Request request) {
+        List<Iterable<StubMapping>> sources = new ArrayList<>();
+        RequestMethod method = request.getMethod();
+        String url = request.getUrl();
+
+        if (url != null) {
+            addBuckets(sources, urlBuckets, method, url);
+            urlRegexTrie.collectCandidates(url, sources);
+            urlRegexFactors.collectCandidates(url, sources);
+
+            String path = pathOf(url);
+            if (path != null) {
+                addBuckets(sources, pathBuckets, method, path);
+                pathRegexTrie.collectCandidates(path, sources);
+                pathRegexFactors.collectCandidates(path, sources);
+            }
+        }
+
+        SortedMappingArray unindexed = this.unindexed;
+        if (sources.isEmpty()) {
+            return unindexed;
+        }
+
+        sources.add(unindexed);
+        return Iterables.mergeSorted(sources, ordering);
+    }
+
+    private static void addBuckets(List<Iterable<StubMapping>> sources,
+                                   PersistentHashMap<String, SortedMappingArray> buckets,
+                                   RequestMethod method,
+                                   String value) {
+        addIfPresent(sources, buckets.get(key(method, value)));
+        if (!ANY.equals(method)) {
+            addIfPresent(sources, buckets.get(key(ANY, value)));
+        }
+    }
+
+    private static void addIfPresent(List<Iterable<StubMapping>> sources, SortedMappingArray bucket) {
+        if (bucket != null) {
+            sources.add(bucket);
+        }
+    }
+
+    private static boolean isBucketed(StubMapping mapping) {
+        UrlPattern urlPattern = indexableUrlPatternOf(mapping);
+        return urlPattern != null && !urlPattern.isRegex() && isCaseSensitiveEqualTo(urlPattern.getPattern());
+    }
+
+    private static boolean isPathPattern(StubMapping mapping) {
+        return mapping.getRequest().getUrlMatcher().getClass() == UrlPathPattern.class;
+    }
+
+    private PathSegmentTrie trieFor(StubMapping mapping) {
+        UrlPattern urlPattern = indexableUrlPatternOf(mapping);
+        if (urlPattern == null ||
+            !urlPattern.isRegex() ||
+            urlPattern.getPattern().getClass() != RegexPattern.class ||
+            literalLeadingSegmentsFor(mapping).isEmpty()) {
+            return null;
+        }
+
+        return urlPattern.getClass() == UrlPathPattern.class ? pathRegexTrie : urlRegexTrie;
+    }
+
+    private LiteralFactorIndex factorIndexFor(StubMapping mapping) {
+        UrlPattern urlPattern = indexableUrlPatternOf(mapping);
+        if (urlPattern == null ||
+            !urlPattern.isRegex() ||
+            urlPattern.getPattern().getClass() != RegexPattern.class ||
+            requiredLiteralFor(mapping) == null) {
+            return null;
+        }
+
+        return urlPattern.getClass() == UrlPathPattern.class ? pathRegexFactors : urlRegexFactors;
+    }
+
+    private static UrlPattern indexableUrlPatternOf(StubMapping mapping) {
+        RequestPattern requestPattern = mapping.getRequest();
+        UrlPattern urlPattern = requestPattern.getUrlMatcher();
+        if (requestPattern.hasCustomMatcher() ||
+            requestPattern.getCustomMatcher() != null ||
+            urlPattern == null) {
+            return null;
+        }
+
+        Class<?> urlPatternClass = urlPattern.getClass();
+        return urlPatternClass == UrlPattern.class || urlPatternClass == UrlPathPattern.class ? urlPattern : null;
+    }
+
+    private static List<String> literalLeadingSegmentsFor(StubMapping mapping) {
+        return PathSegmentTrie.literalLeadingSegmentsOf(mapping.getRequest().getUrlMatcher().getPattern().getValue());
+    }
+
+    private static String requiredLiteralFor(StubMapping mapping) {
+        return LiteralFactorIndex.requiredLiteralOf(mapping.getRequest().getUrlMatcher().getPattern().getValue());
+    }
+
+    private static boolean isCaseSensitiveEqualTo(StringValuePattern pattern) {
+        if (pattern.getClass() != EqualToPattern.class) {
+            return false;
+        }
+
+        Boolean caseInsensitive = ((EqualToPattern) pattern).getCaseInsensitive();
+        return pattern.getValue() != null && (caseInsensitive == null || !caseInsensitive);
+    }
+
+    private static String keyFor(StubMapping mapping) {
+        RequestPattern requestPattern = mapping.getRequest();
+        return key(requestPattern.getMethod(), requestPattern.getUrlMatcher().getPattern().getValue());
+    }
+
+    private static String key(RequestMethod method, String url) {
+        return method.getName() + ' ' + url;
+    }
+
+    private static String pathOf(String url) {
+        try {
+            return URI.create(url).getRawPath();
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
@@ -19,6 +19,7 @@ package com.github.tomakehurst.wiremock.stubbing;
 import com.github.tomakehurst.wiremock.http.Request;
 import com.google.common.base.Optional;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
@@ -27,6 +28,8 @@ public interface StubMappings {
 
 	ServeEvent serveFor(Request request);
 	void addMapping(StubMapping mapping);
+	void addMappings(Collection<StubMapping> mappings);
+	void replaceAllMappings(Collection<StubMapping> mappings);
 	void removeMapping(StubMapping mapping);
 	void editMapping(StubMapping stubMapping);
 	void reset();
@@ -36,4 +39,6 @@ public interface StubMappings {
 	Optional<StubMapping> get(UUID id);
 
 	List<Scenario> getAllScenarios();
+
+	StubMatchCacheStats getMatchCacheStats();
 }
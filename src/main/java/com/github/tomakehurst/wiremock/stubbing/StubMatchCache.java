@@ -0,0 +1,207 @@
+/*
+ * Copyright (C) 2011 Thomas Akehurst
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.tomakehurst.wiremock.stubbing;
+
+import com.github.tomakehurst.wiremock.http.Cookie;
+import com.github.tomakehurst.wiremock.http.HttpHeader;
+import com.github.tomakehurst.wiremock.http.Request;
+import com.github.tomakehurst.wiremock.matching.RequestPattern;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.Hashing;
+
+import java.util.Arrays;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.google.common.net.HttpHeaders.CONTENT_TYPE;
+import static java.lang.String.CASE_INSENSITIVE_ORDER;
+
+/**
+ * Remembers which stub mapping was selected for a request, keyed on a fingerprint of the parts of the
+ * request that any stub can match on: method, URL, the headers and cookies referenced by stubs and a
+ * hash of the body. Content-Type is always included, as multipart and body patterns depend on it.
+ *
+ * Each change to the stub mappings must be bracketed by {@link #stubsChanging()} and
+ * {@link #stubsChanged()}. Nothing is cached while a change is in progress and the generation current
+ * at any point during it is dropped at the end, so no match made against a partly changed set survives.
+ * Results that depended on a scenario-bound stub or a custom matcher must not be stored.
+ */
+public class StubMatchCache {
+
+    private final int maxSize;
+    private final Iterable<StubMapping> mappings;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicInteger changesInProgress = new AtomicInteger();
+
+    private volatile Generation generation = new Generation();
+
+    public StubMatchCache(int maxSize, Iterable<StubMapping> mappings) {
+        this.maxSize = maxSize;
+        this.mappings = mappings;
+    }
+
+    public static StubMatchCache disabled() {
+        return new StubMatchCache(0, null);
+    }
+
+    public boolean isEnabled() {
+        return maxSize > 0;
+    }
+
+    public Slot slotFor(Request request) {
+        if (!isEnabled() || changesInProgress.get() > 0) {
+            return null;
+        }
+
+        Generation current = generation;
+        current.initialiseIfNecessary(maxSize, mappings);
+        return new Slot(current, current.fingerprintOf(request));
+    }
+
+    public void stubsChanging() {
+        changesInProgress.incrementAndGet();
+        generation = new Generation();
+    }
+
+    public void stubsChanged() {
+        generation = new Generation();
+        changesInProgress.decrementAndGet();
+    }
+
+    public StubMatchCacheStats getStats() {
+        Cache<Fingerprint, StubMapping> cache = generation.cache;
+        return new StubMatchCacheStats(
+            maxSize,
+            cache != null ? cache.size() : 0,
+            hits.get(),
+            misses.get()
+        );
+    }
+
+    public class Slot {
+
+        private final Generation generation;
+        private final Fingerprint fingerprint;
+
+        private Slot(Generation generation, Fingerprint fingerprint) {
+            this.generation = generation;
+            this.fingerprint = fingerprint;
+        }
+
+        public StubMapping get() {
+            StubMapping mapping = generation.cache.getIfPresent(fingerprint);
+            if (mapping != null) {
+                hits.incrementAndGet();
+            } else {
+                misses.incrementAndGet();
+            }
+
+            return mapping;
+        }
+
+        public void put(StubMapping mapping) {
+            generation.cache.put(fingerprint, mapping);
+        }
+    }
+
+    /**
+     * The referenced header and cookie names are only collected when the generation is first used,
+     * after the change that replaced the previous generation has completed.
+     */
+    private static class Generation {
+
+        volatile Cache<Fingerprint, StubMapping> cache;
+        final Set<String> headerNames = new TreeSet<>(CASE_INSENSITIVE_ORDER);
+        final Set<String> cookieNames = new TreeSet<>();
+
+        Generation() {
+            headerNames.add(CONTENT_TYPE);
+        }
+
+        void initialiseIfNecessary(int maxSize, Iterable<StubMapping> mappings) {
+            if (cache == null) {
+                initialise(maxSize, mappings);
+            }
+        }
+
+        private synchronized void initialise(int maxSize, Iterable<StubMapping> mappings) {
+            if (cache != null) {
+                return;
+            }
+
+            for (StubMapping mapping: mappings) {
+                RequestPattern requestPattern = mapping.getRequest();
+                if (requestPattern.getHeaders() != null) {
+                    headerNames.addAll(requestPattern.getHeaders().keySet());
+                }
+                if (requestPattern.getBasicAuthCredentials() != null) {
+                    headerNames.add("Authorization");
+                }
+                if (requestPattern.getCookies() != null) {
+                    cookieNames.addAll(requestPattern.getCookies().keySet());
+                }
+            }
+
+            cache = CacheBuilder.newBuilder().maximumSize(maxSize).build();
+        }
+
+        Fingerprint fingerprintOf(Request request) {
+            Object[] parts = new Object[3 + headerNames.size() + cookieNames.size()];
+            int i = 0;
+            parts[i++] = request.getMethod();
+            parts[i++] = request.getUrl();
+            byte[] body = request.getBody();
+            parts[i++] = body != null ? Hashing.murmur3_128().hashBytes(body) : null;
+
+            for (String name: headerNames) {
+                HttpHeader header = request.header(name);
+                parts[i++] = header.isPresent() ? header.values() : null;
+            }
+
+            for (String name: cookieNames) {
+                Cookie cookie = request.getCookies().get(name);
+                parts[i++] = cookie != null && cookie.isPresent() ? cookie.values() : null;
+            }
+
+            return new Fingerprint(parts);
+        }
+    }
+
+    private static class Fingerprint {
+
+        private final Object[] parts;
+        private final int hashCode;
+
+        Fingerprint(Object[] parts) {
+            this.parts = parts;
+            this.hashCode = Arrays.hashCode(parts);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return this == o || (o instanceof Fingerprint && Arrays.equals(parts, ((Fingerprint) o).parts));
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright (C) 2011 Thomas Akehurst
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.tomakehurst.wiremock.stubbing;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+public class StubMatchCacheStats {
+
+    private final int maxSize;
+    private final long size;
+    private final long hits;
+    private final long misses;
+
+    @JsonCreator
+    public StubMatchCacheStats(@JsonProperty("maxSize") int maxSize,
+                               @JsonProperty("size") long size,
+                               @JsonProperty("hits") long hits,
+                               @JsonProperty("misses") long misses) {
+        this.maxSize = maxSize;
+        this.size = size;
+        this.hits = hits;
+        this.misses = misses;
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    public long getMisses() {
+        return misses;
+    }
+}
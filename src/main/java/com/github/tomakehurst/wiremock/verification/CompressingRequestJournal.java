@@ -0,0 +1,81 @@
+/*
+ * Copyright (C) 2011 Thomas Akehurst
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.tomakehurst.wiremock.verification;
+
+import com.github.tomakehurst.wiremock.matching.RequestPattern;
+import com.github.tomakehurst.wiremock.stubbing.ServeEvent;
+import com.google.common.base.Optional;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Compresses large bodies on the way into another journal. Events are recorded straight away, while
+ * the compression itself is left to {@link JournalBodyCompression}'s background executor so it
+ * doesn't hold up the response. Bodies are only decompressed when something reads them, e.g. body
+ * matching during verification or serialisation for the admin API.
+ */
+public class CompressingRequestJournal implements RequestJournal {
+
+    private final RequestJournal delegate;
+    private final JournalBodyCompression compression;
+
+    public CompressingRequestJournal(RequestJournal delegate, JournalBodyCompression compression) {
+        this.delegate = delegate;
+        this.compression = compression;
+    }
+
+    @Override
+    public int countRequestsMatching(RequestPattern requestPattern) {
+        return delegate.countRequestsMatching(requestPattern);
+    }
+
+    @Override
+    public List<LoggedRequest> getRequestsMatching(RequestPattern requestPattern) {
+        return delegate.getRequestsMatching(requestPattern);
+    }
+
+    @Override
+    public List<ServeEvent> getAllServeEvents() {
+        return delegate.getAllServeEvents();
+    }
+
+    @Override
+    public Optional<ServeEvent> getServeEvent(UUID id) {
+        return delegate.getServeEvent(id);
+    }
+
+    @Override
+    public List<ServeEvent> getServeEventsForStubMapping(UUID stubMappingId) {
+        return delegate.getServeEventsForStubMapping(stubMappingId);
+    }
+
+    @Override
+    public List<JournalEntry> getEntriesAfter(long sequence, int limit) {
+        return delegate.getEntriesAfter(sequence, limit);
+    }
+
+    @Override
+    public void reset() {
+        delegate.reset();
+        compression.reset();
+    }
+
+    @Override
+    public void requestReceived(ServeEvent serveEvent) {
+        delegate.requestReceived(compression.compress(serveEvent));
+    }
+}
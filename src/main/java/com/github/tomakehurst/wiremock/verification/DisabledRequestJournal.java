@@ -44,6 +44,16 @@ public class DisabledRequestJournal implements RequestJournal {
         throw new RequestJournalDisabledException();
     }
 
+    @Override
+    public List<ServeEvent> getServeEventsForStubMapping(UUID stubMappingId) {
+        throw new RequestJournalDisabledException();
+    }
+
+    @Override
+    public List<JournalEntry> getEntriesAfter(long sequence, int limit) {
+        throw new RequestJournalDisabledException();
+    }
+
     @Override
     public void reset() {
     }
@@ -15,27 +15,30 @@
  */
 package com.github.tomakehurst.wiremock.verification;
 
-import com.github.tomakehurst.wiremock.http.Request;
-import com.github.tomakehurst.wiremock.matching.RequestMatcherExtension;
 import com.github.tomakehurst.wiremock.matching.RequestPattern;
 import com.github.tomakehurst.wiremock.stubbing.ServeEvent;
-import com.google.common.base.Function;
 import com.google.common.base.Optional;
 import com.google.common.base.Predicate;
 import com.google.common.collect.ImmutableList;
 
-import java.util.Collections;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Queue;
+import java.util.Map;
+import java.util.NavigableMap;
 import java.util.UUID;
-import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 import static com.github.tomakehurst.wiremock.matching.RequestPattern.thatMatch;
 import static com.google.common.collect.Iterables.*;
 
 public class InMemoryRequestJournal implements RequestJournal {
 
-	private final Queue<ServeEvent> serveEvents = new ConcurrentLinkedQueue<ServeEvent>();
+	private final ConcurrentSkipListMap<Long, ServeEvent> entries = new ConcurrentSkipListMap<>();
+	private final RequestJournalIndex index = new RequestJournalIndex();
+	private final AtomicLong nextSequence = new AtomicLong();
+	private volatile long firstSequence = 0;
+	private final AtomicLong evictedBefore = new AtomicLong();
 
 	private final Optional<Integer> maxEntries;
 
@@ -48,36 +51,37 @@ public class InMemoryRequestJournal implements RequestJournal {
 
 	@Override
 	public int countRequestsMatching(RequestPattern requestPattern) {
-		return size(filter(getRequests(), thatMatch(requestPattern)));
+		return size(filter(getRequestsThatMightMatch(requestPattern), thatMatch(requestPattern)));
 	}
 
 	@Override
 	public List<LoggedRequest> getRequestsMatching(RequestPattern requestPattern) {
-		return ImmutableList.copyOf(filter(getRequests(), thatMatch(requestPattern)));
-	}
-
-    private Predicate<Request> matchedBy(final RequestPattern requestPattern) {
-		return new Predicate<Request>() {
-			public boolean apply(Request input) {
-				return requestPattern.isMatchedBy(input, Collections.<String, RequestMatcherExtension>emptyMap());
-			}
-		};
+		return ImmutableList.copyOf(filter(getRequestsThatMightMatch(requestPattern), thatMatch(requestPattern)));
 	}
 
 	@Override
 	public void requestReceived(ServeEvent serveEvent) {
-		serveEvents.add(serveEvent);
+		record(reserveSequence(), serveEvent);
+	}
+
+	long reserveSequence() {
+		return nextSequence.getAndIncrement();
+	}
+
+	void record(long sequence, ServeEvent serveEvent) {
+		index.add(sequence, serveEvent);
+		entries.put(sequence, serveEvent);
         removeOldEntries();
 	}
 
     @Override
     public List<ServeEvent> getAllServeEvents() {
-        return ImmutableList.copyOf(serveEvents).reverse();
+        return snapshot().reverse();
     }
 
 	@Override
 	public Optional<ServeEvent> getServeEvent(final UUID id) {
-		return tryFind(serveEvents, new Predicate<ServeEvent>() {
+		return tryFind(getAllServeEvents(), new Predicate<ServeEvent>() {
 			@Override
 			public boolean apply(ServeEvent input) {
 				return input.getId().equals(id);
@@ -86,24 +90,74 @@ public class InMemoryRequestJournal implements RequestJournal {
 	}
 
 	@Override
-	public void reset() {
-		serveEvents.clear();
+	public List<ServeEvent> getServeEventsForStubMapping(UUID stubMappingId) {
+		return ImmutableList.copyOf(current(index.findServedBy(stubMappingId)).descendingMap().values());
 	}
 
-	private Iterable<LoggedRequest> getRequests() {
-		return transform(serveEvents, new Function<ServeEvent, LoggedRequest>() {
-			public LoggedRequest apply(ServeEvent input) {
-				return input.getRequest();
+	/**
+	 * Entries can be recorded slightly out of sequence order by concurrent requests, so the result is cut
+	 * short at the first gap, including one straight after the cursor. The missing entry is still being
+	 * recorded and will be returned, along with everything after it, by the next call. Only entries that
+	 * have already been evicted or reset are skipped.
+	 */
+	@Override
+	public List<JournalEntry> getEntriesAfter(long sequence, int limit) {
+		long expected = Math.max(sequence + 1, Math.max(firstSequence, evictedBefore.get()));
+		List<JournalEntry> found = new ArrayList<>();
+		for (Map.Entry<Long, ServeEvent> entry: entries.tailMap(sequence, false).entrySet()) {
+			long entrySequence = entry.getKey();
+			if (found.size() >= limit || entrySequence > expected) {
+				break;
 			}
-		});
+
+			found.add(new JournalEntry(entrySequence, entry.getValue()));
+			expected = entrySequence + 1;
+		}
+		return ImmutableList.copyOf(found);
+	}
+
+	@Override
+	public void reset() {
+		firstSequence = nextSequence.get();
+		entries.clear();
+		index.clear();
+	}
+
+	private List<LoggedRequest> getRequestsThatMightMatch(RequestPattern requestPattern) {
+		NavigableMap<Long, ServeEvent> candidates = index.findCandidatesFor(requestPattern);
+		Iterable<ServeEvent> serveEvents = candidates != null ?
+			current(candidates).values() :
+			snapshot();
+
+		ImmutableList.Builder<LoggedRequest> requests = ImmutableList.builder();
+		for (ServeEvent serveEvent: serveEvents) {
+			requests.add(serveEvent.getRequest());
+		}
+		return requests.build();
+	}
+
+	private ImmutableList<ServeEvent> snapshot() {
+		return ImmutableList.copyOf(entries.values());
+	}
+
+	private NavigableMap<Long, ServeEvent> current(NavigableMap<Long, ServeEvent> indexed) {
+		return indexed.tailMap(firstSequence, true);
 	}
 
 	private void removeOldEntries() {
 		if (maxEntries.isPresent()) {
-			while (serveEvents.size() > maxEntries.get()) {
-				serveEvents.poll();
+			while (entries.size() > maxEntries.get()) {
+				Map.Entry<Long, ServeEvent> removed = entries.pollFirstEntry();
+				if (removed != null) {
+					index.remove(removed.getKey(), removed.getValue());
+					evictedThrough(removed.getKey());
+				}
 			}
 		}
 	}
 
+	private void evictedThrough(long sequence) {
+		long current;
+		while ((current = evictedBefore.get()) <= sequence && !evictedBefore.compareAndSet(current, sequence + 1)) {}
+	}
 }
@@ -0,0 +1,178 @@
+/*
+ * Copyright (C) 2011 Thomas Akehurst
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.tomakehurst.wiremock.verification;
+
+import com.github.tomakehurst.wiremock.common.BodyCodec;
+import com.github.tomakehurst.wiremock.common.CompressedBody;
+import com.github.tomakehurst.wiremock.http.LoggedResponse;
+import com.github.tomakehurst.wiremock.stubbing.ServeEvent;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import java.lang.ref.WeakReference;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * Compresses request and response bodies at or above a size threshold once they are stored in the
+ * request journal, and keeps running totals of how much space that has saved.
+ *
+ * The serving thread only wraps each large body so that it can be compressed in place; the deflation
+ * itself runs on a background executor, and until it does the journal holds the original bytes.
+ * The executor's queue is bounded and a body that doesn't fit is left uncompressed, as is one whose
+ * journal entry has been evicted and garbage collected before its turn came. Multipart part bodies
+ * aren't compressed, as they are logged as the parts the request supplied.
+ */
+public class JournalBodyCompression {
+
+    private static final int MAX_QUEUED_BODIES = 1000;
+
+    private final BodyCodec codec;
+    private final int thresholdBytes;
+    private final Executor suppliedExecutor;
+    private volatile ThreadPoolExecutor backgroundExecutor;
+
+    private final AtomicLong compressedBodies = new AtomicLong();
+    private final AtomicLong originalBytes = new AtomicLong();
+    private final AtomicLong compressedBytes = new AtomicLong();
+
+    public JournalBodyCompression(BodyCodec codec, int thresholdBytes) {
+        this(codec, thresholdBytes, null);
+    }
+
+    /**
+     * Compresses on the given executor instead of a background thread of its own, or on its own if null.
+     */
+    public JournalBodyCompression(BodyCodec codec, int thresholdBytes, Executor executor) {
+        this.codec = codec;
+        this.thresholdBytes = thresholdBytes;
+        this.suppliedExecutor = executor;
+    }
+
+    public static JournalBodyCompression disabled() {
+        return new JournalBodyCompression(null, 0, null);
+    }
+
+    private Executor executor() {
+        if (suppliedExecutor != null) {
+            return suppliedExecutor;
+        }
+
+        ThreadPoolExecutor current = backgroundExecutor;
+        return current != null ? current : startBackgroundExecutor();
+    }
+
+    private synchronized ThreadPoolExecutor startBackgroundExecutor() {
+        if (backgroundExecutor == null) {
+            backgroundExecutor = new ThreadPoolExecutor(
+                1, 1, 0, MILLISECONDS,
+                new ArrayBlockingQueue<Runnable>(MAX_QUEUED_BODIES),
+                new ThreadFactoryBuilder()
+                    .setNameFormat("journal-body-compression")
+                    .setDaemon(true)
+                    .build(),
+                new ThreadPoolExecutor.DiscardPolicy()
+            );
+        }
+
+        return backgroundExecutor;
+    }
+
+    /**
+     * Stops the background thread, if one has been started. Bodies still queued are left uncompressed,
+     * and the next body to compress starts a new thread.
+     */
+    public synchronized void shutdown() {
+        if (backgroundExecutor != null) {
+            backgroundExecutor.shutdownNow();
+            backgroundExecutor = null;
+        }
+    }
+
+    public boolean isEnabled() {
+        return codec != null;
+    }
+
+    public ServeEvent compress(ServeEvent serveEvent) {
+        if (!isEnabled()) {
+            return serveEvent;
+        }
+
+        LoggedRequest request = serveEvent.getRequest();
+        CompressedBody requestBody = compressLater(request.getBody());
+        LoggedResponse response = serveEvent.getResponse();
+        CompressedBody responseBody = response != null && !response.isBodyStreamed() ? compressLater(response.getBody()) : null;
+        if (requestBody == null && responseBody == null) {
+            return serveEvent;
+        }
+
+        return new ServeEvent(
+            serveEvent.getId(),
+            requestBody != null ? request.withCompressedBody(requestBody) : request,
+            serveEvent.getStubMapping(),
+            serveEvent.getResponseDefinition(),
+            responseBody != null ? response.withCompressedBody(responseBody) : response,
+            false
+        );
+    }
+
+    private CompressedBody compressLater(byte[] body) {
+        if (body == null || body.length < thresholdBytes) {
+            return null;
+        }
+
+        CompressedBody compressedBody = CompressedBody.uncompressed(body);
+        final WeakReference<CompressedBody> journalled = new WeakReference<>(compressedBody);
+        executor().execute(new Runnable() {
+            @Override
+            public void run() {
+                CompressedBody compressedBody = journalled.get();
+                if (compressedBody != null && compressedBody.compressWith(codec)) {
+                    compressedBodies.incrementAndGet();
+                    originalBytes.addAndGet(compressedBody.getOriginalLength());
+                    compressedBytes.addAndGet(compressedBody.getCompressedLength());
+                }
+            }
+        });
+        return compressedBody;
+    }
+
+    public void reset() {
+        compressedBodies.set(0);
+        originalBytes.set(0);
+        compressedBytes.set(0);
+    }
+
+    public JournalCompressionStats getStats() {
+        if (!isEnabled()) {
+            return JournalCompressionStats.disabled();
+        }
+
+        long original = originalBytes.get();
+        long compressed = compressedBytes.get();
+        return new JournalCompressionStats(
+            codec.getName(),
+            thresholdBytes,
+            compressedBodies.get(),
+            original,
+            compressed,
+            original == 0 ? 1.0 : (double) original / compressed
+        );
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright (C) 2011 Thomas Akehurst
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.tomakehurst.wiremock.verification;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+public class JournalCompressionStats {
+
+    private final String codec;
+    private final int thresholdBytes;
+    private final long compressedBodies;
+    private final long originalBytes;
+    private final long compressedBytes;
+    private final double compressionRatio;
+
+    @JsonCreator
+    public JournalCompressionStats(@JsonProperty("codec") String codec,
+                                   @JsonProperty("thresholdBytes") int thresholdBytes,
+                                   @JsonProperty("compressedBodies") long compressedBodies,
+                                   @JsonProperty("originalBytes") long originalBytes,
+                                   @JsonProperty("compressedBytes") long compressedBytes,
+                                   @JsonProperty("compressionRatio") double compressionRatio) {
+        this.codec = codec;
+        this.thresholdBytes = thresholdBytes;
+        this.compressedBodies = compressedBodies;
+        this.originalBytes = originalBytes;
+        this.compressedBytes = compressedBytes;
+        this.compressionRatio = compressionRatio;
+    }
+
+    public static JournalCompressionStats disabled() {
+        return new JournalCompressionStats(null, 0, 0, 0, 0, 1.0);
+    }
+
+    public String getCodec() {
+        return codec;
+    }
+
+    public int getThresholdBytes() {
+        return thresholdBytes;
+    }
+
+    public long getCompressedBodies() {
+        return compressedBodies;
+    }
+
+    public long getOriginalBytes() {
+        return originalBytes;
+    }
+
+    public long getCompressedBytes() {
+        return compressedBytes;
+    }
+
+    public double getCompressionRatio() {
+        return compressionRatio;
+    }
+}
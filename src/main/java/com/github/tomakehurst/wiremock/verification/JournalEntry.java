@@ -0,0 +1,70 @@
+/*
+ * Copyright (C) 2011 Thomas Akehurst
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.tomakehurst.wiremock.verification;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.github.tomakehurst.wiremock.stubbing.ServeEvent;
+
+/**
+ * A serve event together with the position it was recorded at in the request journal. The cursor is
+ * opaque to clients, who pass the cursor of the last entry they received to carry on from it.
+ */
+public class JournalEntry {
+
+    private final long sequence;
+    private final ServeEvent serveEvent;
+
+    public JournalEntry(long sequence, ServeEvent serveEvent) {
+        this.sequence = sequence;
+        this.serveEvent = serveEvent;
+    }
+
+    @JsonCreator
+    public JournalEntry(@JsonProperty("cursor") String cursor,
+                        @JsonProperty("serveEvent") ServeEvent serveEvent) {
+        this(sequenceOf(cursor), serveEvent);
+    }
+
+    /**
+     * @throws IllegalArgumentException if the cursor was not issued by the journal
+     */
+    public static long sequenceOf(String cursor) {
+        try {
+            long sequence = Long.parseLong(cursor);
+            if (sequence < 0) {
+                throw new IllegalArgumentException(cursor + " is not a valid journal cursor");
+            }
+            return sequence;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(cursor + " is not a valid journal cursor");
+        }
+    }
+
+    @JsonIgnore
+    public long getSequence() {
+        return sequence;
+    }
+
+    public String getCursor() {
+        return String.valueOf(sequence);
+    }
+
+    public ServeEvent getServeEvent() {
+        return serveEvent;
+    }
+}
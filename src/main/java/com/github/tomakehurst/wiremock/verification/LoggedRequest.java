@@ -19,6 +19,7 @@ import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.github.tomakehurst.wiremock.common.CompressedBody;
 import com.github.tomakehurst.wiremock.common.Dates;
 import com.github.tomakehurst.wiremock.common.Json;
 import com.github.tomakehurst.wiremock.http.*;
@@ -55,11 +56,21 @@ public class LoggedRequest implements Request {
     private final Map<String, Cookie> cookies;
     private final Map<String, QueryParameter> queryParams;
     private final byte[] body;
+    private final CompressedBody compressedBody;
     private final boolean isBrowserProxyRequest;
     private final Date loggedDate;
     private final Collection<Part> multiparts;
+    private final Request originalRequest;
 
+    /**
+     * Takes an immutable snapshot of the request. The body bytes are shared rather than copied, and a
+     * request that is already a snapshot is returned as it is.
+     */
     public static LoggedRequest createFrom(Request request) {
+        if (request instanceof LoggedRequest) {
+            return (LoggedRequest) request;
+        }
+
         return new LoggedRequest(request.getUrl(),
             request.getAbsoluteUrl(),
             request.getMethod(),
@@ -68,9 +79,10 @@ public class LoggedRequest implements Request {
             ImmutableMap.copyOf(request.getCookies()),
             request.isBrowserProxyRequest(),
             new Date(),
-            request.getBodyAsBase64(),
+            request.getBody(),
             null,
-            request.getParts()
+            request.getParts(),
+            request.getOriginalRequest().orNull()
         );
     }
 
@@ -87,17 +99,48 @@ public class LoggedRequest implements Request {
             @JsonProperty("bodyAsBase64") String bodyAsBase64,
             @JsonProperty("body") String ignoredBodyOnlyUsedForBinding,
             @JsonProperty("multiparts") Collection<Part> multiparts) {
+        this(url, absoluteUrl, method, clientIp, headers, cookies, isBrowserProxyRequest, loggedDate, decodeBase64(bodyAsBase64), null, multiparts, null);
+    }
+
+    private LoggedRequest(String url,
+                          String absoluteUrl,
+                          RequestMethod method,
+                          String clientIp,
+                          HttpHeaders headers,
+                          Map<String, Cookie> cookies,
+                          boolean isBrowserProxyRequest,
+                          Date loggedDate,
+                          byte[] body,
+                          CompressedBody compressedBody,
+                          Collection<Part> multiparts,
+                          Request originalRequest) {
         this.url = url;
         this.absoluteUrl = absoluteUrl;
         this.clientIp = clientIp;
         this.method = method;
-        this.body = decodeBase64(bodyAsBase64);
+        this.body = body;
+        this.compressedBody = compressedBody;
         this.headers = headers;
         this.cookies = cookies;
-        this.queryParams = splitQuery(URI.create(url));
+        this.queryParams = ImmutableMap.copyOf(splitQuery(URI.create(url)));
         this.isBrowserProxyRequest = isBrowserProxyRequest;
         this.loggedDate = loggedDate;
         this.multiparts = multiparts;
+        this.originalRequest = originalRequest;
+    }
+
+    /**
+     * Returns a copy of this request holding its body in compressed form. The body is decompressed
+     * each time it is read.
+     */
+    public LoggedRequest withCompressedBody(CompressedBody compressedBody) {
+        return new LoggedRequest(url, absoluteUrl, method, clientIp, headers, cookies, isBrowserProxyRequest,
+            loggedDate, null, compressedBody, multiparts, originalRequest);
+    }
+
+    @JsonIgnore
+    public boolean isBodyCompressed() {
+        return compressedBody != null && compressedBody.isCompressed();
     }
 
     @Override
@@ -164,19 +207,19 @@ public class LoggedRequest implements Request {
 
     @Override
     public byte[] getBody() {
-        return body;
+        return compressedBody != null ? compressedBody.decompress() : body;
     }
 
     @Override
     @JsonProperty("body")
     public String getBodyAsString() {
-        return stringFromBytes(body, encodingFromContentTypeHeaderOrUtf8());
+        return stringFromBytes(getBody(), encodingFromContentTypeHeaderOrUtf8());
     }
 
     @Override
     @JsonProperty("bodyAsBase64")
     public String getBodyAsBase64() {
-        return encodeBase64(body);
+        return encodeBase64(getBody());
     }
 
     @Override
@@ -207,7 +250,7 @@ public class LoggedRequest implements Request {
     @JsonIgnore
     @Override
     public Optional<Request> getOriginalRequest() {
-        return Optional.absent();
+        return Optional.fromNullable(originalRequest);
     }
 
     public Date getLoggedDate() {
@@ -0,0 +1,333 @@
+/*
+ * Copyright (C) 2011 Thomas Akehurst
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.tomakehurst.wiremock.verification;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.github.tomakehurst.wiremock.common.Json;
+import com.github.tomakehurst.wiremock.http.RequestMethod;
+import com.github.tomakehurst.wiremock.matching.RequestPattern;
+import com.github.tomakehurst.wiremock.stubbing.ServeEvent;
+import com.google.common.base.Optional;
+import com.google.common.collect.ImmutableList;
+
+import java.io.File;
+import java.io.FilenameFilter;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayDeque;
+import java.util.Date;
+import java.util.Deque;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+import static com.github.tomakehurst.wiremock.common.Exceptions.throwUnchecked;
+import static com.github.tomakehurst.wiremock.common.LocalNotifier.notifier;
+import static com.github.tomakehurst.wiremock.matching.RequestPattern.thatMatch;
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * A journal that writes serve events as JSON to a series of memory-mapped segment files, so that they
+ * live outside the heap. The heap holds only a small index entry per event (its location, timestamp,
+ * method, URL path and IDs), which lets most queries skip reading events that can't match.
+ *
+ * When there are more than the maximum number of segments, or the newest event in the oldest segment is
+ * older than the maximum age, the oldest segment is deleted along with its index entries. Both limits are
+ * checked as events are recorded. Any segment files left in the directory are deleted on startup.
+ */
+public class MappedRequestJournal implements RequestJournal {
+
+    static final String SEGMENT_SUFFIX = ".segment";
+
+    private static final int LENGTH_BYTES = 4;
+
+    private final File directory;
+    private final long segmentSize;
+    private final int maxSegments;
+    private final Optional<Long> maxAgeMillis;
+
+    private final ConcurrentSkipListMap<Long, IndexEntry> entries = new ConcurrentSkipListMap<>();
+    private final ConcurrentHashMap<UUID, IndexEntry> entriesById = new ConcurrentHashMap<>();
+    private final Deque<Segment> segments = new ArrayDeque<>();
+    private long nextSequence = 0;
+    private long nextSegmentNumber = 0;
+
+    public MappedRequestJournal(File directory, long segmentSize, int maxSegments, Optional<Long> maxAgeMillis) {
+        checkArgument(segmentSize > LENGTH_BYTES && segmentSize <= Integer.MAX_VALUE,
+            "Journal segments must be larger than " + LENGTH_BYTES + " bytes and no larger than 2GB");
+        checkArgument(maxSegments > 0, "The maximum number of journal segments must be greater than zero");
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.maxSegments = maxSegments;
+        this.maxAgeMillis = maxAgeMillis;
+
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IllegalStateException("Could not create journal directory " + directory.getAbsolutePath());
+        }
+        deleteSegmentFiles();
+    }
+
+    @Override
+    public int countRequestsMatching(RequestPattern requestPattern) {
+        return getRequestsMatching(requestPattern).size();
+    }
+
+    @Override
+    public List<LoggedRequest> getRequestsMatching(RequestPattern requestPattern) {
+        String path = RequestJournalIndex.literalPathOf(requestPattern);
+        RequestMethod method = RequestJournalIndex.literalMethodOf(requestPattern);
+
+        ImmutableList.Builder<LoggedRequest> requests = ImmutableList.builder();
+        for (IndexEntry entry: entries.values()) {
+            if ((path == null || path.equals(entry.path)) && (method == null || method.equals(entry.method))) {
+                LoggedRequest request = entry.read().getRequest();
+                if (thatMatch(requestPattern).apply(request)) {
+                    requests.add(request);
+                }
+            }
+        }
+
+        return requests.build();
+    }
+
+    @Override
+    public List<ServeEvent> getAllServeEvents() {
+        ImmutableList.Builder<ServeEvent> serveEvents = ImmutableList.builder();
+        for (IndexEntry entry: entries.descendingMap().values()) {
+            serveEvents.add(entry.read());
+        }
+        return serveEvents.build();
+    }
+
+    @Override
+    public Optional<ServeEvent> getServeEvent(UUID id) {
+        IndexEntry entry = entriesById.get(id);
+        return entry != null ? Optional.of(entry.read()) : Optional.<ServeEvent>absent();
+    }
+
+    @Override
+    public List<ServeEvent> getServeEventsForStubMapping(UUID stubMappingId) {
+        ImmutableList.Builder<ServeEvent> serveEvents = ImmutableList.builder();
+        for (IndexEntry entry: entries.descendingMap().values()) {
+            if (stubMappingId.equals(entry.stubMappingId)) {
+                serveEvents.add(entry.read());
+            }
+        }
+        return serveEvents.build();
+    }
+
+    @Override
+    public List<JournalEntry> getEntriesAfter(long sequence, int limit) {
+        ImmutableList.Builder<JournalEntry> journalEntries = ImmutableList.builder();
+        int count = 0;
+        for (IndexEntry entry: entries.tailMap(sequence, false).values()) {
+            if (count++ >= limit) {
+                break;
+            }
+            journalEntries.add(new JournalEntry(entry.sequence, entry.read()));
+        }
+        return journalEntries.build();
+    }
+
+    @Override
+    public synchronized void reset() {
+        while (!segments.isEmpty()) {
+            removeOldestSegment();
+        }
+    }
+
+    /**
+     * Serialises outside the lock, which is then only held to claim a slot and copy the record into it.
+     */
+    @Override
+    public void requestReceived(ServeEvent serveEvent) {
+        byte[] record = serialise(serveEvent);
+        long timestamp = timestampOf(serveEvent);
+
+        synchronized (this) {
+            Segment segment = segmentWithRoomFor(LENGTH_BYTES + record.length);
+            int offset = segment.append(record);
+
+            IndexEntry entry = new IndexEntry(nextSequence++, segment, offset, record.length, serveEvent);
+            segment.lastSequence = entry.sequence;
+            segment.newestTimestamp = Math.max(segment.newestTimestamp, timestamp);
+
+            entries.put(entry.sequence, entry);
+            entriesById.put(entry.id, entry);
+
+            removeExpiredSegments(System.currentTimeMillis());
+        }
+    }
+
+    private Segment segmentWithRoomFor(int length) {
+        Segment current = segments.peekLast();
+        if (current != null && current.remaining() >= length) {
+            return current;
+        }
+
+        File file = new File(directory, String.format("journal-%012d%s", nextSegmentNumber++, SEGMENT_SUFFIX));
+        Segment segment = new Segment(file, Math.max(segmentSize, length));
+        segments.addLast(segment);
+        while (segments.size() > maxSegments) {
+            removeOldestSegment();
+        }
+
+        return segment;
+    }
+
+    private void removeExpiredSegments(long now) {
+        if (!maxAgeMillis.isPresent()) {
+            return;
+        }
+
+        while (!segments.isEmpty() && segments.peekFirst().newestTimestamp < now - maxAgeMillis.get()) {
+            removeOldestSegment();
+        }
+    }
+
+    private void removeOldestSegment() {
+        Segment oldest = segments.removeFirst();
+        NavigableMap<Long, IndexEntry> removed = entries.headMap(oldest.lastSequence, true);
+        for (IndexEntry entry: removed.values()) {
+            entriesById.remove(entry.id);
+        }
+        removed.clear();
+        oldest.delete();
+    }
+
+    private void deleteSegmentFiles() {
+        File[] files = directory.listFiles(new FilenameFilter() {
+            @Override
+            public boolean accept(File dir, String name) {
+                return name.endsWith(SEGMENT_SUFFIX);
+            }
+        });
+
+        if (files != null) {
+            for (File file: files) {
+                if (!file.delete()) {
+                    notifier().error("Could not delete old journal segment " + file.getAbsolutePath());
+                }
+            }
+        }
+    }
+
+    private static long timestampOf(ServeEvent serveEvent) {
+        Date loggedDate = serveEvent.getRequest().getLoggedDate();
+        return loggedDate != null ? loggedDate.getTime() : System.currentTimeMillis();
+    }
+
+    private static byte[] serialise(ServeEvent serveEvent) {
+        ObjectMapper mapper = Json.getObjectMapper();
+        ObjectNode node = mapper.valueToTree(serveEvent);
+        node.remove("stubMapping");
+        if (serveEvent.getStubMapping() != null) {
+            node.set("mapping", mapper.valueToTree(serveEvent.getStubMapping()));
+        }
+
+        try {
+            return mapper.writeValueAsBytes(node);
+        } catch (IOException e) {
+            return throwUnchecked(e, byte[].class);
+        }
+    }
+
+    private static ServeEvent deserialise(byte[] record) {
+        try {
+            return Json.getObjectMapper().readValue(record, ServeEvent.class);
+        } catch (IOException e) {
+            return throwUnchecked(e, ServeEvent.class);
+        }
+    }
+
+    private static class Segment {
+
+        final File file;
+        final MappedByteBuffer buffer;
+        final ByteBuffer writer;
+        long lastSequence = -1;
+        long newestTimestamp = Long.MIN_VALUE;
+
+        Segment(File file, long size) {
+            this.file = file;
+            try (RandomAccessFile randomAccessFile = new RandomAccessFile(file, "rw");
+                 FileChannel channel = randomAccessFile.getChannel()) {
+                buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            } catch (IOException e) {
+                throw new IllegalStateException("Could not create journal segment " + file.getAbsolutePath(), e);
+            }
+            writer = buffer.duplicate();
+        }
+
+        int remaining() {
+            return writer.remaining();
+        }
+
+        int append(byte[] record) {
+            int offset = writer.position();
+            writer.putInt(record.length);
+            writer.put(record);
+            return offset;
+        }
+
+        byte[] read(int offset, int length) {
+            ByteBuffer reader = buffer.duplicate();
+            reader.position(offset + LENGTH_BYTES);
+            byte[] record = new byte[length];
+            reader.get(record);
+            return record;
+        }
+
+        void delete() {
+            if (!file.delete()) {
+                file.deleteOnExit();
+            }
+        }
+    }
+
+    private static class IndexEntry {
+
+        final long sequence;
+        final Segment segment;
+        final int offset;
+        final int length;
+        final UUID id;
+        final UUID stubMappingId;
+        final RequestMethod method;
+        final String path;
+
+        IndexEntry(long sequence, Segment segment, int offset, int length, ServeEvent serveEvent) {
+            this.sequence = sequence;
+            this.segment = segment;
+            this.offset = offset;
+            this.length = length;
+            this.id = serveEvent.getId();
+            this.stubMappingId = serveEvent.getStubMapping() != null ? serveEvent.getStubMapping().getId() : null;
+            this.method = serveEvent.getRequest().getMethod();
+            this.path = RequestJournalIndex.pathOf(serveEvent.getRequest().getUrl());
+        }
+
+        ServeEvent read() {
+            return deserialise(segment.read(offset, length));
+        }
+    }
+}
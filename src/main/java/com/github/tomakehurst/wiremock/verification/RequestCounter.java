@@ -0,0 +1,114 @@
+/*
+ * Copyright (C) 2011 Thomas Akehurst
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.tomakehurst.wiremock.verification;
+
+import com.github.tomakehurst.wiremock.http.Request;
+import com.github.tomakehurst.wiremock.matching.RequestMatcherExtension;
+
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Counts the requests matching a pattern as they arrive, along with how many arrived in each
+ * of the last few seconds, so that both the total and the recent rate can be read in constant time.
+ */
+public class RequestCounter {
+
+    private final RequestCounterSpec spec;
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicReferenceArray<Second> seconds;
+
+    public RequestCounter(RequestCounterSpec spec) {
+        this.spec = spec;
+        this.seconds = new AtomicReferenceArray<>(spec.getWindowSeconds());
+    }
+
+    public RequestCounterSpec getSpec() {
+        return spec;
+    }
+
+    public void requestReceived(Request request) {
+        requestReceived(request, System.currentTimeMillis());
+    }
+
+    void requestReceived(Request request, long nowMillis) {
+        if (spec.getRequest().isMatchedBy(request, Collections.<String, RequestMatcherExtension>emptyMap())) {
+            count.incrementAndGet();
+            Second second = secondOf(nowMillis / 1000);
+            if (second != null) {
+                second.count.incrementAndGet();
+            }
+        }
+    }
+
+    public RequestCounterStats getStats() {
+        return getStats(System.currentTimeMillis());
+    }
+
+    RequestCounterStats getStats(long nowMillis) {
+        long now = nowMillis / 1000;
+        long inWindow = 0;
+        for (int i = 0; i < seconds.length(); i++) {
+            Second second = seconds.get(i);
+            if (second != null && second.epochSecond > now - seconds.length() && second.epochSecond <= now) {
+                inWindow += second.count.get();
+            }
+        }
+
+        return new RequestCounterStats(spec.getName(), count.get(), spec.getWindowSeconds(), (double) inWindow / seconds.length());
+    }
+
+    public void reset() {
+        count.set(0);
+        for (int i = 0; i < seconds.length(); i++) {
+            seconds.set(i, null);
+        }
+    }
+
+    /**
+     * @return the bucket for the second, or null if its slot has already moved on to a later second,
+     * e.g. because the thread read the clock before stalling
+     */
+    private Second secondOf(long epochSecond) {
+        int slot = (int) (epochSecond % seconds.length());
+        while (true) {
+            Second current = seconds.get(slot);
+            if (current != null && current.epochSecond == epochSecond) {
+                return current;
+            }
+
+            if (current != null && current.epochSecond > epochSecond) {
+                return null;
+            }
+
+            Second next = new Second(epochSecond);
+            if (seconds.compareAndSet(slot, current, next)) {
+                return next;
+            }
+        }
+    }
+
+    private static class Second {
+
+        final long epochSecond;
+        final AtomicLong count = new AtomicLong();
+
+        Second(long epochSecond) {
+            this.epochSecond = epochSecond;
+        }
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright (C) 2011 Thomas Akehurst
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.tomakehurst.wiremock.verification;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.github.tomakehurst.wiremock.matching.RequestPattern;
+
+import static com.google.common.base.MoreObjects.firstNonNull;
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * Registers a named counter of the requests matching a pattern, whose rate is reported over
+ * a rolling window of the given number of seconds.
+ */
+public class RequestCounterSpec {
+
+    public static final int DEFAULT_WINDOW_SECONDS = 60;
+    public static final int MAX_WINDOW_SECONDS = 3600;
+
+    private final String name;
+    private final RequestPattern request;
+    private final int windowSeconds;
+
+    @JsonCreator
+    public RequestCounterSpec(@JsonProperty("name") String name,
+                              @JsonProperty("request") RequestPattern request,
+                              @JsonProperty("windowSeconds") Integer windowSeconds) {
+        checkArgument(name != null && !name.isEmpty(), "A request counter must have a name");
+        checkArgument(request != null, "A request counter must have a request pattern");
+        this.name = name;
+        this.request = request;
+        this.windowSeconds = firstNonNull(windowSeconds, DEFAULT_WINDOW_SECONDS);
+        checkArgument(this.windowSeconds > 0 && this.windowSeconds <= MAX_WINDOW_SECONDS,
+            "The window of a request counter must be between 1 and " + MAX_WINDOW_SECONDS + " seconds");
+    }
+
+    public RequestCounterSpec(String name, RequestPattern request) {
+        this(name, request, null);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public RequestPattern getRequest() {
+        return request;
+    }
+
+    public int getWindowSeconds() {
+        return windowSeconds;
+    }
+}
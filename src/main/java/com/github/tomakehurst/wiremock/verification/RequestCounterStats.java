@@ -0,0 +1,54 @@
+/*
+ * Copyright (C) 2011 Thomas Akehurst
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.tomakehurst.wiremock.verification;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+public class RequestCounterStats {
+
+    private final String name;
+    private final long count;
+    private final int windowSeconds;
+    private final double ratePerSecond;
+
+    @JsonCreator
+    public RequestCounterStats(@JsonProperty("name") String name,
+                               @JsonProperty("count") long count,
+                               @JsonProperty("windowSeconds") int windowSeconds,
+                               @JsonProperty("ratePerSecond") double ratePerSecond) {
+        this.name = name;
+        this.count = count;
+        this.windowSeconds = windowSeconds;
+        this.ratePerSecond = ratePerSecond;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public int getWindowSeconds() {
+        return windowSeconds;
+    }
+
+    public double getRatePerSecond() {
+        return ratePerSecond;
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright (C) 2011 Thomas Akehurst
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.tomakehurst.wiremock.verification;
+
+import com.github.tomakehurst.wiremock.http.Request;
+import com.google.common.base.Optional;
+import com.google.common.collect.ImmutableList;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The request counters registered with a server, which are updated as each request is served
+ * whether or not the request journal is enabled.
+ */
+public class RequestCounters {
+
+    private final ConcurrentHashMap<String, RequestCounter> counters = new ConcurrentHashMap<>();
+
+    public void register(RequestCounterSpec spec) {
+        counters.put(spec.getName(), new RequestCounter(spec));
+    }
+
+    public void requestReceived(Request request) {
+        for (RequestCounter counter: counters.values()) {
+            counter.requestReceived(request);
+        }
+    }
+
+    public Optional<RequestCounterStats> getStats(String name) {
+        RequestCounter counter = counters.get(name);
+        return counter != null ?
+            Optional.of(counter.getStats()) :
+            Optional.<RequestCounterStats>absent();
+    }
+
+    public List<RequestCounterStats> getAllStats() {
+        ImmutableList.Builder<RequestCounterStats> stats = ImmutableList.builder();
+        for (RequestCounter counter: counters.values()) {
+            stats.add(counter.getStats());
+        }
+        return stats.build();
+    }
+
+    public void reset() {
+        for (RequestCounter counter: counters.values()) {
+            counter.reset();
+        }
+    }
+}
@@ -29,6 +29,14 @@ public interface RequestJournal {
 
     List<ServeEvent> getAllServeEvents();
     Optional<ServeEvent> getServeEvent(UUID id);
+    List<ServeEvent> getServeEventsForStubMapping(UUID stubMappingId);
+
+    /**
+     * Returns up to limit entries recorded after the given sequence number, oldest first, so the journal
+     * can be read incrementally without taking a copy of all of it. Pass -1 to start from the oldest
+     * entry still held.
+     */
+    List<JournalEntry> getEntriesAfter(long sequence, int limit);
 
 	void reset();
 
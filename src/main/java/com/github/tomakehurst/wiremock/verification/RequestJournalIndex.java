@@ -0,0 +1,208 @@
+/*
+ * Copyright (C) 2011 Thomas Akehurst
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.tomakehurst.wiremock.verification;
+
+import com.github.tomakehurst.wiremock.http.RequestMethod;
+import com.github.tomakehurst.wiremock.matching.EqualToPattern;
+import com.github.tomakehurst.wiremock.matching.RequestPattern;
+import com.github.tomakehurst.wiremock.matching.StringValuePattern;
+import com.github.tomakehurst.wiremock.matching.UrlPathPattern;
+import com.github.tomakehurst.wiremock.matching.UrlPattern;
+import com.github.tomakehurst.wiremock.stubbing.ServeEvent;
+import com.github.tomakehurst.wiremock.stubbing.StubMapping;
+import com.google.common.collect.ImmutableSortedMap;
+
+import java.net.URI;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Indexes journal entries by request method, URL path and the UUID of the stub mapping that served
+ * them, each bucket ordered by the sequence number the journal assigned the entry. Verifying against
+ * a pattern with a literal URL or method then only has to match the entries in one bucket.
+ *
+ * Buckets are read, added to and removed from without locking, and dropped as soon as they empty so
+ * that unique paths and deleted stubs don't leave buckets behind. An addition that lands in a bucket
+ * as it's dropped is moved to the bucket that replaces it, so no concurrent addition is lost. A removal
+ * racing with that move can leave a stale entry behind, which the journals skip as they only return
+ * entries they still hold.
+ */
+public class RequestJournalIndex {
+
+    private static final NavigableMap<Long, ServeEvent> NO_ENTRIES = ImmutableSortedMap.of();
+
+    private final Buckets<RequestMethod> byMethod = new Buckets<>();
+    private final Buckets<String> byPath = new Buckets<>();
+    private final Buckets<UUID> byStubMappingId = new Buckets<>();
+
+    public void add(long sequence, ServeEvent serveEvent) {
+        byMethod.add(serveEvent.getRequest().getMethod(), sequence, serveEvent);
+        byPath.add(pathOf(serveEvent.getRequest().getUrl()), sequence, serveEvent);
+        byStubMappingId.add(stubMappingIdOf(serveEvent), sequence, serveEvent);
+    }
+
+    public void remove(long sequence, ServeEvent serveEvent) {
+        byMethod.remove(serveEvent.getRequest().getMethod(), sequence);
+        byPath.remove(pathOf(serveEvent.getRequest().getUrl()), sequence);
+        byStubMappingId.remove(stubMappingIdOf(serveEvent), sequence);
+    }
+
+    public void clear() {
+        byMethod.clear();
+        byPath.clear();
+        byStubMappingId.clear();
+    }
+
+    /**
+     * @return the entries that could match the pattern, keyed by sequence number, or null if
+     * the pattern specifies neither a literal URL nor a method and all entries must be checked
+     */
+    public NavigableMap<Long, ServeEvent> findCandidatesFor(RequestPattern requestPattern) {
+        String path = literalPathOf(requestPattern);
+        if (path != null) {
+            return byPath.get(path);
+        }
+
+        RequestMethod method = literalMethodOf(requestPattern);
+        if (method != null) {
+            return byMethod.get(method);
+        }
+
+        return null;
+    }
+
+    public NavigableMap<Long, ServeEvent> findServedBy(UUID stubMappingId) {
+        return byStubMappingId.get(stubMappingId);
+    }
+
+    int bucketCount() {
+        return byMethod.size() + byPath.size() + byStubMappingId.size();
+    }
+
+    private static UUID stubMappingIdOf(ServeEvent serveEvent) {
+        StubMapping stubMapping = serveEvent.getStubMapping();
+        return stubMapping != null ? stubMapping.getId() : null;
+    }
+
+    /**
+     * @return the URL path every request matching the pattern must have, or null if there isn't one
+     */
+    static String literalPathOf(RequestPattern requestPattern) {
+        return hasCustomMatcher(requestPattern) ? null : literalPathOf(requestPattern.getUrlMatcher());
+    }
+
+    /**
+     * @return the method every request matching the pattern must have, or null if there isn't one
+     */
+    static RequestMethod literalMethodOf(RequestPattern requestPattern) {
+        RequestMethod method = requestPattern.getMethod();
+        return hasCustomMatcher(requestPattern) || method == null || method.equals(RequestMethod.ANY) ? null : method;
+    }
+
+    private static boolean hasCustomMatcher(RequestPattern requestPattern) {
+        return requestPattern.hasCustomMatcher() || requestPattern.getCustomMatcher() != null;
+    }
+
+    private static String literalPathOf(UrlPattern urlPattern) {
+        if (urlPattern == null ||
+            urlPattern.isRegex() ||
+            !urlPattern.isSpecified() ||
+            (urlPattern.getClass() != UrlPattern.class && urlPattern.getClass() != UrlPathPattern.class)) {
+            return null;
+        }
+
+        StringValuePattern pattern = urlPattern.getPattern();
+        if (pattern.getClass() != EqualToPattern.class ||
+            Boolean.TRUE.equals(((EqualToPattern) pattern).getCaseInsensitive())) {
+            return null;
+        }
+
+        return pathOf(pattern.getValue());
+    }
+
+    static String pathOf(String url) {
+        try {
+            return url != null ? URI.create(url).getRawPath() : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static class Buckets<K> {
+
+        private final ConcurrentHashMap<K, ConcurrentSkipListMap<Long, ServeEvent>> buckets = new ConcurrentHashMap<>();
+
+        void add(K key, long sequence, ServeEvent serveEvent) {
+            if (key == null) {
+                return;
+            }
+
+            while (true) {
+                ConcurrentSkipListMap<Long, ServeEvent> bucket = buckets.get(key);
+                if (bucket == null) {
+                    ConcurrentSkipListMap<Long, ServeEvent> created = new ConcurrentSkipListMap<>();
+                    bucket = buckets.putIfAbsent(key, created);
+                    if (bucket == null) {
+                        bucket = created;
+                    }
+                }
+
+                bucket.put(sequence, serveEvent);
+                if (buckets.get(key) == bucket) {
+                    return;
+                }
+
+                // The bucket was dropped before the entry landed, so try again with its replacement
+                bucket.remove(sequence);
+            }
+        }
+
+        void remove(K key, long sequence) {
+            if (key == null) {
+                return;
+            }
+
+            ConcurrentSkipListMap<Long, ServeEvent> bucket = buckets.get(key);
+            if (bucket == null) {
+                return;
+            }
+
+            bucket.remove(sequence);
+            if (bucket.isEmpty() && buckets.remove(key, bucket)) {
+                // Move anything added between the emptiness check and the bucket being dropped
+                for (Map.Entry<Long, ServeEvent> added: bucket.entrySet()) {
+                    add(key, added.getKey(), added.getValue());
+                }
+            }
+        }
+
+        int size() {
+            return buckets.size();
+        }
+
+        void clear() {
+            buckets.clear();
+        }
+
+        NavigableMap<Long, ServeEvent> get(K key) {
+            NavigableMap<Long, ServeEvent> bucket = buckets.get(key);
+            return bucket != null ? bucket : NO_ENTRIES;
+        }
+    }
+}
@@ -0,0 +1,238 @@
+/*
+ * Copyright (C) 2011 Thomas Akehurst
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.tomakehurst.wiremock.verification;
+
+import com.github.tomakehurst.wiremock.matching.RequestPattern;
+import com.github.tomakehurst.wiremock.stubbing.ServeEvent;
+import com.google.common.base.Optional;
+import com.google.common.base.Predicate;
+import com.google.common.collect.ImmutableList;
+
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import static com.github.tomakehurst.wiremock.matching.RequestPattern.thatMatch;
+import static com.google.common.collect.Iterables.filter;
+import static com.google.common.collect.Iterables.size;
+import static com.google.common.collect.Iterables.tryFind;
+
+/**
+ * A fixed capacity journal for when a maximum number of entries is configured. Each request claims
+ * the next sequence number and writes to the slot it maps to, overwriting the oldest entry, so both
+ * recording and eviction are constant time and need no locking.
+ *
+ * Slots record the sequence number they were written for, which lets a snapshot skip any slot that
+ * has been overwritten, or claimed but not yet written, while it was being read. Entries are indexed
+ * before they are published to their slot and removed from the index by whichever request displaces
+ * them, so the index never holds more than one lap of the buffer.
+ */
+public class RingBufferRequestJournal implements RequestJournal {
+
+    private final int capacity;
+    private final AtomicReferenceArray<Entry> slots;
+    private final RequestJournalIndex index;
+    private final AtomicLong nextSequence = new AtomicLong();
+    private volatile long firstSequence = 0;
+
+    public RingBufferRequestJournal(int capacity) {
+        this(capacity, new RequestJournalIndex());
+    }
+
+    RingBufferRequestJournal(int capacity, RequestJournalIndex index) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity of a ring buffer journal must be greater than zero");
+        }
+        this.capacity = capacity;
+        this.slots = new AtomicReferenceArray<>(capacity);
+        this.index = index;
+    }
+
+    @Override
+    public int countRequestsMatching(RequestPattern requestPattern) {
+        return size(filter(getRequestsThatMightMatch(requestPattern), thatMatch(requestPattern)));
+    }
+
+    @Override
+    public List<LoggedRequest> getRequestsMatching(RequestPattern requestPattern) {
+        return ImmutableList.copyOf(filter(getRequestsThatMightMatch(requestPattern), thatMatch(requestPattern)));
+    }
+
+    @Override
+    public void requestReceived(ServeEvent serveEvent) {
+        Entry entry = new Entry(nextSequence.getAndIncrement(), serveEvent);
+        index.add(entry.sequence, serveEvent);
+
+        int slot = slotFor(entry.sequence);
+        while (true) {
+            Entry current = slots.get(slot);
+            if (current != null && current.sequence > entry.sequence) {
+                index.remove(entry.sequence, serveEvent);
+                return;
+            }
+
+            if (slots.compareAndSet(slot, current, entry)) {
+                if (current != null) {
+                    index.remove(current.sequence, current.serveEvent);
+                }
+                return;
+            }
+        }
+    }
+
+    @Override
+    public List<ServeEvent> getAllServeEvents() {
+        return snapshot().reverse();
+    }
+
+    @Override
+    public Optional<ServeEvent> getServeEvent(final UUID id) {
+        return tryFind(snapshot(), new Predicate<ServeEvent>() {
+            @Override
+            public boolean apply(ServeEvent input) {
+                return input.getId().equals(id);
+            }
+        });
+    }
+
+    @Override
+    public List<ServeEvent> getServeEventsForStubMapping(UUID stubMappingId) {
+        return retained(index.findServedBy(stubMappingId)).reverse();
+    }
+
+    /**
+     * Stops at the first slot that has been claimed but not yet written, so an entry still being
+     * recorded is never skipped over.
+     */
+    @Override
+    public List<JournalEntry> getEntriesAfter(long sequence, int limit) {
+        long end = nextSequence.get();
+        long start = Math.max(Math.max(firstSequence, end - capacity), sequence + 1);
+
+        ImmutableList.Builder<JournalEntry> entries = ImmutableList.builder();
+        int count = 0;
+        for (long next = start; next < end && count < limit; next++) {
+            Entry entry = slots.get(slotFor(next));
+            if (entry == null || entry.sequence < next) {
+                break;
+            }
+            if (entry.sequence == next) {
+                entries.add(new JournalEntry(entry.sequence, entry.serveEvent));
+                count++;
+            }
+        }
+
+        return entries.build();
+    }
+
+    /**
+     * Releases every entry recorded before the reset. Slots are only cleared if they still hold such
+     * an entry, so a request recorded concurrently is never lost, and any that were published before
+     * the index was cleared are indexed again.
+     */
+    @Override
+    public void reset() {
+        long end = nextSequence.get();
+        firstSequence = end;
+        index.clear();
+
+        for (int slot = 0; slot < capacity; slot++) {
+            Entry current = slots.get(slot);
+            if (current == null) {
+                continue;
+            }
+
+            if (current.sequence < end) {
+                slots.compareAndSet(slot, current, null);
+            } else {
+                index.add(current.sequence, current.serveEvent);
+            }
+        }
+    }
+
+    int occupiedSlots() {
+        int occupied = 0;
+        for (int slot = 0; slot < capacity; slot++) {
+            if (slots.get(slot) != null) {
+                occupied++;
+            }
+        }
+        return occupied;
+    }
+
+    private List<LoggedRequest> getRequestsThatMightMatch(RequestPattern requestPattern) {
+        NavigableMap<Long, ServeEvent> candidates = index.findCandidatesFor(requestPattern);
+        ImmutableList.Builder<LoggedRequest> requests = ImmutableList.builder();
+        for (ServeEvent serveEvent: candidates != null ? retained(candidates) : snapshot()) {
+            requests.add(serveEvent.getRequest());
+        }
+        return requests.build();
+    }
+
+    /**
+     * @return the retained events, oldest first
+     */
+    private ImmutableList<ServeEvent> snapshot() {
+        long end = nextSequence.get();
+        long start = Math.max(firstSequence, end - capacity);
+
+        ImmutableList.Builder<ServeEvent> events = ImmutableList.builder();
+        for (long sequence = start; sequence < end; sequence++) {
+            Entry entry = slots.get(slotFor(sequence));
+            if (entry != null && entry.sequence == sequence) {
+                events.add(entry.serveEvent);
+            }
+        }
+
+        return events.build();
+    }
+
+    /**
+     * @return the indexed events still retained by the buffer, oldest first
+     */
+    private ImmutableList<ServeEvent> retained(NavigableMap<Long, ServeEvent> indexed) {
+        long end = nextSequence.get();
+        long start = Math.max(firstSequence, end - capacity);
+
+        ImmutableList.Builder<ServeEvent> events = ImmutableList.builder();
+        for (Map.Entry<Long, ServeEvent> indexedEvent: indexed.subMap(start, true, end, false).entrySet()) {
+            Entry entry = slots.get(slotFor(indexedEvent.getKey()));
+            if (entry != null && entry.sequence == indexedEvent.getKey()) {
+                events.add(entry.serveEvent);
+            }
+        }
+
+        return events.build();
+    }
+
+    private int slotFor(long sequence) {
+        return (int) (sequence % capacity);
+    }
+
+    private static class Entry {
+
+        final long sequence;
+        final ServeEvent serveEvent;
+
+        Entry(long sequence, ServeEvent serveEvent) {
+            this.sequence = sequence;
+            this.serveEvent = serveEvent;
+        }
+    }
+}
@@ -24,6 +24,7 @@ import com.github.tomakehurst.wiremock.junit.Stubbing;
 import com.github.tomakehurst.wiremock.stubbing.ServeEvent;
 import com.github.tomakehurst.wiremock.stubbing.StubMapping;
 import com.github.tomakehurst.wiremock.testsupport.WireMockResponse;
+import com.github.tomakehurst.wiremock.verification.JournalEntry;
 import com.toomuchcoding.jsonassert.JsonAssertion;
 import com.toomuchcoding.jsonassert.JsonVerifiable;
 import org.apache.http.entity.StringEntity;
@@ -41,6 +42,7 @@ import java.util.UUID;
 import static com.github.tomakehurst.wiremock.client.WireMock.*;
 import static com.github.tomakehurst.wiremock.core.WireMockApp.FILES_ROOT;
 import static com.github.tomakehurst.wiremock.stubbing.Scenario.STARTED;
+import static com.github.tomakehurst.wiremock.stubbing.StubImport.stubImport;
 import static com.github.tomakehurst.wiremock.testsupport.WireMatchers.matches;
 import static com.github.tomakehurst.wiremock.testsupport.WireMatchers.equalsMultiLine;
 import static org.apache.http.entity.ContentType.TEXT_PLAIN;
@@ -397,6 +399,139 @@ public class AdminApiTest extends AcceptanceTestBase {
         assertThat(testClient.get("/stateful").content(), is("Initial"));
     }
 
+    @Test
+    public void getStubMatchCacheStatsWhenCacheDisabled() {
+        WireMockResponse response = testClient.get("/__admin/mappings/match-cache");
+
+        assertThat(response.statusCode(), is(200));
+        JsonAssertion.assertThat(response.content()).field("maxSize").isEqualTo(0);
+        JsonAssertion.assertThat(response.content()).field("hits").isEqualTo(0);
+    }
+
+    @Test
+    public void getBodyFileCacheStatsWhenCacheDisabled() {
+        WireMockResponse response = testClient.get("/__admin/files/cache");
+
+        assertThat(response.statusCode(), is(200));
+        JsonAssertion.assertThat(response.content()).field("maxBytes").isEqualTo(0);
+        JsonAssertion.assertThat(response.content()).field("entries").isEqualTo(0);
+    }
+
+    @Test
+    public void getCompressedResponseCacheStatsWhenCacheDisabled() {
+        WireMockResponse response = testClient.get("/__admin/mappings/compression-cache");
+
+        assertThat(response.statusCode(), is(200));
+        JsonAssertion.assertThat(response.content()).field("maxBytes").isEqualTo(0);
+        JsonAssertion.assertThat(response.content()).field("entries").isEqualTo(0);
+    }
+
+    @Test
+    public void getJournalCompressionStatsWhenCompressionDisabled() {
+        WireMockResponse response = testClient.get("/__admin/requests/compression");
+
+        assertThat(response.statusCode(), is(200));
+        JsonAssertion.assertThat(response.content()).field("compressedBodies").isEqualTo(0);
+        JsonAssertion.assertThat(response.content()).field("compressionRatio").isEqualTo(1.0);
+    }
+
+    @Test
+    public void streamsTheRequestJournalAsNdjsonFromACursor() {
+        testClient.get("/stream/1");
+        testClient.get("/stream/2");
+        testClient.get("/stream/3");
+
+        WireMockResponse response = testClient.get("/__admin/requests/stream?limit=2");
+
+        assertThat(response.statusCode(), is(200));
+        assertThat(response.firstHeader("Content-Type"), is("application/x-ndjson"));
+        String[] lines = response.content().split("\n");
+        assertThat(lines.length, is(2));
+        JsonAssertion.assertThat(lines[0]).field("serveEvent").field("request").field("url").isEqualTo("/stream/1");
+        JsonAssertion.assertThat(lines[1]).field("serveEvent").field("request").field("url").isEqualTo("/stream/2");
+
+        String cursor = Json.read(lines[1], JournalEntry.class).getCursor();
+        List<JournalEntry> remaining = getJournalEntriesAfter(cursor, 10);
+        assertThat(remaining.size(), is(1));
+        assertThat(remaining.get(0).getServeEvent().getRequest().getUrl(), is("/stream/3"));
+    }
+
+    @Test
+    public void returnsBadEntityWhenTheJournalCursorIsInvalid() {
+        WireMockResponse response = testClient.get("/__admin/requests/stream?cursor=not-a-cursor");
+
+        assertThat(response.statusCode(), is(422));
+    }
+
+    @Test
+    public void importsABatchOfStubMappings() {
+        dsl.stubFor(get(urlEqualTo("/existing")).willReturn(aResponse().withStatus(200)));
+
+        WireMockResponse response = testClient.postJson("/__admin/mappings/import",
+            "{                                                                      \n" +
+            "    \"mappings\": [                                                     \n" +
+            "        { \"request\": { \"url\": \"/one\" }, \"response\": { \"status\": 201 } }, \n" +
+            "        { \"request\": { \"url\": \"/two\" }, \"response\": { \"status\": 202 } }  \n" +
+            "    ]                                                                  \n" +
+            "}");
+
+        assertThat(response.statusCode(), is(200));
+        assertThat(testClient.get("/one").statusCode(), is(201));
+        assertThat(testClient.get("/two").statusCode(), is(202));
+        assertThat(testClient.get("/existing").statusCode(), is(200));
+    }
+
+    @Test
+    public void replacesAllExistingStubMappingsOnImportWhenRequested() {
+        StubMapping existing = dsl.stubFor(get(urlEqualTo("/existing")).willReturn(aResponse().withStatus(200)));
+
+        importStubs(stubImport()
+            .stub(get(urlEqualTo("/replacement")).willReturn(aResponse().withStatus(204)))
+            .replaceExisting());
+
+        assertThat(testClient.get("/replacement").statusCode(), is(204));
+        assertThat(testClient.get("/existing").statusCode(), is(404));
+        assertFalse(wireMockServer.getStubMapping(existing.getId()).isPresent());
+    }
+
+    @Test
+    public void importedStubMappingReplacesExistingStubWithTheSameId() {
+        StubMapping existing = dsl.stubFor(get(urlEqualTo("/things")).willReturn(aResponse().withStatus(200)));
+
+        importStubs(stubImport()
+            .stub(get(urlEqualTo("/things")).withId(existing.getId()).willReturn(aResponse().withStatus(418))));
+
+        assertThat(testClient.get("/things").statusCode(), is(418));
+        assertThat(wireMockServer.listAllStubMappings().getMappings().size(), is(1));
+    }
+
+    @Test
+    public void registersAndReadsRequestCounters() {
+        WireMockResponse response = testClient.postJson("/__admin/counters",
+            "{                                                   \n" +
+            "    \"name\": \"things\",                            \n" +
+            "    \"request\": { \"urlPath\": \"/things\" },       \n" +
+            "    \"windowSeconds\": 10                            \n" +
+            "}");
+        assertThat(response.statusCode(), is(201));
+
+        testClient.get("/things?one");
+        testClient.get("/things?two");
+        testClient.get("/other");
+
+        String counter = testClient.get("/__admin/counters/things").content();
+        JsonAssertion.assertThat(counter).field("count").isEqualTo(2);
+        JsonAssertion.assertThat(counter).field("windowSeconds").isEqualTo(10);
+
+        String counters = testClient.get("/__admin/counters").content();
+        JsonAssertion.assertThat(counters).field("counters").array().hasSize(1);
+
+        assertThat(testClient.get("/__admin/counters/unknown").statusCode(), is(404));
+
+        testClient.post("/__admin/counters/reset", new StringEntity("", TEXT_PLAIN));
+        assertThat(wireMockServer.getRequestCounter("things").getItem().getCount(), is(0L));
+    }
+
     @Test
     public void defaultsUnspecifiedStubMappingAttributes() {
         WireMockResponse response = testClient.postJson("/__admin/mappings", "{}");
@@ -0,0 +1,56 @@
+/*
+ * Copyright (C) 2011 Thomas Akehurst
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.tomakehurst.wiremock;
+
+import com.github.tomakehurst.wiremock.common.BodyFileCacheStats;
+import com.github.tomakehurst.wiremock.junit.WireMockRule;
+import com.github.tomakehurst.wiremock.testsupport.WireMockTestClient;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.options;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+public class BodyFileCacheAcceptanceTest {
+
+    @Rule
+    public WireMockRule wireMockRule = new WireMockRule(options().dynamicPort().bodyFileCacheSizeMb(1));
+
+    private WireMockTestClient testClient;
+
+    @Before
+    public void init() {
+        testClient = new WireMockTestClient(wireMockRule.port());
+    }
+
+    @Test
+    public void servesRepeatedBodyFileResponsesFromTheCache() {
+        stubFor(get("/cached-file").willReturn(aResponse().withBodyFile("plain-example.txt")));
+
+        String first = testClient.get("/cached-file").content();
+        String second = testClient.get("/cached-file").content();
+
+        assertThat(second, is(first));
+        BodyFileCacheStats stats = getBodyFileCacheStats();
+        assertThat(stats.getMaxBytes(), is(1024L * 1024L));
+        assertThat(stats.getEntries(), is(1L));
+        assertThat(stats.getHits(), is(1L));
+        assertThat(stats.getMisses(), is(1L));
+    }
+}
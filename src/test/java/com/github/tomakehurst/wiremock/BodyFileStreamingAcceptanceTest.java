@@ -0,0 +1,89 @@
+/*
+ * Copyright (C) 2011 Thomas Akehurst
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.tomakehurst.wiremock;
+
+import com.github.tomakehurst.wiremock.client.WireMock;
+import com.github.tomakehurst.wiremock.stubbing.ServeEvent;
+import com.github.tomakehurst.wiremock.testsupport.WireMockResponse;
+import com.github.tomakehurst.wiremock.testsupport.WireMockTestClient;
+import com.google.common.base.Strings;
+import com.google.common.io.Files;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.options;
+import static com.google.common.base.Charsets.UTF_8;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+public class BodyFileStreamingAcceptanceTest {
+
+    private static final String LARGE_BODY = Strings.repeat("0123456789", 100000);
+
+    private WireMockServer wireMockServer;
+    private WireMock wireMock;
+    private WireMockTestClient testClient;
+
+    @Before
+    public void init() throws Exception {
+        File rootDir = Files.createTempDir();
+        File filesDir = new File(rootDir, "__files");
+        filesDir.mkdirs();
+        Files.write(LARGE_BODY, new File(filesDir, "large.txt"), UTF_8);
+        Files.write("small", new File(filesDir, "small.txt"), UTF_8);
+
+        wireMockServer = new WireMockServer(options()
+            .dynamicPort()
+            .withRootDirectory(rootDir.getAbsolutePath())
+            .bodyFileStreamingThreshold(1024));
+        wireMockServer.start();
+        wireMock = new WireMock(wireMockServer.port());
+        testClient = new WireMockTestClient(wireMockServer.port());
+    }
+
+    @After
+    public void stopServer() {
+        wireMockServer.stop();
+    }
+
+    @Test
+    public void streamsBodyFilesOverTheThresholdFromDisk() {
+        wireMock.register(get("/large").willReturn(aResponse().withBodyFile("large.txt")));
+
+        WireMockResponse response = testClient.get("/large");
+
+        assertThat(response.statusCode(), is(200));
+        assertThat(response.firstHeader("Content-Length"), is(String.valueOf(LARGE_BODY.length())));
+        assertThat(response.content(), is(LARGE_BODY));
+
+        ServeEvent serveEvent = wireMock.getServeEvents().get(0);
+        assertThat(serveEvent.getResponse().isBodyStreamed(), is(true));
+        assertThat(serveEvent.getResponse().getBodyAsString(), is(""));
+    }
+
+    @Test
+    public void readsBodyFilesUnderTheThresholdIntoMemory() {
+        wireMock.register(get("/small").willReturn(aResponse().withBodyFile("small.txt")));
+
+        assertThat(testClient.get("/small").content(), is("small"));
+        assertThat(wireMockServer.getAllServeEvents().get(0).getResponse().isBodyStreamed(), is(false));
+    }
+}
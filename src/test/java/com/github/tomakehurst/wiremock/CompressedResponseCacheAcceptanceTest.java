@@ -0,0 +1,93 @@
+/*
+ * Copyright (C) 2011 Thomas Akehurst
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.tomakehurst.wiremock;
+
+import com.github.tomakehurst.wiremock.http.CompressedResponseCacheStats;
+import com.github.tomakehurst.wiremock.junit.WireMockRule;
+import com.github.tomakehurst.wiremock.testsupport.WireMockResponse;
+import com.github.tomakehurst.wiremock.testsupport.WireMockTestClient;
+import com.google.common.base.Strings;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static com.github.tomakehurst.wiremock.common.Gzip.unGzipToString;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.options;
+import static com.github.tomakehurst.wiremock.testsupport.TestHttpHeader.withHeader;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+public class CompressedResponseCacheAcceptanceTest {
+
+    private static final String BODY = Strings.repeat("{ \"things\": [1, 2, 3] }", 50);
+
+    @Rule
+    public WireMockRule wireMockRule = new WireMockRule(options().dynamicPort().compressedResponseCacheSizeMb(1));
+
+    private WireMockTestClient testClient;
+
+    @Before
+    public void init() {
+        testClient = new WireMockTestClient(wireMockRule.port());
+    }
+
+    @Test
+    public void servesStaticStubsGzippedFromTheCache() {
+        stubFor(get("/static").willReturn(aResponse().withStatus(200).withBody(BODY)));
+
+        WireMockResponse first = testClient.get("/static", withHeader("Accept-Encoding", "gzip"));
+        WireMockResponse second = testClient.get("/static", withHeader("Accept-Encoding", "gzip"));
+
+        assertThat(first.firstHeader("Content-Encoding"), is("gzip"));
+        assertThat(first.firstHeader("Vary"), is("Accept-Encoding"));
+        assertThat(unGzipToString(first.binaryContent()), is(BODY));
+        assertThat(unGzipToString(second.binaryContent()), is(BODY));
+
+        CompressedResponseCacheStats stats = getCompressedResponseCacheStats();
+        assertThat(stats.getMaxBytes(), is(1024L * 1024L));
+        assertThat(stats.getEntries(), is(1L));
+        assertThat(stats.getHits(), is(1L));
+        assertThat(stats.getMisses(), is(1L));
+        assertThat(stats.getOriginalBytes(), greaterThan(stats.getCompressedBytes()));
+    }
+
+    @Test
+    public void servesTheUncompressedBodyWhenCompressionIsNotAccepted() {
+        stubFor(get("/static").willReturn(aResponse().withStatus(200).withBody(BODY)));
+
+        WireMockResponse response = testClient.get("/static");
+
+        assertThat(response.content(), is(BODY));
+        assertThat(response.firstHeader("Vary"), is("Accept-Encoding"));
+        assertThat(getCompressedResponseCacheStats().getEntries(), is(0L));
+    }
+
+    @Test
+    public void replacesAnExplicitContentLengthWithThatOfTheEncodedBody() {
+        stubFor(get("/with-length").willReturn(aResponse()
+            .withStatus(200)
+            .withHeader("Content-Length", String.valueOf(BODY.length()))
+            .withBody(BODY)));
+
+        WireMockResponse response = testClient.get("/with-length", withHeader("Accept-Encoding", "gzip"));
+
+        assertThat(response.firstHeader("Content-Encoding"), is("gzip"));
+        assertThat(unGzipToString(response.binaryContent()), is(BODY));
+        assertThat(Integer.parseInt(response.firstHeader("Content-Length")), is(response.binaryContent().length));
+    }
+}
@@ -23,9 +23,12 @@ import com.github.tomakehurst.wiremock.http.Request;
 import com.github.tomakehurst.wiremock.junit.WireMockRule;
 import com.github.tomakehurst.wiremock.matching.*;
 import com.github.tomakehurst.wiremock.testsupport.WireMockTestClient;
+import com.github.tomakehurst.wiremock.verification.JournalCompressionStats;
 import com.github.tomakehurst.wiremock.verification.LoggedRequest;
 import com.github.tomakehurst.wiremock.verification.RequestJournalDisabledException;
 import com.google.common.base.Optional;
+import com.google.common.base.Strings;
+import com.google.common.io.Files;
 import org.apache.http.entity.StringEntity;
 import org.junit.Rule;
 import org.junit.Test;
@@ -33,6 +36,7 @@ import org.junit.experimental.runners.Enclosed;
 import org.junit.runner.RunWith;
 
 import java.util.List;
+import java.util.concurrent.Callable;
 
 import static com.github.tomakehurst.wiremock.client.WireMock.containing;
 import static com.github.tomakehurst.wiremock.client.WireMock.equalTo;
@@ -41,6 +45,7 @@ import static com.github.tomakehurst.wiremock.client.WireMock.equalToXml;
 import static com.github.tomakehurst.wiremock.client.WireMock.exactly;
 import static com.github.tomakehurst.wiremock.client.WireMock.findAll;
 import static com.github.tomakehurst.wiremock.client.WireMock.anyRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.getRequestCounter;
 import static com.github.tomakehurst.wiremock.client.WireMock.getRequestedFor;
 import static com.github.tomakehurst.wiremock.client.WireMock.lessThan;
 import static com.github.tomakehurst.wiremock.client.WireMock.lessThanOrExactly;
@@ -53,7 +58,9 @@ import static com.github.tomakehurst.wiremock.client.WireMock.notMatching;
 import static com.github.tomakehurst.wiremock.client.WireMock.patchRequestedFor;
 import static com.github.tomakehurst.wiremock.client.WireMock.postRequestedFor;
 import static com.github.tomakehurst.wiremock.client.WireMock.putRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.registerRequestCounter;
 import static com.github.tomakehurst.wiremock.client.WireMock.requestMadeFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.resetRequestCounters;
 import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
 import static com.github.tomakehurst.wiremock.client.WireMock.urlMatching;
 import static com.github.tomakehurst.wiremock.client.WireMock.urlPathEqualTo;
@@ -65,7 +72,9 @@ import static com.github.tomakehurst.wiremock.matching.RequestPatternBuilder.for
 import static com.github.tomakehurst.wiremock.testsupport.TestHttpHeader.withHeader;
 import static com.github.tomakehurst.wiremock.verification.diff.JUnitStyleDiffRenderer.junitStyleDiffMessage;
 import static java.lang.System.lineSeparator;
+import static java.util.concurrent.TimeUnit.SECONDS;
 import static org.apache.http.entity.ContentType.TEXT_PLAIN;
+import static org.awaitility.Awaitility.await;
 import static org.hamcrest.Matchers.allOf;
 import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.is;
@@ -671,6 +680,21 @@ public class VerificationAcceptanceTest {
         public void findAllThrowsExceptionWhenVerificationAttemptedAndRequestJournalDisabled() {
             findAll(getRequestedFor(urlEqualTo("/whatever")));
         }
+
+        @Test
+        public void countsRequestsWithRegisteredCountersWhenRequestJournalDisabled() {
+            registerRequestCounter("submissions", postRequestedFor(urlPathEqualTo("/submit")));
+            WireMockTestClient testClient = new WireMockTestClient(wireMockRule.port());
+
+            testClient.postWithBody("/submit?first", "", "text/plain", "utf-8");
+            testClient.postWithBody("/submit?second", "", "text/plain", "utf-8");
+            testClient.get("/submit");
+
+            assertThat(getRequestCounter("submissions").getCount(), is(2L));
+
+            resetRequestCounters();
+            assertThat(getRequestCounter("submissions").getCount(), is(0L));
+        }
     }
 
     public static class JournalMaxEntriesRestricted {
@@ -691,4 +715,61 @@ public class VerificationAcceptanceTest {
             verify(1, getRequestedFor(urlEqualTo("/request3")));
         }
     }
+
+    public static class JournalMapped {
+        @Rule
+        public WireMockRule wireMockRule = new WireMockRule(options()
+            .dynamicPort()
+            .withRootDirectory(Files.createTempDir().getAbsolutePath())
+            .mappedRequestJournal()
+            .journalSegmentSizeMb(1)
+            .journalMaxSegments(2),
+            false);
+
+        @Test
+        public void verifiesRequestsRecordedInTheMappedJournal() {
+            WireMockTestClient testClient = new WireMockTestClient(wireMockRule.port());
+            testClient.get("/mapped/1");
+            testClient.get("/mapped/2");
+            testClient.postWithBody("/mapped/2", "body", "text/plain", "utf-8");
+
+            verify(1, getRequestedFor(urlEqualTo("/mapped/1")));
+            verify(2, anyRequestedFor(urlPathEqualTo("/mapped/2")));
+            verify(postRequestedFor(urlEqualTo("/mapped/2")).withRequestBody(equalTo("body")));
+            assertThat(WireMock.findUnmatchedRequests().size(), is(3));
+        }
+    }
+
+    public static class JournalBodiesCompressed {
+        @Rule
+        public WireMockRule wireMockRule = new WireMockRule(options()
+            .dynamicPort()
+            .journalBodyCompressionThreshold(256),
+            false);
+
+        @Test
+        public void verifiesOnCompressedBodiesAndReportsTheCompressionRatio() {
+            WireMockTestClient testClient = new WireMockTestClient(wireMockRule.port());
+            String body = "{\"items\": [" + Strings.repeat("{\"name\": \"thing\"}, ", 100) + "{}]}";
+            testClient.postWithBody("/compressed", body, "application/json", "utf-8");
+
+            verify(postRequestedFor(urlEqualTo("/compressed")).withRequestBody(equalTo(body)));
+            assertThat(WireMock.findAll(postRequestedFor(urlEqualTo("/compressed"))).get(0).getBodyAsString(), is(body));
+
+            await()
+                .atMost(5, SECONDS)
+                .until(compressedBodies(), is(1L));
+            JournalCompressionStats stats = WireMock.getJournalCompressionStats();
+            assertThat(stats.getCompressionRatio() > 1.0, is(true));
+        }
+
+        private Callable<Long> compressedBodies() {
+            return new Callable<Long>() {
+                @Override
+                public Long call() throws Exception {
+                    return wireMockRule.getJournalCompressionStats().getCompressedBodies();
+                }
+            };
+        }
+    }
 }
@@ -0,0 +1,111 @@
+/*
+ * Copyright (C) 2011 Thomas Akehurst
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.tomakehurst.wiremock.common;
+
+import com.google.common.io.Files;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+
+import static com.google.common.base.Charsets.UTF_8;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+public class BodyFileCacheTest {
+
+    @Rule
+    public TemporaryFolder tempDir = new TemporaryFolder();
+
+    private File file;
+
+    @Before
+    public void init() throws IOException {
+        file = tempDir.newFile("body.json");
+        Files.write("{ \"things\": [] }", file, UTF_8);
+    }
+
+    @Test
+    public void servesRepeatedReadsFromMemory() {
+        BodyFileCache cache = new BodyFileCache(1024);
+        BinaryFile bodyFile = new BinaryFile(file.toURI());
+
+        byte[] first = cache.contentsOf(bodyFile);
+        byte[] second = cache.contentsOf(bodyFile);
+
+        assertThat(new String(second, UTF_8), is("{ \"things\": [] }"));
+        assertThat(second, sameInstance(first));
+
+        BodyFileCacheStats stats = cache.getStats();
+        assertThat(stats.getHits(), is(1L));
+        assertThat(stats.getMisses(), is(1L));
+        assertThat(stats.getEntries(), is(1L));
+        assertThat(stats.getSizeBytes(), is((long) first.length));
+        assertThat(stats.getHitRate(), is(0.5));
+    }
+
+    @Test
+    public void rereadsAFileWhenItChangesOnDisk() throws IOException {
+        BodyFileCache cache = new BodyFileCache(1024);
+        BinaryFile bodyFile = new BinaryFile(file.toURI());
+        cache.contentsOf(bodyFile);
+
+        Files.write("{ \"things\": [1] }", file, UTF_8);
+        file.setLastModified(file.lastModified() + 2000);
+
+        assertThat(new String(cache.contentsOf(bodyFile), UTF_8), is("{ \"things\": [1] }"));
+        assertThat(cache.getStats().getMisses(), is(2L));
+    }
+
+    @Test
+    public void keepsFilesUsingMostOfTheBudget() throws IOException {
+        File largeFile = tempDir.newFile("large.json");
+        Files.write(new byte[3 * 1024 * 1024], largeFile);
+        BodyFileCache cache = new BodyFileCache(4 * 1024 * 1024);
+        BinaryFile bodyFile = new BinaryFile(largeFile.toURI());
+
+        cache.contentsOf(bodyFile);
+        cache.contentsOf(bodyFile);
+
+        assertThat(cache.getStats().getHits(), is(1L));
+        assertThat(cache.getStats().getEntries(), is(1L));
+    }
+
+    @Test
+    public void doesNotKeepFilesLargerThanTheBudget() {
+        BodyFileCache cache = new BodyFileCache(4);
+        BinaryFile bodyFile = new BinaryFile(file.toURI());
+
+        cache.contentsOf(bodyFile);
+        cache.contentsOf(bodyFile);
+
+        assertThat(cache.getStats().getHits(), is(0L));
+        assertThat(cache.getStats().getEntries(), is(0L));
+    }
+
+    @Test
+    public void readsStraightFromTheFileWhenDisabled() {
+        BodyFileCache cache = BodyFileCache.disabled();
+
+        assertThat(new String(cache.contentsOf(new BinaryFile(file.toURI())), UTF_8), is("{ \"things\": [] }"));
+        assertThat(cache.getStats().getMisses(), is(0L));
+        assertThat(cache.getStats().getHitRate(), is(0.0));
+    }
+}
@@ -35,4 +35,14 @@ public class WireMockConfigurationTest {
 
         assertThat(threadPool.getMaxThreads(), is(maxThreads));
     }
-}
\ No newline at end of file
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsJournalCompressionWithMappedRequestJournal() {
+        WireMockConfiguration.wireMockConfig().mappedRequestJournal().journalBodyCompressionThreshold(1024);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsMappedRequestJournalWithMaxJournalEntries() {
+        WireMockConfiguration.wireMockConfig().maxRequestJournalEntries(100).mappedRequestJournal();
+    }
+}
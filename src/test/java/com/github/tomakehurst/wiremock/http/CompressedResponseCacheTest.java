@@ -0,0 +1,175 @@
+/*
+ * Copyright (C) 2011 Thomas Akehurst
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.tomakehurst.wiremock.http;
+
+import com.github.tomakehurst.wiremock.common.Gzip;
+import com.google.common.base.Strings;
+import org.jmock.Mockery;
+import org.junit.Before;
+import org.junit.Test;
+
+import static com.github.tomakehurst.wiremock.http.HttpHeader.absent;
+import static com.github.tomakehurst.wiremock.http.HttpHeader.httpHeader;
+import static com.github.tomakehurst.wiremock.http.Response.response;
+import static com.github.tomakehurst.wiremock.testsupport.MockRequestBuilder.aRequest;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+public class CompressedResponseCacheTest {
+
+    private static final String BODY = Strings.repeat("{ \"things\": [1, 2, 3] }", 50);
+
+    private Mockery context;
+
+    @Before
+    public void init() {
+        context = new Mockery();
+    }
+
+    @Test
+    public void compressesOnceAndServesTheCachedEncodingAfterwards() {
+        CompressedResponseCache cache = new CompressedResponseCache(1024 * 1024);
+        Response original = response().status(200).body(BODY).build();
+        Request request = requestAccepting("gzip, deflate");
+
+        Response first = cache.compressFor(request, original);
+        Response second = cache.compressFor(request, original);
+
+        assertThat(Gzip.unGzipToString(first.getBody()), is(BODY));
+        assertThat(first.getHeaders().getHeader("Content-Encoding").firstValue(), is("gzip"));
+        assertThat(first.getHeaders().getHeader("Vary").firstValue(), is("Accept-Encoding"));
+        assertThat(second.getBody(), sameInstance(first.getBody()));
+
+        CompressedResponseCacheStats stats = cache.getStats();
+        assertThat(stats.getHits(), is(1L));
+        assertThat(stats.getMisses(), is(1L));
+        assertThat(stats.getEntries(), is(1L));
+        assertThat(stats.getOriginalBytes(), is((long) BODY.length()));
+        assertThat(stats.getCompressedBytes(), is((long) first.getBody().length));
+    }
+
+    @Test
+    public void keepsAnEncodingThatUsesMostOfTheBudget() {
+        Response original = response().status(200).body(BODY).build();
+        Request request = requestAccepting("gzip");
+        int gzippedLength = new CompressedResponseCache(1024 * 1024).compressFor(request, original).getBody().length;
+        CompressedResponseCache cache = new CompressedResponseCache(gzippedLength + 1);
+
+        cache.compressFor(request, original);
+        cache.compressFor(request, original);
+
+        assertThat(cache.getStats().getHits(), is(1L));
+        assertThat(cache.getStats().getEntries(), is(1L));
+    }
+
+    @Test
+    public void sendsTheBodyUnencodedButVaryingOnAcceptEncodingWhenTheRequestDoesNotAcceptCompression() {
+        CompressedResponseCache cache = new CompressedResponseCache(1024 * 1024);
+        Response original = response().status(200).body(BODY).build();
+
+        Response response = cache.compressFor(aRequest(context).build(), original);
+
+        assertThat(response.getBody(), sameInstance(original.getBody()));
+        assertThat(response.getHeaders().getHeader("Content-Encoding").isPresent(), is(false));
+        assertThat(response.getHeaders().getHeader("Vary").firstValue(), is("Accept-Encoding"));
+        assertThat(cache.getStats().getMisses(), is(0L));
+    }
+
+    @Test
+    public void recomputesTheStubsContentLengthWhenTheBodyIsEncoded() {
+        CompressedResponseCache cache = new CompressedResponseCache(1024 * 1024);
+        Response original = response()
+            .status(200)
+            .headers(new HttpHeaders(httpHeader("Content-Length", String.valueOf(BODY.length()))))
+            .body(BODY)
+            .build();
+
+        Response response = cache.compressFor(requestAccepting("gzip"), original);
+
+        assertThat(response.getHeaders().getHeader("Content-Length").firstValue(), is(String.valueOf(response.getBody().length)));
+        assertThat(Gzip.unGzipToString(response.getBody()), is(BODY));
+    }
+
+    @Test
+    public void appendsAcceptEncodingToAnExistingVaryHeader() {
+        CompressedResponseCache cache = new CompressedResponseCache(1024 * 1024);
+        Response original = response()
+            .status(200)
+            .headers(new HttpHeaders(httpHeader("Vary", "Origin")))
+            .body(BODY)
+            .build();
+
+        Response response = cache.compressFor(requestAccepting("gzip"), original);
+
+        assertThat(response.getHeaders().getHeader("Vary").values(), contains("Origin", "Accept-Encoding"));
+    }
+
+    @Test
+    public void keepsTheStatusMessage() {
+        CompressedResponseCache cache = new CompressedResponseCache(1024 * 1024);
+        Response original = response().status(200).statusMessage("All good").body(BODY).build();
+
+        assertThat(cache.compressFor(requestAccepting("gzip"), original).getStatusMessage(), is("All good"));
+    }
+
+    @Test
+    public void leavesAlreadyEncodedResponsesAlone() {
+        CompressedResponseCache cache = new CompressedResponseCache(1024 * 1024);
+        Response original = response()
+            .status(200)
+            .headers(new HttpHeaders(httpHeader("Content-Encoding", "br")))
+            .body(BODY)
+            .build();
+
+        assertThat(cache.compressFor(requestAccepting("gzip"), original), sameInstance(original));
+    }
+
+    @Test
+    public void leavesBodiesThatDoNotShrinkUncompressed() {
+        CompressedResponseCache cache = new CompressedResponseCache(1024 * 1024);
+        Response original = response().status(200).body("x").build();
+
+        Response response = cache.compressFor(requestAccepting("gzip"), original);
+
+        assertThat(response.getBodyAsString(), is("x"));
+        assertThat(response.getHeaders().getHeader("Content-Encoding").isPresent(), is(false));
+        assertThat(response.getHeaders().getHeader("Vary").firstValue(), is("Accept-Encoding"));
+    }
+
+    @Test
+    public void doesNothingWhenDisabled() {
+        CompressedResponseCache cache = CompressedResponseCache.disabled();
+        Response original = response().status(200).body(BODY).build();
+
+        assertThat(cache.compressFor(requestAccepting("gzip"), original), sameInstance(original));
+        assertThat(cache.getStats().getMaxBytes(), is(0L));
+    }
+
+    @Test
+    public void prefersGzipAndSkipsCodingsWithAZeroQuality() {
+        assertThat(CompressedResponseCache.preferredEncoding(httpHeader("Accept-Encoding", "deflate, gzip")), is("gzip"));
+        assertThat(CompressedResponseCache.preferredEncoding(httpHeader("Accept-Encoding", "gzip;q=0, deflate")), is("deflate"));
+        assertThat(CompressedResponseCache.preferredEncoding(httpHeader("Accept-Encoding", "br, identity")), nullValue());
+        assertThat(CompressedResponseCache.preferredEncoding(absent("Accept-Encoding")), nullValue());
+    }
+
+    private Request requestAccepting(String encodings) {
+        return aRequest(context).withHeader("Accept-Encoding", encodings).build();
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright (C) 2011 Thomas Akehurst
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.tomakehurst.wiremock.http;
+
+import com.google.common.io.Files;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+
+import static com.google.common.base.Charsets.UTF_8;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+public class FileRegionBodyTest {
+
+    @Rule
+    public TemporaryFolder tempDir = new TemporaryFolder();
+
+    private File file;
+
+    @Before
+    public void init() throws IOException {
+        file = tempDir.newFile("download.txt");
+        Files.write("0123456789", file, UTF_8);
+    }
+
+    @Test
+    public void writesTheWholeFile() throws IOException {
+        FileRegionBody body = FileRegionBody.of(file);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        body.writeTo(out);
+
+        assertThat(body.getLength(), is(10L));
+        assertThat(out.toString(UTF_8.name()), is("0123456789"));
+    }
+
+    @Test
+    public void writesAndReadsOnlyTheRegion() throws IOException {
+        FileRegionBody body = new FileRegionBody(file, 2, 5);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        body.writeTo(out);
+
+        assertThat(out.toString(UTF_8.name()), is("23456"));
+        assertThat(new String(body.readContents(), UTF_8), is("23456"));
+    }
+
+    @Test
+    public void readsOnlyTheRegionThroughAChannel() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ByteBuffer buffer = ByteBuffer.allocate(2);
+        try (ReadableByteChannel channel = new FileRegionBody(file, 5, 3).openChannel()) {
+            while (channel.read(buffer) != -1) {
+                buffer.flip();
+                out.write(buffer.array(), 0, buffer.limit());
+                buffer.clear();
+            }
+        }
+
+        assertThat(out.toString(UTF_8.name()), is("567"));
+    }
+
+    @Test
+    public void isReadLazilyByResponsesButNotKeptByTheJournal() throws IOException {
+        Response response = Response.response().streamingBody(FileRegionBody.of(file)).build();
+        Files.write("9876543210", file, UTF_8);
+
+        assertThat(response.getBodyAsString(), is("9876543210"));
+        LoggedResponse loggedResponse = LoggedResponse.from(response);
+        file.delete();
+        assertThat(loggedResponse.isBodyStreamed(), is(true));
+        assertThat(loggedResponse.getBodyAsString(), is(""));
+    }
+
+    @Test
+    public void replacingTheBodyOfAStreamedResponseDropsTheStream() {
+        Response response = Response.response().streamingBody(FileRegionBody.of(file)).build();
+
+        Response transformed = Response.Builder.like(response).but().body("replaced").build();
+
+        assertThat(transformed.hasStreamingBody(), is(false));
+        assertThat(transformed.getBodyAsString(), is("replaced"));
+    }
+}
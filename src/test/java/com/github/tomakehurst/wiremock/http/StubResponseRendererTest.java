@@ -1,8 +1,11 @@
 package com.github.tomakehurst.wiremock.http;
 
+import com.github.tomakehurst.wiremock.client.ResponseDefinitionBuilder;
 import com.github.tomakehurst.wiremock.common.FileSource;
+import com.github.tomakehurst.wiremock.extension.Parameters;
 import com.github.tomakehurst.wiremock.extension.ResponseTransformer;
 import com.github.tomakehurst.wiremock.global.GlobalSettingsHolder;
+import org.jmock.Expectations;
 import org.jmock.Mockery;
 import org.jmock.integration.junit4.JMock;
 import org.junit.Before;
@@ -13,6 +16,8 @@ import java.util.ArrayList;
 import java.util.List;
 
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
 import static org.junit.Assert.assertThat;
 
 @RunWith(JMock.class)
@@ -94,6 +99,91 @@ public class StubResponseRendererTest {
         assertThat(response.getInitialDelay(), is(2123L));
     }
 
+    @Test
+    public void servesThePrebuiltResponseForStaticDefinitions() {
+        ResponseDefinition responseDefinition = createResponseDefinition(200);
+        responseDefinition.prebuildResponseIfStatic();
+
+        Response first = stubResponseRenderer.render(ResponseDefinition.copyOf(responseDefinition));
+        Response second = stubResponseRenderer.render(ResponseDefinition.copyOf(responseDefinition));
+
+        assertThat(second, sameInstance(first));
+        assertThat(second.getInitialDelay(), is(200L));
+    }
+
+    @Test
+    public void rendersAFreshResponseWhenAGlobalDelayApplies() {
+        ResponseDefinition responseDefinition = createResponseDefinition(null);
+        responseDefinition.prebuildResponseIfStatic();
+        Response prebuilt = stubResponseRenderer.render(responseDefinition);
+
+        globalSettingsHolder.get().setFixedDelay(1000);
+        Response response = stubResponseRenderer.render(responseDefinition);
+
+        assertThat(response, not(sameInstance(prebuilt)));
+        assertThat(response.getInitialDelay(), is(1000L));
+    }
+
+    @Test
+    public void doesNotPrebuildResponsesThatNameTransformers() {
+        ResponseDefinition responseDefinition = ResponseDefinitionBuilder.responseDefinition()
+            .withBody("transformed")
+            .withTransformers("some-transformer")
+            .build();
+        responseDefinition.prebuildResponseIfStatic();
+
+        assertThat(stubResponseRenderer.render(responseDefinition),
+            not(sameInstance(stubResponseRenderer.render(responseDefinition))));
+    }
+
+    @Test
+    public void appliesGlobalTransformersAndOnlyTheOthersADefinitionNames() {
+        context.checking(new Expectations() {{
+            allowing(fileSource).child(with(any(String.class))); will(returnValue(fileSource));
+        }});
+        responseTransformers.add(new AppendingTransformer("global", true));
+        responseTransformers.add(new AppendingTransformer("named", false));
+        stubResponseRenderer = new StubResponseRenderer(fileSource, globalSettingsHolder, null, responseTransformers);
+
+        ResponseDefinition naming = ResponseDefinitionBuilder.responseDefinition()
+            .withBody("body")
+            .withTransformers("named")
+            .build();
+        ResponseDefinition notNaming = ResponseDefinitionBuilder.responseDefinition()
+            .withBody("body")
+            .build();
+
+        assertThat(stubResponseRenderer.render(naming).getBodyAsString(), is("body-global-named"));
+        assertThat(stubResponseRenderer.render(naming).getBodyAsString(), is("body-global-named"));
+        assertThat(stubResponseRenderer.render(notNaming).getBodyAsString(), is("body-global"));
+    }
+
+    private static class AppendingTransformer extends ResponseTransformer {
+
+        private final String name;
+        private final boolean global;
+
+        AppendingTransformer(String name, boolean global) {
+            this.name = name;
+            this.global = global;
+        }
+
+        @Override
+        public Response transform(Request request, Response response, FileSource files, Parameters parameters) {
+            return Response.Builder.like(response).but().body(response.getBodyAsString() + "-" + name).build();
+        }
+
+        @Override
+        public boolean applyGlobally() {
+            return global;
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+    }
+
     private ResponseDefinition createResponseDefinition(Integer fixedDelayMillis) {
         return new ResponseDefinition(
                 0,
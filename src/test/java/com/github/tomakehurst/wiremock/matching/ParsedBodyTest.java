@@ -0,0 +1,83 @@
+/*
+ * Copyright (C) 2011 Thomas Akehurst
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.tomakehurst.wiremock.matching;
+
+import org.junit.Test;
+import org.xml.sax.SAXException;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.equalToJson;
+import static com.github.tomakehurst.wiremock.client.WireMock.equalToXml;
+import static com.github.tomakehurst.wiremock.client.WireMock.matchingJsonPath;
+import static com.github.tomakehurst.wiremock.client.WireMock.matchingXPath;
+import static com.github.tomakehurst.wiremock.matching.MockRequest.mockRequest;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class ParsedBodyTest {
+
+    @Test
+    public void parsesEachRepresentationOnlyOnce() throws Exception {
+        ParsedBody json = ParsedBody.of(mockRequest().body("{ \"id\": 1 }"));
+        assertThat(json.asJson(), sameInstance(json.asJson()));
+        assertThat(json.asJsonPathDocument(), sameInstance(json.asJsonPathDocument()));
+
+        ParsedBody xml = ParsedBody.of("<thing><id>1</id></thing>");
+        assertThat(xml.asXmlDocument(), sameInstance(xml.asXmlDocument()));
+    }
+
+    @Test
+    public void rethrowsParseFailureOnEveryAccess() throws Exception {
+        ParsedBody body = ParsedBody.of("not json or xml");
+
+        for (int i = 0; i < 2; i++) {
+            try {
+                body.asJson();
+                fail("Expected a JSON parse failure");
+            } catch (Exception e) {
+                // expected
+            }
+
+            try {
+                body.asXmlDocument();
+                fail("Expected an XML parse failure");
+            } catch (SAXException e) {
+                // expected
+            }
+        }
+    }
+
+    @Test
+    public void exposesBytesOfStringBody() {
+        assertThat(new String(ParsedBody.of("abc").asBytes()), is("abc"));
+    }
+
+    @Test
+    public void sharesOneParsedDocumentBetweenBodyPatterns() {
+        ParsedBody json = ParsedBody.of("{ \"things\": [ { \"id\": 1 } ] }");
+        assertTrue(equalToJson("{ \"things\": [ { \"id\": 1 } ] }").matchBody(json).isExactMatch());
+        assertTrue(matchingJsonPath("$.things[0].id").matchBody(json).isExactMatch());
+        assertFalse(matchingJsonPath("$.things[1].id").matchBody(json).isExactMatch());
+
+        ParsedBody xml = ParsedBody.of("<things><thing id=\"1\"/></things>");
+        assertTrue(equalToXml("<things>\n  <thing id=\"1\"/>\n</things>").matchBody(xml).isExactMatch());
+        assertTrue(matchingXPath("//thing[@id='1']").matchBody(xml).isExactMatch());
+        assertFalse(matchingXPath("//thing[@id='2']").matchBody(xml).isExactMatch());
+    }
+}
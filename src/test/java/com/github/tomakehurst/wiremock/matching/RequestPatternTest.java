@@ -15,6 +15,7 @@
  */
 package com.github.tomakehurst.wiremock.matching;
 
+import com.github.tomakehurst.wiremock.client.BasicCredentials;
 import com.github.tomakehurst.wiremock.common.Json;
 import com.github.tomakehurst.wiremock.http.RequestMethod;
 import org.hamcrest.Description;
@@ -23,12 +24,16 @@ import org.hamcrest.TypeSafeDiagnosingMatcher;
 import org.junit.Test;
 import org.skyscreamer.jsonassert.JSONAssert;
 
+import java.util.Collections;
+import java.util.Map;
+
 import static com.github.tomakehurst.wiremock.client.WireMock.*;
 import static com.github.tomakehurst.wiremock.client.WireMock.equalTo;
 import static com.github.tomakehurst.wiremock.http.RequestMethod.*;
 import static com.github.tomakehurst.wiremock.matching.MockMultipart.mockPart;
 import static com.github.tomakehurst.wiremock.matching.MockRequest.mockRequest;
 import static com.github.tomakehurst.wiremock.matching.RequestPatternBuilder.newRequestPattern;
+import static java.util.Arrays.asList;
 import static org.hamcrest.Matchers.*;
 import static org.junit.Assert.*;
 
@@ -502,6 +507,88 @@ public class RequestPatternTest {
         JSONAssert.assertEquals(ALL_BODY_PATTERNS_EXAMPLE, json, true);
     }
 
+    @Test
+    public void matchesBasicAuthDeserialisedUnderEitherName() {
+        for (String name: asList("basicAuth", "basicAuthCredentials")) {
+            RequestPattern requestPattern = Json.read(
+                "{ \"url\": \"/basic\", \"" + name + "\": { \"username\": \"user\", \"password\": \"pass\" } }",
+                RequestPattern.class);
+
+            MockRequest wrongCredentials = mockRequest()
+                .url("/basic")
+                .header("Authorization", new BasicCredentials("user", "wrong").asAuthorizationHeaderValue());
+
+            assertThat(requestPattern.getBasicAuthCredentials().username, is("user"));
+            assertFalse(requestPattern.isMatchedBy(wrongCredentials, Collections.<String, RequestMatcherExtension>emptyMap()));
+            assertFalse(requestPattern.match(wrongCredentials).isExactMatch());
+        }
+    }
+
+    @Test
+    public void isMatchedByAgreesWithMatchForAFullyMatchingRequest() {
+        RequestPattern requestPattern =
+            newRequestPattern(POST, urlEqualTo("/my/url?q=1"))
+                .withHeader("My-Header", equalTo("my-expected-header-val"))
+                .withHeader("Absent-Header", absent())
+                .withQueryParam("q", equalTo("1"))
+                .withCookie("session", matching("[0-9]+"))
+                .withBasicAuth(new BasicCredentials("user", "pass"))
+                .withRequestBody(equalToJson("{ \"thing\": 1 }"))
+                .build();
+
+        MockRequest request = mockRequest()
+            .method(POST)
+            .url("/my/url?q=1")
+            .header("My-Header", "my-expected-header-val")
+            .header("Authorization", new BasicCredentials("user", "pass").asAuthorizationHeaderValue())
+            .cookie("session", "1234")
+            .body("{ \"thing\": 1 }");
+
+        assertTrue(requestPattern.match(request).isExactMatch());
+        assertTrue(requestPattern.isMatchedBy(request, Collections.<String, RequestMatcherExtension>emptyMap()));
+    }
+
+    @Test
+    public void isMatchedByIsFalseWhenAnyElementDiffers() {
+        RequestPattern requestPattern =
+            newRequestPattern(POST, urlPathEqualTo("/my/url"))
+                .withHeader("My-Header", equalTo("my-expected-header-val"))
+                .withCookie("session", equalTo("1234"))
+                .withRequestBody(containing("thing"))
+                .build();
+
+        Map<String, RequestMatcherExtension> noCustomMatchers = Collections.emptyMap();
+        MockRequest wrongMethod = mockRequest().method(PUT).url("/my/url")
+            .header("My-Header", "my-expected-header-val").cookie("session", "1234").body("thing");
+        MockRequest wrongHeader = mockRequest().method(POST).url("/my/url")
+            .header("My-Header", "wrong").cookie("session", "1234").body("thing");
+        MockRequest wrongCookie = mockRequest().method(POST).url("/my/url")
+            .header("My-Header", "my-expected-header-val").cookie("session", "999").body("thing");
+        MockRequest wrongBody = mockRequest().method(POST).url("/my/url")
+            .header("My-Header", "my-expected-header-val").cookie("session", "1234").body("other");
+
+        assertFalse(requestPattern.isMatchedBy(wrongMethod, noCustomMatchers));
+        assertFalse(requestPattern.isMatchedBy(wrongHeader, noCustomMatchers));
+        assertFalse(requestPattern.isMatchedBy(wrongCookie, noCustomMatchers));
+        assertFalse(requestPattern.isMatchedBy(wrongBody, noCustomMatchers));
+    }
+
+    @Test
+    public void isMatchedByPicksTheClosestOfMultipleHeaderValues() {
+        RequestPattern requestPattern =
+            newRequestPattern(GET, urlPathEqualTo("/my/url"))
+                .withHeader("Accept", equalTo("text/plain"))
+                .build();
+
+        MockRequest request = mockRequest()
+            .method(GET)
+            .url("/my/url")
+            .header("Accept", "text/html", "text/plain");
+
+        assertThat(requestPattern.isMatchedBy(request, Collections.<String, RequestMatcherExtension>emptyMap()),
+            is(requestPattern.match(request).isExactMatch()));
+    }
+
     static Matcher<ContentPattern<?>> valuePattern(final Class<? extends StringValuePattern> patternClass, final String expectedValue) {
         return new TypeSafeDiagnosingMatcher<ContentPattern<?>>() {
             @Override
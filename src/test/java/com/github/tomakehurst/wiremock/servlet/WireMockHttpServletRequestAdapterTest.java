@@ -0,0 +1,91 @@
+/*
+ * Copyright (C) 2011 Thomas Akehurst
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.tomakehurst.wiremock.servlet;
+
+import org.jmock.Expectations;
+import org.jmock.Mockery;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.servlet.http.Cookie;
+import javax.servlet.http.HttpServletRequest;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.enumeration;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class WireMockHttpServletRequestAdapterTest {
+
+    private Mockery context;
+    private HttpServletRequest servletRequest;
+    private WireMockHttpServletRequestAdapter request;
+
+    @Before
+    public void init() {
+        context = new Mockery();
+        servletRequest = context.mock(HttpServletRequest.class);
+        request = new WireMockHttpServletRequestAdapter(servletRequest);
+    }
+
+    @Test
+    public void looksUpHeadersCaseInsensitivelyAfterReadingThemOnce() {
+        context.checking(new Expectations() {{
+            oneOf(servletRequest).getHeaderNames(); will(returnValue(enumeration(asList("Accept", "X-Trace-Id", "X-Empty"))));
+            oneOf(servletRequest).getHeaders("Accept"); will(returnValue(enumeration(asList("text/plain", "application/json"))));
+            oneOf(servletRequest).getHeaders("X-Trace-Id"); will(returnValue(enumeration(asList("abc"))));
+            oneOf(servletRequest).getHeaders("X-Empty"); will(returnValue(enumeration(asList())));
+        }});
+
+        assertThat(request.header("accept").values(), contains("text/plain", "application/json"));
+        assertThat(request.getHeader("ACCEPT"), is("text/plain"));
+        assertThat(request.getHeader("x-trace-id"), is("abc"));
+        assertTrue(request.containsHeader("X-TRACE-ID"));
+        assertFalse(request.header("Content-Type").isPresent());
+        assertThat(request.getHeader("Content-Type"), nullValue());
+        assertThat(request.getHeaders().getHeader("x-trace-id").firstValue(), is("abc"));
+        assertThat(request.getAllHeaderKeys(), contains("Accept", "X-Trace-Id", "X-Empty"));
+        assertThat(request.header("x-empty").values(), contains(""));
+
+        context.assertIsSatisfied();
+    }
+
+    @Test
+    public void parsesQueryParametersAndCookiesOnce() {
+        context.checking(new Expectations() {{
+            oneOf(servletRequest).getQueryString(); will(returnValue("page=2&tag=a&tag=b"));
+            oneOf(servletRequest).getCookies(); will(returnValue(new Cookie[] {
+                new Cookie("session", "s1"),
+                new Cookie("session", "s2"),
+                new Cookie("theme", "dark")
+            }));
+        }});
+
+        assertThat(request.queryParameter("page").firstValue(), is("2"));
+        assertThat(request.queryParameter("tag").values(), contains("a", "b"));
+        assertFalse(request.queryParameter("missing").isPresent());
+        assertThat(request.getCookies().get("session").getValues(), contains("s1", "s2"));
+        assertThat(request.getCookies().get("theme").firstValue(), is("dark"));
+        assertThat(request.getCookies(), sameInstance(request.getCookies()));
+
+        context.assertIsSatisfied();
+    }
+}
@@ -17,6 +17,7 @@ package com.github.tomakehurst.wiremock.standalone;
 
 import com.github.tomakehurst.wiremock.client.BasicCredentials;
 import com.github.tomakehurst.wiremock.common.FileSource;
+import com.github.tomakehurst.wiremock.common.MappedJournalSettings;
 import com.github.tomakehurst.wiremock.common.ProxySettings;
 import com.github.tomakehurst.wiremock.extension.Parameters;
 import com.github.tomakehurst.wiremock.extension.ResponseDefinitionTransformer;
@@ -205,6 +206,65 @@ public class CommandLineOptionsTest {
         assertThat(optionsNoMax.maxRequestJournalEntries().isPresent(), is(false));
     }
 
+    @Test
+    public void returnsParallelStubMatchingChunkSize() {
+        CommandLineOptions options = new CommandLineOptions("--parallel-match-chunk-size", "500");
+        assertThat(options.parallelStubMatchingChunkSize(), is(Optional.of(500)));
+        assertThat(options.toString(), containsString("parallel-match-chunk-size"));
+        assertThat(new CommandLineOptions().parallelStubMatchingChunkSize().isPresent(), is(false));
+    }
+
+    @Test
+    public void returnsJournalBodyCompressionThreshold() {
+        CommandLineOptions options = new CommandLineOptions("--journal-compression-threshold", "8192");
+        assertThat(options.journalBodyCompressionThreshold(), is(Optional.of(8192)));
+        assertThat(options.journalBodyCodec().getName(), is("deflate"));
+        assertThat(new CommandLineOptions().journalBodyCompressionThreshold().isPresent(), is(false));
+    }
+
+    @Test
+    public void returnsBodyFileCacheSize() {
+        CommandLineOptions options = new CommandLineOptions("--body-file-cache-size-mb", "64");
+        assertThat(options.bodyFileCacheSizeMb(), is(Optional.of(64)));
+        assertThat(new CommandLineOptions().bodyFileCacheSizeMb().isPresent(), is(false));
+    }
+
+    @Test
+    public void returnsBodyFileStreamingThreshold() {
+        CommandLineOptions options = new CommandLineOptions("--body-file-streaming-threshold", "1048576");
+        assertThat(options.bodyFileStreamingThreshold(), is(Optional.of(1048576)));
+        assertThat(new CommandLineOptions().bodyFileStreamingThreshold().isPresent(), is(false));
+    }
+
+    @Test
+    public void returnsCompressedResponseCacheSize() {
+        CommandLineOptions options = new CommandLineOptions("--compressed-response-cache-size-mb", "16");
+        assertThat(options.compressedResponseCacheSizeMb(), is(Optional.of(16)));
+        assertThat(new CommandLineOptions().compressedResponseCacheSizeMb().isPresent(), is(false));
+    }
+
+    @Test
+    public void returnsMappedRequestJournalSettings() {
+        CommandLineOptions options = new CommandLineOptions("--mapped-request-journal", "--journal-segment-size-mb", "4", "--journal-max-age-seconds", "3600");
+        MappedJournalSettings settings = options.mappedRequestJournalSettings();
+        assertThat(settings.isEnabled(), is(true));
+        assertThat(settings.getSegmentSizeMb(), is(4));
+        assertThat(settings.getMaxSegments(), is(MappedJournalSettings.DEFAULT_MAX_SEGMENTS));
+        assertThat(settings.getMaxAgeSeconds(), is(Optional.of(3600)));
+        assertThat(options.toString(), containsString("mapped-request-journal"));
+        assertThat(new CommandLineOptions().mappedRequestJournalSettings().isEnabled(), is(false));
+    }
+
+    @Test(expected=IllegalArgumentException.class)
+    public void throwsExceptionIfJournalCompressionSpecifiedWithMappedRequestJournal() {
+        new CommandLineOptions("--mapped-request-journal", "--journal-compression-threshold", "1024");
+    }
+
+    @Test(expected=IllegalArgumentException.class)
+    public void throwsExceptionIfMaxJournalEntriesSpecifiedWithMappedRequestJournal() {
+        new CommandLineOptions("--mapped-request-journal", "--max-request-journal-entries", "100");
+    }
+
     @Test
     public void returnPreserveHostHeaderTrueWhenPresent() {
         CommandLineOptions options = new CommandLineOptions("--preserve-host-header");
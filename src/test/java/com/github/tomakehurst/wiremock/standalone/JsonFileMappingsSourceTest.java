@@ -16,16 +16,24 @@
 package com.github.tomakehurst.wiremock.standalone;
 
 import com.github.tomakehurst.wiremock.common.ClasspathFileSource;
+import com.github.tomakehurst.wiremock.common.Json;
 import com.github.tomakehurst.wiremock.common.SingleRootFileSource;
 import com.github.tomakehurst.wiremock.stubbing.InMemoryStubMappings;
 import com.github.tomakehurst.wiremock.stubbing.StubMapping;
 import com.github.tomakehurst.wiremock.stubbing.StubMappings;
 import com.google.common.io.Files;
+import org.hamcrest.Matcher;
+import org.jmock.Expectations;
+import org.jmock.Mockery;
+import org.jmock.api.Invocation;
+import org.jmock.lib.action.CustomAction;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.TemporaryFolder;
 
 import java.io.File;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 
 import static com.github.tomakehurst.wiremock.client.WireMock.get;
@@ -33,6 +41,7 @@ import static com.github.tomakehurst.wiremock.client.WireMock.ok;
 import static com.google.common.base.Charsets.UTF_8;
 import static java.util.Arrays.asList;
 import static org.hamcrest.Matchers.*;
+import static org.jmock.Expectations.any;
 import static org.junit.Assert.assertThat;
 
 public class JsonFileMappingsSourceTest {
@@ -71,5 +80,43 @@ public class JsonFileMappingsSourceTest {
         assertThat(savedStub, containsString("\"insertionIndex\" : 0"));
     }
 
+    @Test
+    public void addsAllLoadedMappingsAsOneBatchAndSavesEditsBackToTheirFiles() throws Exception {
+        SingleRootFileSource fileSource = new SingleRootFileSource(tempDir.getRoot());
+        fileSource.writeTextFile("one.json", Json.write(get("/one").willReturn(ok()).build()));
+        fileSource.writeTextFile("two.json", Json.write(get("/two").willReturn(ok()).build()));
+        JsonFileMappingsSource source = new JsonFileMappingsSource(fileSource);
+
+        Mockery context = new Mockery();
+        final StubMappings stubMappings = context.mock(StubMappings.class);
+        final List<Collection<StubMapping>> batches = new ArrayList<>();
+        @SuppressWarnings("unchecked")
+        final Matcher<Collection<StubMapping>> anyBatch = (Matcher<Collection<StubMapping>>) (Matcher<?>) any(Collection.class);
+        context.checking(new Expectations() {{
+            oneOf(stubMappings).addMappings(with(anyBatch));
+            will(new CustomAction("record batch") {
+                @Override
+                @SuppressWarnings("unchecked")
+                public Object invoke(Invocation invocation) {
+                    batches.add((Collection<StubMapping>) invocation.getParameter(0));
+                    return null;
+                }
+            });
+        }});
+
+        source.loadMappingsInto(stubMappings);
+
+        context.assertIsSatisfied();
+        assertThat(batches.get(0), hasSize(2));
+
+        StubMapping edited = batches.get(0).iterator().next();
+        String originalFileName = edited.getRequest().getUrl().equals("/one") ? "one.json" : "two.json";
+        edited.setDirty(true);
+        source.save(asList(edited));
+
+        assertThat(tempDir.getRoot().list(), arrayContainingInAnyOrder("one.json", "two.json"));
+        assertThat(Files.toString(new File(tempDir.getRoot(), originalFileName), UTF_8), containsString(edited.getId().toString()));
+    }
+
 
 }
\ No newline at end of file
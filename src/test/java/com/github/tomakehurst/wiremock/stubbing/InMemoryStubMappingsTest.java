@@ -15,15 +15,31 @@
  */
 package com.github.tomakehurst.wiremock.stubbing;
 
+import com.github.tomakehurst.wiremock.common.FileSource;
+import com.github.tomakehurst.wiremock.common.SingleRootFileSource;
+import com.github.tomakehurst.wiremock.extension.Parameters;
+import com.github.tomakehurst.wiremock.extension.ResponseDefinitionTransformer;
+import com.github.tomakehurst.wiremock.http.Request;
 import com.github.tomakehurst.wiremock.http.ResponseDefinition;
+import com.github.tomakehurst.wiremock.matching.MatchResult;
+import com.github.tomakehurst.wiremock.matching.RequestMatcherExtension;
 import com.github.tomakehurst.wiremock.matching.RequestPattern;
+import com.github.tomakehurst.wiremock.matching.ValueMatcher;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 
+import static com.github.tomakehurst.wiremock.client.ResponseDefinitionBuilder.like;
+import static com.github.tomakehurst.wiremock.client.ResponseDefinitionBuilder.responseDefinition;
 import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
 import static com.github.tomakehurst.wiremock.http.RequestMethod.ANY;
+import static com.github.tomakehurst.wiremock.matching.MockRequest.mockRequest;
 import static com.github.tomakehurst.wiremock.matching.RequestPatternBuilder.newRequestPattern;
 import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.hasSize;
@@ -94,6 +110,110 @@ public class InMemoryStubMappingsTest {
 		}
 	}
 
+	@Test(timeout = 5000)
+	public void getsEditsAndRemovesSingleMappingsWithoutCopyingTheWholeSet() {
+		List<StubMapping> loaded = new ArrayList<>();
+		for (int i = 0; i < 10000; i++) {
+			loaded.add(aMapping(1, "/loaded/" + i));
+		}
+		inMemoryStubMappings.addMappings(loaded);
+
+		for (int i = 0; i < loaded.size(); i += 2) {
+			StubMapping edited = aMapping(1, "/edited/" + i);
+			edited.setUuid(loaded.get(i).getUuid());
+			inMemoryStubMappings.editMapping(edited);
+			assertThat(inMemoryStubMappings.get(edited.getUuid()).get(), is(edited));
+
+			inMemoryStubMappings.removeMapping(loaded.get(i + 1));
+		}
+
+		assertThat(inMemoryStubMappings.getAll(), hasSize(5000));
+		assertThat(inMemoryStubMappings.get(loaded.get(1).getUuid()).isPresent(), is(false));
+	}
+
+	@Test
+	public void doesNotEvaluateScenarioStubsThatAreInactiveInTheCurrentState() {
+		final AtomicInteger evaluations = new AtomicInteger();
+		StubMapping startedStateMapping = aMapping(5, "/checkout");
+		startedStateMapping.setScenarioName("Checkout");
+		startedStateMapping.setRequiredScenarioState(Scenario.STARTED);
+		startedStateMapping.setNewScenarioState("Paid");
+		inMemoryStubMappings.addMapping(startedStateMapping);
+
+		StubMapping laterStateMapping = new StubMapping(new RequestPattern(new ValueMatcher<Request>() {
+			@Override
+			public MatchResult match(Request request) {
+				evaluations.incrementAndGet();
+				return MatchResult.exactMatch();
+			}
+		}), new ResponseDefinition());
+		laterStateMapping.setScenarioName("Checkout");
+		laterStateMapping.setRequiredScenarioState("Paid");
+		inMemoryStubMappings.addMapping(laterStateMapping);
+
+		ServeEvent first = inMemoryStubMappings.serveFor(mockRequest().url("/checkout"));
+		assertThat(first.getStubMapping(), is(startedStateMapping));
+		assertThat(evaluations.get(), is(0));
+
+		ServeEvent second = inMemoryStubMappings.serveFor(mockRequest().url("/checkout"));
+		assertThat(second.getStubMapping(), is(laterStateMapping));
+		assertThat(evaluations.get(), is(1));
+	}
+
+	@Test
+	public void appliesGlobalTransformersAndOnlyTheOthersAStubNames() {
+		Map<String, ResponseDefinitionTransformer> transformers = new LinkedHashMap<>();
+		transformers.put("global", new AppendingTransformer("global", true));
+		transformers.put("named", new AppendingTransformer("named", false));
+		inMemoryStubMappings = new InMemoryStubMappings(
+			Collections.<String, RequestMatcherExtension>emptyMap(),
+			transformers,
+			new SingleRootFileSource("."));
+
+		StubMapping naming = aMapping(1, "/naming");
+		naming.setResponse(responseDefinition().withBody("body").withTransformers("named").build());
+		StubMapping notNaming = aMapping(1, "/not-naming");
+		notNaming.setResponse(responseDefinition().withBody("body").build());
+		inMemoryStubMappings.addMapping(naming);
+		inMemoryStubMappings.addMapping(notNaming);
+
+		assertThat(inMemoryStubMappings.serveFor(mockRequest().url("/naming")).getResponseDefinition().getBody(), is("body-global-named"));
+		assertThat(inMemoryStubMappings.serveFor(mockRequest().url("/not-naming")).getResponseDefinition().getBody(), is("body-global"));
+
+		StubMapping edited = aMapping(1, "/not-naming");
+		edited.setUuid(notNaming.getUuid());
+		edited.setResponse(responseDefinition().withBody("body").withTransformers("named").build());
+		inMemoryStubMappings.editMapping(edited);
+
+		assertThat(inMemoryStubMappings.serveFor(mockRequest().url("/not-naming")).getResponseDefinition().getBody(), is("body-global-named"));
+	}
+
+	private static class AppendingTransformer extends ResponseDefinitionTransformer {
+
+		private final String name;
+		private final boolean global;
+
+		AppendingTransformer(String name, boolean global) {
+			this.name = name;
+			this.global = global;
+		}
+
+		@Override
+		public ResponseDefinition transform(Request request, ResponseDefinition responseDefinition, FileSource files, Parameters parameters) {
+			return like(responseDefinition).but().withBody(responseDefinition.getBody() + "-" + name).build();
+		}
+
+		@Override
+		public boolean applyGlobally() {
+			return global;
+		}
+
+		@Override
+		public String getName() {
+			return name;
+		}
+	}
+
 	private StubMapping aMapping(Integer priority, String url) {
 		RequestPattern requestPattern = newRequestPattern(ANY, urlEqualTo(url)).build();
 		StubMapping mapping = new StubMapping(requestPattern, new ResponseDefinition());
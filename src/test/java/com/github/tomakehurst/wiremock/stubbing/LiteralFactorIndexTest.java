@@ -0,0 +1,129 @@
+/*
+ * Copyright (C) 2011 Thomas Akehurst
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.tomakehurst.wiremock.stubbing;
+
+import com.github.tomakehurst.wiremock.http.ResponseDefinition;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Iterables;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.urlMatching;
+import static com.github.tomakehurst.wiremock.http.RequestMethod.ANY;
+import static com.github.tomakehurst.wiremock.matching.RequestPatternBuilder.newRequestPattern;
+import static com.github.tomakehurst.wiremock.stubbing.LiteralFactorIndex.requiredLiteralOf;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+public class LiteralFactorIndexTest {
+
+    private LiteralFactorIndex index;
+
+    @Before
+    public void init() {
+        index = new LiteralFactorIndex(new Comparator<StubMapping>() {
+            @Override
+            public int compare(StubMapping one, StubMapping two) {
+                return Long.compare(one.getInsertionIndex(), two.getInsertionIndex());
+            }
+        });
+    }
+
+    @Test
+    public void extractsTheLongestLiteralRunTheRegexRequires() {
+        assertThat(requiredLiteralOf(".*/customers/[0-9]+/orders"), is("/customers/"));
+        assertThat(requiredLiteralOf("[a-z]+\\.json"), is(".json"));
+        assertThat(requiredLiteralOf(".*/things+"), is("/things"));
+        assertThat(requiredLiteralOf("^/a/([0-9]+)?/longer-part$"), is("/longer-part"));
+    }
+
+    @Test
+    public void excludesCharactersThatAreOptional() {
+        assertThat(requiredLiteralOf(".*/things?"), is("/thing"));
+        assertThat(requiredLiteralOf(".*/abcd*"), is("/abc"));
+        assertThat(requiredLiteralOf(".*/abcd{0,2}"), is("/abc"));
+    }
+
+    @Test
+    public void hasNoLiteralForRegexesThatCannotBeAnalysedSafely() {
+        assertThat(requiredLiteralOf("/one/.*|/two/.*"), nullValue());
+        assertThat(requiredLiteralOf("(?i).*/things"), nullValue());
+        assertThat(requiredLiteralOf("\\Q/things\\E"), nullValue());
+        assertThat(requiredLiteralOf(".*/[0-9]+"), nullValue());
+        assertThat(requiredLiteralOf("\\d+\\w+"), nullValue());
+    }
+
+    @Test
+    public void hasNoLiteralForRegexesWithEscapesLongerThanTwoCharacters() {
+        assertThat(requiredLiteralOf("/a\\x41bc"), nullValue());
+        assertThat(requiredLiteralOf("/a\\u0041bc"), nullValue());
+        assertThat(requiredLiteralOf("/a\\0101bc"), nullValue());
+        assertThat(requiredLiteralOf("/a\\cAbc"), nullValue());
+        assertThat(requiredLiteralOf("/abc\\k<x>cde"), nullValue());
+        assertThat(requiredLiteralOf("/(ab)\\1cd"), nullValue());
+        assertThat(requiredLiteralOf("/a\\p{Alpha}bc"), nullValue());
+    }
+
+    @Test
+    public void treatsTwoCharacterEscapesAsBreakingTheLiteral() {
+        assertThat(requiredLiteralOf("/orders\\d+/items"), is("/orders"));
+        assertThat(requiredLiteralOf("/a\\tbcdef"), is("bcdef"));
+    }
+
+    @Test
+    public void findsEveryStubWhoseLiteralOccursInTheValueInOnePass() {
+        StubMapping orders = add(".*/orders/.*", 1);
+        StubMapping ordersById = add(".*rders/[0-9]+", 2);
+        StubMapping json = add(".*\\.json", 3);
+        add(".*/invoices/.*", 4);
+
+        assertThat(candidatesFor("/api/orders/12.json"), containsInAnyOrder(orders, ordersById, json));
+        assertThat(candidatesFor("/api/orders.json"), containsInAnyOrder(json));
+        assertThat(candidatesFor("/api/customers"), empty());
+    }
+
+    @Test
+    public void dropsStubsOnRemoveAndClear() {
+        StubMapping orders = add(".*/orders/.*", 1);
+        StubMapping json = add(".*\\.json", 2);
+
+        index.remove(requiredLiteralOf(".*/orders/.*"), orders);
+        assertThat(candidatesFor("/api/orders/12.json"), containsInAnyOrder(json));
+
+        index.clear();
+        assertThat(candidatesFor("/api/orders/12.json"), empty());
+    }
+
+    private StubMapping add(String regex, long insertionIndex) {
+        StubMapping mapping = new StubMapping(newRequestPattern(ANY, urlMatching(regex)).build(), new ResponseDefinition());
+        mapping.setInsertionIndex(insertionIndex);
+        index.add(requiredLiteralOf(regex), mapping);
+        return mapping;
+    }
+
+    private List<StubMapping> candidatesFor(String url) {
+        List<Iterable<StubMapping>> sources = new ArrayList<>();
+        index.collectCandidates(url, sources);
+        return ImmutableList.copyOf(Iterables.concat(sources));
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright (C) 2011 Thomas Akehurst
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.tomakehurst.wiremock.stubbing;
+
+import com.github.tomakehurst.wiremock.extension.ResponseDefinitionTransformer;
+import com.github.tomakehurst.wiremock.http.ResponseDefinition;
+import com.github.tomakehurst.wiremock.matching.RequestMatcherExtension;
+import com.google.common.base.Optional;
+import com.google.common.base.Predicate;
+import com.google.common.base.Supplier;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.urlMatching;
+import static com.github.tomakehurst.wiremock.http.RequestMethod.GET;
+import static com.github.tomakehurst.wiremock.matching.MockRequest.mockRequest;
+import static com.github.tomakehurst.wiremock.matching.RequestPatternBuilder.newRequestPattern;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+public class ParallelStubMatcherTest {
+
+    @Test
+    public void returnsTheFirstMatchInListOrderAcrossChunks() {
+        List<StubMapping> candidates = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            StubMapping mapping = new StubMapping();
+            mapping.setPriority(i % 7 == 0 ? 1 : 5);
+            candidates.add(mapping);
+        }
+
+        ParallelStubMatcher matcher = new ParallelStubMatcher(8);
+
+        assertThat(matcher.indexOfFirstMatch(candidates, matching(1)), is(0));
+        assertThat(matcher.indexOfFirstMatch(candidates.subList(1, 100), matching(1)), is(6));
+        assertThat(matcher.indexOfFirstMatch(candidates, matching(3)), is(-1));
+    }
+
+    @Test
+    public void onlyMatchesInParallelAboveTheChunkSize() {
+        assertThat(new ParallelStubMatcher(10).shouldMatchInParallel(10), is(false));
+        assertThat(new ParallelStubMatcher(10).shouldMatchInParallel(11), is(true));
+        assertThat(ParallelStubMatcher.disabled().shouldMatchInParallel(1000), is(false));
+    }
+
+    @Test
+    public void servesTheSameStubAsSequentialMatching() {
+        InMemoryStubMappings mappings = new InMemoryStubMappings(
+            Collections.<String, RequestMatcherExtension>emptyMap(),
+            Collections.<String, ResponseDefinitionTransformer>emptyMap(),
+            null,
+            Optional.<Integer>absent(),
+            Optional.of(4));
+
+        mappings.addMapping(new StubMapping(newRequestPattern(GET, urlMatching("/things/.*")).build(), new ResponseDefinition(200, "")));
+        mappings.addMapping(new StubMapping(newRequestPattern(GET, urlMatching("/things/1.*")).build(), new ResponseDefinition(201, "")));
+        for (int i = 0; i < 50; i++) {
+            mappings.addMapping(new StubMapping(newRequestPattern(GET, urlMatching("/.*/other/" + i)).build(), new ResponseDefinition(500, "")));
+        }
+
+        assertThat(statusFor(mappings, "/things/12"), is(201));
+        assertThat(statusFor(mappings, "/things/22"), is(200));
+        assertThat(statusFor(mappings, "/nothing"), is(404));
+    }
+
+    private static int statusFor(InMemoryStubMappings mappings, String url) {
+        return mappings.serveFor(mockRequest().method(GET).url(url)).getResponseDefinition().getStatus();
+    }
+
+    private static Supplier<Predicate<StubMapping>> matching(final int priority) {
+        return new Supplier<Predicate<StubMapping>>() {
+            @Override
+            public Predicate<StubMapping> get() {
+                return new Predicate<StubMapping>() {
+                    @Override
+                    public boolean apply(StubMapping mapping) {
+                        return mapping.getPriority() == priority;
+                    }
+                };
+            }
+        };
+    }
+}
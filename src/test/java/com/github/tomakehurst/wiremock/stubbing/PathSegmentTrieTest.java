@@ -0,0 +1,106 @@
+/*
+ * Copyright (C) 2011 Thomas Akehurst
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.tomakehurst.wiremock.stubbing;
+
+import com.github.tomakehurst.wiremock.http.ResponseDefinition;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Iterables;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.urlMatching;
+import static com.github.tomakehurst.wiremock.http.RequestMethod.ANY;
+import static com.github.tomakehurst.wiremock.matching.RequestPatternBuilder.newRequestPattern;
+import static com.github.tomakehurst.wiremock.stubbing.PathSegmentTrie.literalLeadingSegmentsOf;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.junit.Assert.assertThat;
+
+public class PathSegmentTrieTest {
+
+    private PathSegmentTrie trie;
+
+    @Before
+    public void init() {
+        trie = new PathSegmentTrie(new Comparator<StubMapping>() {
+            @Override
+            public int compare(StubMapping one, StubMapping two) {
+                return Long.compare(one.getInsertionIndex(), two.getInsertionIndex());
+            }
+        });
+    }
+
+    @Test
+    public void extractsCompleteLiteralSegmentsBeforeTheFirstMetacharacter() {
+        assertThat(literalLeadingSegmentsOf("/api/v2/customers/[0-9]+/orders.*"), contains("api", "v2", "customers"));
+        assertThat(literalLeadingSegmentsOf("^/api/v2/cust.*"), contains("api", "v2"));
+        assertThat(literalLeadingSegmentsOf("/api/v2/"), contains("api", "v2"));
+    }
+
+    @Test
+    public void excludesCharacterFollowedByQuantifier() {
+        assertThat(literalLeadingSegmentsOf("/api/v2/?.*"), contains("api"));
+        assertThat(literalLeadingSegmentsOf("/api/v2/{1,2}x"), contains("api"));
+    }
+
+    @Test
+    public void hasNoSegmentsForRegexesWithoutALiteralPathPrefix() {
+        assertThat(literalLeadingSegmentsOf("/.*"), empty());
+        assertThat(literalLeadingSegmentsOf(".*/api/.*"), empty());
+        assertThat(literalLeadingSegmentsOf("api/v2/.*"), empty());
+        assertThat(literalLeadingSegmentsOf("/api/one/.*|/api/two/.*"), empty());
+        assertThat(literalLeadingSegmentsOf("(?i)/api/.*"), empty());
+    }
+
+    @Test
+    public void returnsMappingsAtEveryNodeAlongTheRequestPath() {
+        StubMapping api = add("/api/.*", 1);
+        StubMapping customers = add("/api/v2/customers/[0-9]+", 2);
+        add("/api/v2/products/[0-9]+", 3);
+        add("/other/.*", 4);
+
+        assertThat(candidatesFor("/api/v2/customers/123"), contains(api, customers));
+        assertThat(candidatesFor("/api/v2"), contains(api));
+        assertThat(candidatesFor("/nothing/here"), empty());
+    }
+
+    @Test
+    public void prunesEmptyNodesOnRemove() {
+        StubMapping customers = add("/api/v2/customers/[0-9]+", 1);
+        List<String> segments = literalLeadingSegmentsOf("/api/v2/customers/[0-9]+");
+
+        trie.remove(segments, customers);
+
+        assertThat(candidatesFor("/api/v2/customers/123"), empty());
+    }
+
+    private StubMapping add(String regex, long insertionIndex) {
+        StubMapping mapping = new StubMapping(newRequestPattern(ANY, urlMatching(regex)).build(), new ResponseDefinition());
+        mapping.setInsertionIndex(insertionIndex);
+        trie.add(literalLeadingSegmentsOf(regex), mapping);
+        return mapping;
+    }
+
+    private List<StubMapping> candidatesFor(String url) {
+        List<Iterable<StubMapping>> sources = new ArrayList<>();
+        trie.collectCandidates(url, sources);
+        return ImmutableList.copyOf(Iterables.concat(sources));
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright (C) 2011 Thomas Akehurst
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.tomakehurst.wiremock.stubbing;
+
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+public class PersistentHashMapTest {
+
+    @Test
+    public void addsAndRemovesWithoutChangingTheOriginal() {
+        PersistentHashMap<String, Integer> empty = PersistentHashMap.empty();
+        PersistentHashMap<String, Integer> one = empty.plus("one", 1);
+        PersistentHashMap<String, Integer> two = one.plus("two", 2);
+        PersistentHashMap<String, Integer> withoutOne = two.minus("one");
+
+        assertThat(empty.isEmpty(), is(true));
+        assertThat(one.size(), is(1));
+        assertThat(one.get("two"), nullValue());
+        assertThat(two.get("one"), is(1));
+        assertThat(two.get("two"), is(2));
+        assertThat(two.keys(), containsInAnyOrder("one", "two"));
+        assertThat(withoutOne.get("one"), nullValue());
+        assertThat(withoutOne.size(), is(1));
+    }
+
+    @Test
+    public void returnsTheSameMapWhenNothingChanges() {
+        Integer value = 1000;
+        PersistentHashMap<String, Integer> map = PersistentHashMap.<String, Integer>empty().plus("key", value);
+
+        assertThat(map.plus("key", value), sameInstance(map));
+        assertThat(map.minus("other"), sameInstance(map));
+    }
+
+    @Test
+    public void keepsKeysWithTheSameHashApart() {
+        // "Aa" and "BB" have the same hash code
+        PersistentHashMap<String, Integer> map = PersistentHashMap.<String, Integer>empty()
+            .plus("Aa", 1)
+            .plus("BB", 2)
+            .plus("C", 3);
+
+        assertThat(map.get("Aa"), is(1));
+        assertThat(map.get("BB"), is(2));
+        assertThat(map.get("C"), is(3));
+        assertThat(map.minus("Aa").get("BB"), is(2));
+        assertThat(map.minus("Aa").minus("BB").keys(), containsInAnyOrder("C"));
+    }
+
+    @Test
+    public void behavesLikeAHashMapOverManyChanges() {
+        Random random = new Random(1);
+        Map<Integer, Integer> expected = new HashMap<>();
+        PersistentHashMap<Integer, Integer> map = PersistentHashMap.empty();
+        for (int i = 0; i < 50000; i++) {
+            Integer key = random.nextInt(5000) * 65536;
+            if (random.nextBoolean()) {
+                expected.put(key, i);
+                map = map.plus(key, i);
+            } else {
+                expected.remove(key);
+                map = map.minus(key);
+            }
+        }
+
+        assertThat(map.size(), is(expected.size()));
+        assertThat(map.keys(), containsInAnyOrder(expected.keySet().toArray()));
+        for (Map.Entry<Integer, Integer> entry: expected.entrySet()) {
+            assertThat(map.get(entry.getKey()), is(entry.getValue()));
+        }
+    }
+}
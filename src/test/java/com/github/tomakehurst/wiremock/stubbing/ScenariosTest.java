@@ -132,6 +132,24 @@ public class ScenariosTest {
     }
 
 
+    @Test
+    public void removesScenarioWhenABatchReplacesItsOnlyStubWithOneOutsideAnyScenario() {
+        StubMapping mapping = get("/scenarios/1")
+            .inScenario("one")
+            .whenScenarioStateIs(STARTED)
+            .willSetStateTo("step_2")
+            .willReturn(ok())
+            .build();
+        scenarios.onStubMappingsAdded(singletonList(mapping), singletonList(mapping));
+        assertThat(scenarios.getAll(), hasSize(1));
+
+        StubMapping replacement = get("/scenarios/1").willReturn(ok()).build();
+        replacement.setUuid(mapping.getUuid());
+        scenarios.onStubMappingsAdded(singletonList(replacement), singletonList(replacement));
+
+        assertThat(scenarios.getAll(), empty());
+    }
+
     @Test
     public void modifiesScenarioStateWhenStubServed() {
         StubMapping mapping1 = get("/scenarios/1").inScenario("one")
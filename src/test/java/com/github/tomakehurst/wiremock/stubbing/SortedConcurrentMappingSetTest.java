@@ -23,12 +23,17 @@ import org.hamcrest.TypeSafeMatcher;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.List;
+import java.util.UUID;
 
 import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlMatching;
 import static com.github.tomakehurst.wiremock.http.RequestMethod.ANY;
 import static com.github.tomakehurst.wiremock.matching.RequestPatternBuilder.newRequestPattern;
 import static com.github.tomakehurst.wiremock.testsupport.WireMatchers.hasExactly;
+import static java.util.Arrays.asList;
 import static org.hamcrest.Matchers.is;
 import static org.junit.Assert.assertThat;
 
@@ -135,6 +140,79 @@ public class SortedConcurrentMappingSetTest {
 		assertThat(it.hasNext(), is(false));
 	}
 
+	@Test
+	public void findsMappingsById() {
+		StubMapping one = aMapping(1, "/one");
+		StubMapping two = aMapping(1, "/two");
+		mappingSet.add(one);
+		mappingSet.add(two);
+
+		assertThat(mappingSet.get(one.getUuid()).get(), is(one));
+		assertThat(mappingSet.get(two.getUuid()).get(), is(two));
+		assertThat(mappingSet.get(UUID.randomUUID()).isPresent(), is(false));
+
+		mappingSet.remove(one);
+		assertThat(mappingSet.get(one.getUuid()).isPresent(), is(false));
+
+		StubMapping replacement = aMapping(1, "/three");
+		mappingSet.replace(two, replacement);
+		assertThat(mappingSet.get(two.getUuid()).isPresent(), is(false));
+		assertThat(mappingSet.get(replacement.getUuid()).get(), is(replacement));
+
+		mappingSet.replaceAll(asList(one));
+		assertThat(mappingSet.get(replacement.getUuid()).isPresent(), is(false));
+		assertThat(mappingSet.get(one.getUuid()).get(), is(one));
+	}
+
+	@Test
+	public void removesByEqualRequestPatternWhenNoMappingHasTheSameId() {
+		mappingSet.add(aMapping(1, "/one"));
+		StubMapping two = aMapping(1, "/two");
+		mappingSet.add(two);
+
+		boolean removed = mappingSet.remove(aMapping(3, "/one"));
+
+		assertThat(removed, is(true));
+		assertThat(urlsOf(mappingSet), is(asList("/two")));
+		assertThat(mappingSet.remove(aMapping(3, "/nothing")), is(false));
+	}
+
+	@Test
+	public void keepsMappingsWithoutAnIdWhenAddingABatchWithoutIds() {
+		StubMapping existing = aMapping(1, "/existing");
+		existing.setUuid(null);
+		mappingSet.add(existing);
+
+		StubMapping imported = aMapping(1, "/imported");
+		imported.setUuid(null);
+		mappingSet.addAll(asList(imported));
+
+		assertThat(urlsOf(mappingSet), is(asList("/imported", "/existing")));
+	}
+
+	@Test(timeout = 5000)
+	public void addsManyMappingsOneAtATimeWithoutCopyingTheLookups() {
+		StubMapping last = null;
+		for (int i = 0; i < 10000; i++) {
+			last = i % 2 == 0 ?
+				aMapping(1, "/exact/" + i) :
+				new StubMapping(newRequestPattern(ANY, urlMatching("/regex/" + i + "/.*")).build(), new ResponseDefinition());
+			mappingSet.add(last);
+		}
+
+		assertThat(mappingSet.get(last.getUuid()).get(), is(last));
+		assertThat(mappingSet.remove(last), is(true));
+		assertThat(mappingSet.get(last.getUuid()).isPresent(), is(false));
+	}
+
+	private static List<String> urlsOf(Iterable<StubMapping> mappings) {
+		List<String> urls = new ArrayList<>();
+		for (StubMapping mapping: mappings) {
+			urls.add(mapping.getRequest().getUrl());
+		}
+		return urls;
+	}
+
 	private StubMapping aMapping(Integer priority, String url) {
 		RequestPattern requestPattern = newRequestPattern(ANY, urlEqualTo(url)).build();
 		StubMapping mapping = new StubMapping(requestPattern, new ResponseDefinition());
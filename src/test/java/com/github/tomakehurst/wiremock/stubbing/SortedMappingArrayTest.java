@@ -0,0 +1,96 @@
+/*
+ * Copyright (C) 2011 Thomas Akehurst
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.tomakehurst.wiremock.stubbing;
+
+import com.github.tomakehurst.wiremock.http.ResponseDefinition;
+import org.junit.Test;
+
+import java.util.Comparator;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.anyUrl;
+import static com.github.tomakehurst.wiremock.http.RequestMethod.ANY;
+import static com.github.tomakehurst.wiremock.matching.RequestPatternBuilder.newRequestPattern;
+import static java.util.Arrays.asList;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.emptyIterable;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+public class SortedMappingArrayTest {
+
+    private static final Comparator<StubMapping> BY_INSERTION_INDEX = new Comparator<StubMapping>() {
+        @Override
+        public int compare(StubMapping one, StubMapping two) {
+            return Long.compare(one.getInsertionIndex(), two.getInsertionIndex());
+        }
+    };
+
+    @Test
+    public void keepsMappingsSortedAsTheyAreAdded() {
+        StubMapping one = aMapping(1);
+        StubMapping two = aMapping(2);
+        StubMapping three = aMapping(3);
+
+        SortedMappingArray array = SortedMappingArray.empty(BY_INSERTION_INDEX)
+            .withAdded(three)
+            .withAdded(one)
+            .withAdded(two);
+
+        assertThat(array, contains(one, two, three));
+        assertThat(SortedMappingArray.of(BY_INSERTION_INDEX, asList(two, three, one)), contains(one, two, three));
+    }
+
+    @Test
+    public void leavesTheOriginalUnchangedWhenModified() {
+        StubMapping one = aMapping(1);
+        StubMapping two = aMapping(2);
+        SortedMappingArray original = SortedMappingArray.empty(BY_INSERTION_INDEX).withAdded(one);
+
+        SortedMappingArray added = original.withAdded(two);
+        SortedMappingArray removed = added.without(one);
+
+        assertThat(original, contains(one));
+        assertThat(added, contains(one, two));
+        assertThat(removed, contains(two));
+        assertThat(removed.without(two), emptyIterable());
+    }
+
+    @Test
+    public void mergesABatchOfMappingsInOneSortDroppingDuplicates() {
+        StubMapping one = aMapping(1);
+        StubMapping two = aMapping(2);
+        StubMapping three = aMapping(3);
+        StubMapping four = aMapping(4);
+        SortedMappingArray array = SortedMappingArray.empty(BY_INSERTION_INDEX).withAdded(two);
+
+        assertThat(array.withAddedAll(asList(four, one, two, three)), contains(one, two, three, four));
+    }
+
+    @Test
+    public void returnsTheSameInstanceWhenNothingChanges() {
+        StubMapping one = aMapping(1);
+        SortedMappingArray array = SortedMappingArray.empty(BY_INSERTION_INDEX).withAdded(one);
+
+        assertThat(array.withAdded(one), sameInstance(array));
+        assertThat(array.without(aMapping(2)), sameInstance(array));
+    }
+
+    private static StubMapping aMapping(long insertionIndex) {
+        StubMapping mapping = new StubMapping(newRequestPattern(ANY, anyUrl()).build(), new ResponseDefinition());
+        mapping.setInsertionIndex(insertionIndex);
+        return mapping;
+    }
+}
@@ -0,0 +1,199 @@
+/*
+ * Copyright (C) 2011 Thomas Akehurst
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.tomakehurst.wiremock.stubbing;
+
+import com.github.tomakehurst.wiremock.http.RequestMethod;
+import com.github.tomakehurst.wiremock.http.ResponseDefinition;
+import com.github.tomakehurst.wiremock.matching.UrlPattern;
+import com.google.common.collect.ImmutableList;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.anyUrl;
+import static com.github.tomakehurst.wiremock.client.WireMock.equalToIgnoreCase;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlMatching;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlPathEqualTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlPathMatching;
+import static com.github.tomakehurst.wiremock.http.RequestMethod.ANY;
+import static com.github.tomakehurst.wiremock.http.RequestMethod.GET;
+import static com.github.tomakehurst.wiremock.http.RequestMethod.POST;
+import static com.github.tomakehurst.wiremock.matching.MockRequest.mockRequest;
+import static com.github.tomakehurst.wiremock.matching.RequestPatternBuilder.newRequestPattern;
+import static java.util.Arrays.asList;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.junit.Assert.assertThat;
+
+public class StubMappingIndexTest {
+
+    private SortedConcurrentMappingSet mappings;
+
+    @Before
+    public void init() {
+        mappings = new SortedConcurrentMappingSet();
+    }
+
+    @Test
+    public void onlyReturnsStubsWithMatchingMethodAndUrl() {
+        StubMapping getThings = add(aMapping(GET, urlEqualTo("/things"), null));
+        add(aMapping(POST, urlEqualTo("/things"), null));
+        add(aMapping(GET, urlEqualTo("/other-things"), null));
+
+        assertThat(candidatesFor(GET, "/things"), contains(getThings));
+    }
+
+    @Test
+    public void includesStubsForAnyMethod() {
+        StubMapping getThings = add(aMapping(GET, urlEqualTo("/things"), null));
+        StubMapping anyThings = add(aMapping(ANY, urlEqualTo("/things"), null));
+
+        assertThat(candidatesFor(GET, "/things"), contains(anyThings, getThings));
+        assertThat(candidatesFor(POST, "/things"), contains(anyThings));
+    }
+
+    @Test
+    public void looksUpUrlPathStubsByPathWithoutQuery() {
+        StubMapping pathStub = add(aMapping(GET, urlPathEqualTo("/things"), null));
+        add(aMapping(GET, urlEqualTo("/things"), null));
+
+        assertThat(candidatesFor(GET, "/things?page=2"), contains(pathStub));
+    }
+
+    @Test
+    public void alwaysReturnsUnindexableStubs() {
+        StubMapping regexStub = add(aMapping(GET, urlMatching("/.*"), null));
+        StubMapping anyUrlStub = add(aMapping(GET, anyUrl(), null));
+        StubMapping caseInsensitiveStub = add(aMapping(GET, new UrlPattern(equalToIgnoreCase("/THINGS"), false), null));
+
+        assertThat(candidatesFor(POST, "/nothing"), contains(caseInsensitiveStub, anyUrlStub, regexStub));
+    }
+
+    @Test
+    public void onlyReturnsRegexStubsWhoseLiteralPrefixMatches() {
+        StubMapping customerOrders = add(aMapping(GET, urlMatching("/api/customers/[0-9]+/orders.*"), null));
+        add(aMapping(GET, urlMatching("/api/products/[0-9]+"), null));
+        StubMapping customerPaths = add(aMapping(GET, urlPathMatching("/api/customers/.*"), null));
+
+        assertThat(candidatesFor(GET, "/api/customers/12/orders?page=1"), contains(customerPaths, customerOrders));
+        assertThat(candidatesFor(GET, "/api/suppliers/12"), empty());
+    }
+
+    @Test
+    public void onlyReturnsRegexStubsWhoseRequiredLiteralAppearsInTheUrl() {
+        StubMapping anyOrders = add(aMapping(GET, urlMatching(".*/orders/[0-9]+"), null));
+        add(aMapping(GET, urlMatching(".*/invoices/[0-9]+"), null));
+        StubMapping anyJsonPaths = add(aMapping(GET, urlPathMatching("[a-z/]+\\.json"), null));
+
+        assertThat(candidatesFor(GET, "/api/orders/12"), contains(anyOrders));
+        assertThat(candidatesFor(GET, "/api/orders.json?page=1"), contains(anyJsonPaths));
+        assertThat(candidatesFor(GET, "/api/customers/12"), empty());
+    }
+
+    @Test
+    public void mergesCandidatesInPriorityThenReverseInsertionOrder() {
+        StubMapping exactLowPriority = add(aMapping(GET, urlEqualTo("/things"), 8));
+        StubMapping regexHighPriority = add(aMapping(GET, urlMatching("/things"), 1));
+        StubMapping pathDefaultPriority = add(aMapping(GET, urlPathEqualTo("/things"), null));
+        StubMapping anyDefaultPriority = add(aMapping(ANY, urlEqualTo("/things"), null));
+
+        assertThat(candidatesFor(GET, "/things"), contains(
+            regexHighPriority,
+            anyDefaultPriority,
+            pathDefaultPriority,
+            exactLowPriority
+        ));
+    }
+
+    @Test
+    public void dropsStubsOnRemoveAndClear() {
+        StubMapping first = add(aMapping(GET, urlEqualTo("/things"), null));
+        StubMapping second = add(aMapping(GET, urlMatching("/things"), null));
+
+        mappings.remove(first);
+        assertThat(candidatesFor(GET, "/things"), contains(second));
+
+        mappings.clear();
+        assertThat(candidatesFor(GET, "/things"), empty());
+    }
+
+    @Test
+    public void reindexesReplacedStubsUnderTheirNewUrl() {
+        StubMapping existing = add(aMapping(GET, urlEqualTo("/old"), null));
+        StubMapping replacement = aMapping(GET, urlEqualTo("/new"), null);
+        replacement.setInsertionIndex(existing.getInsertionIndex());
+
+        mappings.replace(existing, replacement);
+
+        assertThat(candidatesFor(GET, "/old"), empty());
+        assertThat(candidatesFor(GET, "/new"), contains(replacement));
+    }
+
+    @Test
+    public void indexesABatchOfStubsTheSameWayAsIndividualAdds() {
+        StubMapping existing = add(aMapping(GET, urlEqualTo("/things"), null));
+        StubMapping exact = aMapping(GET, urlEqualTo("/things"), null);
+        StubMapping prefixRegex = aMapping(GET, urlMatching("/things/.*"), null);
+        StubMapping literalRegex = aMapping(GET, urlMatching(".*/things/[0-9]+"), null);
+        StubMapping unindexable = aMapping(GET, anyUrl(), null);
+
+        mappings.addAll(asList(exact, prefixRegex, literalRegex, unindexable));
+
+        assertThat(candidatesFor(GET, "/things"), contains(unindexable, exact, existing));
+        assertThat(candidatesFor(GET, "/things/12"), contains(unindexable, literalRegex, prefixRegex));
+    }
+
+    @Test
+    public void replacesAllStubsInOneSwap() {
+        add(aMapping(GET, urlEqualTo("/things"), null));
+        StubMapping replacement = aMapping(GET, urlEqualTo("/other-things"), null);
+
+        mappings.replaceAll(asList(replacement));
+
+        assertThat(candidatesFor(GET, "/things"), empty());
+        assertThat(candidatesFor(GET, "/other-things"), contains(replacement));
+        assertThat(ImmutableList.copyOf(mappings), contains(replacement));
+    }
+
+    @Test
+    public void replacingAStubLeavesEarlierLookupsUnchanged() {
+        StubMapping original = add(aMapping(GET, urlEqualTo("/things"), null));
+        Iterable<StubMapping> earlierCandidates = mappings.findCandidatesFor(mockRequest().method(GET).url("/things"));
+
+        StubMapping replacement = aMapping(GET, urlEqualTo("/things"), null);
+        mappings.replace(original, replacement);
+
+        assertThat(ImmutableList.copyOf(earlierCandidates), contains(original));
+        assertThat(candidatesFor(GET, "/things"), contains(replacement));
+    }
+
+    private StubMapping add(StubMapping mapping) {
+        mappings.add(mapping);
+        return mapping;
+    }
+
+    private List<StubMapping> candidatesFor(RequestMethod method, String url) {
+        return ImmutableList.copyOf(mappings.findCandidatesFor(mockRequest().method(method).url(url)));
+    }
+
+    private static StubMapping aMapping(RequestMethod method, UrlPattern url, Integer priority) {
+        StubMapping mapping = new StubMapping(newRequestPattern(method, url).build(), new ResponseDefinition());
+        mapping.setPriority(priority);
+        return mapping;
+    }
+}
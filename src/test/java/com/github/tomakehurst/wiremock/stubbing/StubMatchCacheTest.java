@@ -0,0 +1,149 @@
+/*
+ * Copyright (C) 2011 Thomas Akehurst
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.tomakehurst.wiremock.stubbing;
+
+import com.github.tomakehurst.wiremock.extension.ResponseDefinitionTransformer;
+import com.github.tomakehurst.wiremock.http.Request;
+import com.github.tomakehurst.wiremock.http.ResponseDefinition;
+import com.github.tomakehurst.wiremock.matching.RequestMatcherExtension;
+import com.github.tomakehurst.wiremock.matching.RequestPatternBuilder;
+import com.google.common.base.Optional;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Collections;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aMultipart;
+import static com.github.tomakehurst.wiremock.client.WireMock.equalTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static com.github.tomakehurst.wiremock.http.RequestMethod.GET;
+import static com.github.tomakehurst.wiremock.matching.MockRequest.mockRequest;
+import static com.github.tomakehurst.wiremock.matching.RequestPatternBuilder.newRequestPattern;
+import static com.github.tomakehurst.wiremock.stubbing.Scenario.STARTED;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+public class StubMatchCacheTest {
+
+    private InMemoryStubMappings mappings;
+
+    @Before
+    public void init() {
+        mappings = new InMemoryStubMappings(
+            Collections.<String, RequestMatcherExtension>emptyMap(),
+            Collections.<String, ResponseDefinitionTransformer>emptyMap(),
+            null,
+            Optional.of(10));
+    }
+
+    @Test
+    public void servesRepeatedRequestsFromTheCache() {
+        mappings.addMapping(aMapping(newRequestPattern(GET, urlEqualTo("/things")), 200));
+
+        assertThat(statusFor("/things"), is(200));
+        assertThat(statusFor("/things"), is(200));
+        assertThat(statusFor("/things"), is(200));
+
+        assertThat(mappings.getMatchCacheStats().getMisses(), is(1L));
+        assertThat(mappings.getMatchCacheStats().getHits(), is(2L));
+        assertThat(mappings.getMatchCacheStats().getSize(), is(1L));
+    }
+
+    @Test
+    public void distinguishesRequestsByTheHeadersStubsMatchOn() {
+        mappings.addMapping(aMapping(newRequestPattern(GET, urlEqualTo("/things")).withHeader("Accept", equalTo("text/plain")), 200));
+        mappings.addMapping(aMapping(newRequestPattern(GET, urlEqualTo("/things")).withHeader("Accept", equalTo("text/xml")), 201));
+
+        assertThat(statusFor("/things", "text/plain"), is(200));
+        assertThat(statusFor("/things", "text/xml"), is(201));
+        assertThat(statusFor("/things", "text/plain"), is(200));
+        assertThat(statusFor("/things", "TEXT/PLAIN"), is(404));
+    }
+
+    @Test
+    public void flushesWhenStubsChange() {
+        mappings.addMapping(aMapping(newRequestPattern(GET, urlEqualTo("/things")), 200));
+        assertThat(statusFor("/things"), is(200));
+
+        StubMapping override = aMapping(newRequestPattern(GET, urlEqualTo("/things")), 201);
+        mappings.addMapping(override);
+        assertThat(statusFor("/things"), is(201));
+
+        mappings.removeMapping(override);
+        assertThat(statusFor("/things"), is(200));
+
+        mappings.reset();
+        assertThat(statusFor("/things"), is(404));
+        assertThat(mappings.getMatchCacheStats().getHits(), is(0L));
+    }
+
+    @Test
+    public void doesNotCacheMatchesThatDependOnScenarioState() {
+        mappings.addMapping(aMapping(newRequestPattern(GET, urlEqualTo("/things")), 404));
+        StubMapping started = aMapping(newRequestPattern(GET, urlEqualTo("/things")), 200);
+        started.setScenarioName("things");
+        started.setRequiredScenarioState(STARTED);
+        started.setNewScenarioState("Finished");
+        mappings.addMapping(started);
+
+        assertThat(statusFor("/things"), is(200));
+        assertThat(statusFor("/things"), is(404));
+        mappings.resetScenarios();
+        assertThat(statusFor("/things"), is(200));
+
+        assertThat(mappings.getMatchCacheStats().getSize(), is(0L));
+    }
+
+    @Test
+    public void distinguishesRequestsByContentType() {
+        mappings.addMapping(aMapping(newRequestPattern(GET, urlEqualTo("/things")).withAnyRequestBodyPart(aMultipart().withName("file")), 200));
+        String body = "--BOUNDARY\r\nContent-Disposition: form-data; name=\"file\"\r\n\r\ncontent\r\n--BOUNDARY--\r\n";
+
+        assertThat(statusFor(mockRequest().method(GET).url("/things")
+            .header("Content-Type", "multipart/form-data; boundary=BOUNDARY").body(body).multipartBody(body)), is(200));
+        assertThat(statusFor(mockRequest().method(GET).url("/things")
+            .header("Content-Type", "text/plain").body(body)), is(404));
+    }
+
+    @Test
+    public void cachesNothingWhileStubsAreChanging() {
+        StubMatchCache cache = new StubMatchCache(10, Collections.<StubMapping>emptyList());
+
+        cache.stubsChanging();
+        assertThat(cache.slotFor(mockRequest().method(GET).url("/things")), nullValue());
+
+        cache.stubsChanged();
+        assertThat(cache.slotFor(mockRequest().method(GET).url("/things")), notNullValue());
+    }
+
+    private int statusFor(String url) {
+        return mappings.serveFor(mockRequest().method(GET).url(url)).getResponseDefinition().getStatus();
+    }
+
+    private int statusFor(String url, String accept) {
+        return mappings.serveFor(mockRequest().method(GET).url(url).header("Accept", accept)).getResponseDefinition().getStatus();
+    }
+
+    private int statusFor(Request request) {
+        return mappings.serveFor(request).getResponseDefinition().getStatus();
+    }
+
+    private static StubMapping aMapping(RequestPatternBuilder requestPattern, int status) {
+        return new StubMapping(requestPattern.build(), new ResponseDefinition(status, ""));
+    }
+}
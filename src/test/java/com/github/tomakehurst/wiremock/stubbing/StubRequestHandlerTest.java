@@ -102,7 +102,7 @@ public class StubRequestHandlerTest {
 		requestHandler.addRequestListener(listener);
 
 		context.checking(new Expectations() {{
-			allowing(stubServer).serveStubFor(request); will(returnValue(
+			allowing(stubServer).serveStubFor(with(any(Request.class))); will(returnValue(
                 ServeEvent.of(LoggedRequest.createFrom(request), ResponseDefinition.notConfigured())));
 			one(listener).requestReceived(with(equal(request)), with(any(Response.class)));
             allowing(responseRenderer).render(with(any(ResponseDefinition.class)));
@@ -121,7 +121,7 @@ public class StubRequestHandlerTest {
 				.build();
 
 		context.checking(new Expectations() {{
-			allowing(stubServer).serveStubFor(request);
+			allowing(stubServer).serveStubFor(with(any(Request.class)));
 			    will(returnValue(ServeEvent.forUnmatchedRequest(LoggedRequest.createFrom(request))));
 			allowing(responseRenderer).render(with(any(ResponseDefinition.class)));
                 will(returnValue(new Response.Builder().build()));
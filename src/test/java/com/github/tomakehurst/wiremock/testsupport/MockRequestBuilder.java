@@ -16,6 +16,7 @@
 package com.github.tomakehurst.wiremock.testsupport;
 
 import com.github.tomakehurst.wiremock.http.*;
+import com.google.common.base.Optional;
 import java.util.Collection;
 import javax.servlet.http.Part;
 import org.jmock.Expectations;
@@ -150,6 +151,7 @@ public class MockRequestBuilder {
 			allowing(request).getAbsoluteUrl(); will(returnValue("http://localhost:8080" + url));
 			allowing(request).isBrowserProxyRequest(); will(returnValue(browserProxyRequest));
 			allowing(request).getParts(); will(returnValue(multiparts));
+			allowing(request).getOriginalRequest(); will(returnValue(Optional.absent()));
 		}});
 
 		return request;
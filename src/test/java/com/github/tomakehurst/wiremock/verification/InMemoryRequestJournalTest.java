@@ -16,16 +16,25 @@
 package com.github.tomakehurst.wiremock.verification;
 
 import com.github.tomakehurst.wiremock.stubbing.ServeEvent;
+import com.github.tomakehurst.wiremock.stubbing.StubMapping;
 import com.google.common.base.Optional;
 import org.jmock.Mockery;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.anyRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
 import static com.github.tomakehurst.wiremock.client.WireMock.getRequestedFor;
 import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlPathEqualTo;
 import static com.github.tomakehurst.wiremock.matching.RequestPattern.everything;
 import static com.github.tomakehurst.wiremock.testsupport.MockRequestBuilder.aRequest;
 import static com.github.tomakehurst.wiremock.verification.LoggedRequest.createFrom;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
 import static org.hamcrest.Matchers.is;
 import static org.junit.Assert.assertThat;
 
@@ -82,6 +91,85 @@ public class InMemoryRequestJournalTest {
         assertOnlyLastTwoRequestsLeft(journal);
     }
 
+    @Test
+    public void findsServeEventsForAStubMappingNewestFirst() {
+        StubMapping stubMapping = get(urlEqualTo("/logging1")).build();
+        ServeEvent served1 = ServeEvent.of(serveEvent1.getRequest(), null, stubMapping);
+        ServeEvent served2 = ServeEvent.of(serveEvent1.getRequest(), null, stubMapping);
+        RequestJournal journal = new InMemoryRequestJournal(Optional.<Integer>absent());
+
+        journal.requestReceived(served1);
+        journal.requestReceived(serveEvent2);
+        journal.requestReceived(served2);
+
+        assertThat(journal.getServeEventsForStubMapping(stubMapping.getId()), contains(served2, served1));
+
+        journal.reset();
+        assertThat(journal.getServeEventsForStubMapping(stubMapping.getId()), empty());
+    }
+
+    @Test
+    public void indexedVerificationForgetsDiscardedRequests() {
+        RequestJournal journal = new InMemoryRequestJournal(Optional.of(1));
+
+        journal.requestReceived(serveEvent1);
+        journal.requestReceived(serveEvent2);
+
+        assertThat(journal.countRequestsMatching(getRequestedFor(urlEqualTo("/logging1")).build()), is(0));
+        assertThat(journal.countRequestsMatching(anyRequestedFor(urlPathEqualTo("/logging2")).build()), is(1));
+    }
+
+    @Test
+    public void pagesThroughEntriesOldestFirstFromACursor() {
+        RequestJournal journal = new InMemoryRequestJournal(Optional.<Integer>absent());
+
+        journal.requestReceived(serveEvent1);
+        journal.requestReceived(serveEvent2);
+        journal.requestReceived(serveEvent3);
+
+        List<JournalEntry> firstPage = journal.getEntriesAfter(-1, 2);
+        assertThat(serveEventsOf(firstPage), contains(serveEvent1, serveEvent2));
+
+        List<JournalEntry> secondPage = journal.getEntriesAfter(firstPage.get(1).getSequence(), 2);
+        assertThat(serveEventsOf(secondPage), contains(serveEvent3));
+
+        assertThat(journal.getEntriesAfter(secondPage.get(0).getSequence(), 2), empty());
+    }
+
+    @Test
+    public void waitsForAnEntryRecordedOutOfOrderRatherThanSkippingIt() {
+        InMemoryRequestJournal journal = new InMemoryRequestJournal(Optional.<Integer>absent());
+        journal.requestReceived(serveEvent1);
+        List<JournalEntry> firstPage = journal.getEntriesAfter(-1, 10);
+
+        long claimedFirst = journal.reserveSequence();
+        long claimedSecond = journal.reserveSequence();
+        journal.record(claimedSecond, serveEvent3);
+
+        long cursor = firstPage.get(0).getSequence();
+        assertThat(journal.getEntriesAfter(cursor, 10), empty());
+
+        journal.record(claimedFirst, serveEvent2);
+        assertThat(serveEventsOf(journal.getEntriesAfter(cursor, 10)), contains(serveEvent2, serveEvent3));
+    }
+
+    @Test
+    public void skipsOnlyEntriesThatHaveBeenEvicted() {
+        InMemoryRequestJournal journal = new InMemoryRequestJournal(Optional.of(1));
+        journal.requestReceived(serveEvent1);
+        journal.requestReceived(serveEvent2);
+
+        assertThat(serveEventsOf(journal.getEntriesAfter(-1, 10)), contains(serveEvent2));
+    }
+
+    private static List<ServeEvent> serveEventsOf(List<JournalEntry> entries) {
+        List<ServeEvent> serveEvents = new ArrayList<>();
+        for (JournalEntry entry: entries) {
+            serveEvents.add(entry.getServeEvent());
+        }
+        return serveEvents;
+    }
+
     private void assertOnlyLastTwoRequestsLeft(RequestJournal journal) {
         assertThat(journal.countRequestsMatching(getRequestedFor(urlEqualTo("/logging1")).build()), is(0));
         assertThat(journal.countRequestsMatching(getRequestedFor(urlEqualTo("/logging2")).build()), is(1));
@@ -0,0 +1,188 @@
+/*
+ * Copyright (C) 2011 Thomas Akehurst
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.tomakehurst.wiremock.verification;
+
+import com.github.tomakehurst.wiremock.common.DeflateBodyCodec;
+import com.github.tomakehurst.wiremock.common.Json;
+import com.github.tomakehurst.wiremock.http.Response;
+import com.github.tomakehurst.wiremock.http.ResponseDefinition;
+import com.github.tomakehurst.wiremock.stubbing.ServeEvent;
+import com.google.common.base.Optional;
+import com.google.common.base.Strings;
+import org.junit.Test;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static com.github.tomakehurst.wiremock.http.RequestMethod.POST;
+import static com.github.tomakehurst.wiremock.matching.MockRequest.mockRequest;
+import static com.google.common.util.concurrent.MoreExecutors.directExecutor;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.awaitility.Awaitility.await;
+import static org.hamcrest.Matchers.closeTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assume.assumeThat;
+
+public class JournalBodyCompressionTest {
+
+    static final String LARGE_BODY = "{\"items\": [" + Strings.repeat("{\"name\": \"thing\", \"quantity\": 12}, ", 200) + "{}]}";
+
+    @Test
+    public void compressesBodiesAtOrAboveTheThresholdAndDecompressesThemWhenRead() {
+        JournalBodyCompression compression = new JournalBodyCompression(new DeflateBodyCodec(), 1024, directExecutor());
+        ServeEvent serveEvent = serveEvent(LARGE_BODY, LARGE_BODY);
+
+        ServeEvent compressed = compression.compress(serveEvent);
+
+        assertThat(compressed.getId(), is(serveEvent.getId()));
+        assertThat(compressed.getRequest().isBodyCompressed(), is(true));
+        assertThat(compressed.getResponse().isBodyCompressed(), is(true));
+        assertThat(compressed.getRequest().getBodyAsString(), is(LARGE_BODY));
+        assertThat(compressed.getResponse().getBodyAsString(), is(LARGE_BODY));
+        assertThat(Json.write(compressed.getRequest()), is(Json.write(serveEvent.getRequest())));
+    }
+
+    @Test
+    public void leavesBodiesBelowTheThresholdUncompressed() {
+        JournalBodyCompression compression = new JournalBodyCompression(new DeflateBodyCodec(), 1024, directExecutor());
+        ServeEvent serveEvent = serveEvent("small", "also small");
+
+        ServeEvent result = compression.compress(serveEvent);
+
+        assertThat(result == serveEvent, is(true));
+        assertThat(compression.getStats().getCompressedBodies(), is(0L));
+    }
+
+    @Test
+    public void reportsTheCompressionRatio() {
+        JournalBodyCompression compression = new JournalBodyCompression(new DeflateBodyCodec(), 1024, directExecutor());
+        compression.compress(serveEvent(LARGE_BODY, "small"));
+
+        JournalCompressionStats stats = compression.getStats();
+        assertThat(stats.getCodec(), is("deflate"));
+        assertThat(stats.getCompressedBodies(), is(1L));
+        assertThat(stats.getOriginalBytes(), is((long) LARGE_BODY.length()));
+        assertThat(stats.getCompressedBytes(), lessThan(stats.getOriginalBytes()));
+        assertThat(stats.getCompressionRatio(), greaterThan(2.0));
+
+        compression.reset();
+        assertThat(compression.getStats().getCompressionRatio(), closeTo(1.0, 0.0));
+    }
+
+    @Test
+    public void journalMatchesOnCompressedBodies() {
+        JournalBodyCompression compression = new JournalBodyCompression(new DeflateBodyCodec(), 1024, directExecutor());
+        RequestJournal journal = new CompressingRequestJournal(new InMemoryRequestJournal(Optional.<Integer>absent()), compression);
+
+        journal.requestReceived(serveEvent(LARGE_BODY, LARGE_BODY));
+
+        assertThat(journal.getAllServeEvents().get(0).getRequest().isBodyCompressed(), is(true));
+        assertThat(journal.countRequestsMatching(postRequestedFor(urlEqualTo("/items"))
+            .withRequestBody(containing("\"quantity\": 12"))
+            .build()), is(1));
+
+        journal.reset();
+        assertThat(compression.getStats().getCompressedBodies(), is(0L));
+    }
+
+    @Test
+    public void compressesInTheBackgroundAndReadsTheOriginalUntilThen() {
+        final List<Runnable> pending = new ArrayList<>();
+        JournalBodyCompression compression = new JournalBodyCompression(new DeflateBodyCodec(), 1024, new Executor() {
+            @Override
+            public void execute(Runnable command) {
+                pending.add(command);
+            }
+        });
+
+        ServeEvent compressed = compression.compress(serveEvent(LARGE_BODY, LARGE_BODY));
+
+        assertThat(compressed.getRequest().isBodyCompressed(), is(false));
+        assertThat(compressed.getRequest().getBodyAsString(), is(LARGE_BODY));
+        assertThat(compression.getStats().getCompressedBodies(), is(0L));
+
+        for (Runnable command: pending) {
+            command.run();
+        }
+
+        assertThat(compressed.getRequest().isBodyCompressed(), is(true));
+        assertThat(compressed.getResponse().isBodyCompressed(), is(true));
+        assertThat(compressed.getRequest().getBodyAsString(), is(LARGE_BODY));
+        assertThat(compression.getStats().getCompressedBodies(), is(2L));
+    }
+
+    @Test
+    public void skipsBodiesWhoseEntryHasGoneFromTheJournal() {
+        final List<Runnable> pending = new ArrayList<>();
+        JournalBodyCompression compression = new JournalBodyCompression(new DeflateBodyCodec(), 1024, new Executor() {
+            @Override
+            public void execute(Runnable command) {
+                pending.add(command);
+            }
+        });
+
+        WeakReference<ServeEvent> evicted = new WeakReference<>(compression.compress(serveEvent(LARGE_BODY, "small")));
+        for (int i = 0; i < 10 && evicted.get() != null; i++) {
+            System.gc();
+        }
+        assumeThat(evicted.get(), nullValue());
+
+        for (Runnable command: pending) {
+            command.run();
+        }
+
+        assertThat(compression.getStats().getCompressedBodies(), is(0L));
+    }
+
+    @Test
+    public void compressesOnItsOwnThreadAndStartsItAgainAfterShutdown() {
+        final JournalBodyCompression compression = new JournalBodyCompression(new DeflateBodyCodec(), 1024);
+
+        ServeEvent first = compression.compress(serveEvent(LARGE_BODY, "small"));
+        await().atMost(5, SECONDS).until(compressedBodies(compression), is(1L));
+        compression.shutdown();
+
+        ServeEvent second = compression.compress(serveEvent(LARGE_BODY, "small"));
+        await().atMost(5, SECONDS).until(compressedBodies(compression), is(2L));
+        compression.shutdown();
+
+        assertThat(first.getRequest().isBodyCompressed(), is(true));
+        assertThat(second.getRequest().getBodyAsString(), is(LARGE_BODY));
+    }
+
+    private static Callable<Long> compressedBodies(final JournalBodyCompression compression) {
+        return new Callable<Long>() {
+            @Override
+            public Long call() {
+                return compression.getStats().getCompressedBodies();
+            }
+        };
+    }
+
+    private static ServeEvent serveEvent(String requestBody, String responseBody) {
+        LoggedRequest request = mockRequest().method(POST).url("/items").body(requestBody).asLoggedRequest();
+        return ServeEvent.of(request, ResponseDefinition.ok())
+            .complete(new Response.Builder().status(200).body(responseBody).build());
+    }
+}
@@ -22,6 +22,7 @@ import com.github.tomakehurst.wiremock.http.HttpHeaders;
 import com.github.tomakehurst.wiremock.http.RequestMethod;
 
 import com.github.tomakehurst.wiremock.http.Cookie;
+import com.github.tomakehurst.wiremock.matching.MockRequest;
 import com.google.common.collect.ImmutableMap;
 import org.jmock.Mockery;
 import org.jmock.integration.junit4.JMock;
@@ -38,6 +39,7 @@ import java.util.TimeZone;
 
 import static com.github.tomakehurst.wiremock.http.HttpHeader.httpHeader;
 import static com.github.tomakehurst.wiremock.http.RequestMethod.POST;
+import static com.github.tomakehurst.wiremock.matching.MockRequest.mockRequest;
 import static com.github.tomakehurst.wiremock.testsupport.MockRequestBuilder.aRequest;
 import static com.github.tomakehurst.wiremock.verification.LoggedRequest.createFrom;
 import static org.hamcrest.CoreMatchers.is;
@@ -198,4 +200,15 @@ public class LoggedRequestTest {
         assertEquals("test-param-2", req.queryParameter("test-param-2").key());
         assertEquals("value-2" , req.queryParameter("test-param-2").firstValue());
     }
+
+    @Test
+    public void sharesTheBodyOfTheOriginalRequestAndReusesExistingSnapshots() {
+        byte[] body = "shared body".getBytes();
+        MockRequest request = mockRequest().url("/shared").method(POST).body(body);
+
+        LoggedRequest loggedRequest = createFrom(request);
+
+        assertSame(body, loggedRequest.getBody());
+        assertSame(loggedRequest, createFrom(loggedRequest));
+    }
 }
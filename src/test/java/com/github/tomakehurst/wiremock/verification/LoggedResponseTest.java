@@ -30,6 +30,7 @@
  */
 package com.github.tomakehurst.wiremock.verification;
 
+import com.github.tomakehurst.wiremock.common.Json;
 import com.github.tomakehurst.wiremock.http.*;
 import org.junit.Test;
 
@@ -68,4 +69,11 @@ public class LoggedResponseTest {
         );
         assertThat(UTF8_RESPONSE_BODY, is(equalTo(loggedResponse.getBodyAsString())));
     }
+
+    @Test
+    public void readsWhetherTheBodyWasStreamedFromJson() {
+        LoggedResponse loggedResponse = Json.read("{ \"status\": 200, \"bodyStreamed\": true }", LoggedResponse.class);
+        assertThat(loggedResponse.isBodyStreamed(), is(true));
+        assertThat(Json.read("{ \"status\": 200 }", LoggedResponse.class).isBodyStreamed(), is(false));
+    }
 }
@@ -0,0 +1,173 @@
+/*
+ * Copyright (C) 2011 Thomas Akehurst
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.tomakehurst.wiremock.verification;
+
+import com.github.tomakehurst.wiremock.http.HttpHeaders;
+import com.github.tomakehurst.wiremock.http.RequestMethod;
+import com.github.tomakehurst.wiremock.http.ResponseDefinition;
+import com.github.tomakehurst.wiremock.http.Cookie;
+import com.github.tomakehurst.wiremock.stubbing.ServeEvent;
+import com.github.tomakehurst.wiremock.stubbing.StubMapping;
+import com.google.common.base.Optional;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.FilenameFilter;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static com.github.tomakehurst.wiremock.matching.RequestPattern.everything;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.junit.Assert.assertThat;
+
+public class MappedRequestJournalTest {
+
+    @Rule
+    public final TemporaryFolder tempDir = new TemporaryFolder();
+
+    private File journalDir;
+
+    @Before
+    public void init() {
+        journalDir = new File(tempDir.getRoot(), "journal");
+    }
+
+    @Test
+    public void readsBackRecordedServeEvents() {
+        RequestJournal journal = new MappedRequestJournal(journalDir, 64 * 1024, 2, Optional.<Long>absent());
+        StubMapping stubMapping = get(urlEqualTo("/things")).willReturn(aResponse().withBody("Things")).build();
+        ServeEvent served = ServeEvent.of(request(RequestMethod.GET, "/things?page=2", new Date()), ResponseDefinition.ok(), stubMapping);
+        ServeEvent unmatched = ServeEvent.forUnmatchedRequest(request(RequestMethod.POST, "/other", new Date()));
+
+        journal.requestReceived(served);
+        journal.requestReceived(unmatched);
+
+        List<ServeEvent> all = journal.getAllServeEvents();
+        assertThat(all.size(), is(2));
+        assertThat(all.get(0).getId(), is(unmatched.getId()));
+        assertThat(all.get(0).getWasMatched(), is(false));
+        assertThat(all.get(1).getId(), is(served.getId()));
+        assertThat(all.get(1).getRequest().getUrl(), is("/things?page=2"));
+        assertThat(all.get(1).getStubMapping().getId(), is(stubMapping.getId()));
+
+        assertThat(journal.getServeEvent(served.getId()).get().getRequest().getMethod(), is(RequestMethod.GET));
+        assertThat(journal.getServeEventsForStubMapping(stubMapping.getId()).size(), is(1));
+    }
+
+    @Test
+    public void findsRequestsMatchingPatterns() {
+        RequestJournal journal = new MappedRequestJournal(journalDir, 64 * 1024, 2, Optional.<Long>absent());
+        journal.requestReceived(ServeEvent.of(request(RequestMethod.GET, "/things/1", new Date()), ResponseDefinition.ok()));
+        journal.requestReceived(ServeEvent.of(request(RequestMethod.POST, "/things/1", new Date()), ResponseDefinition.ok()));
+        journal.requestReceived(ServeEvent.of(request(RequestMethod.GET, "/things/2?q=a", new Date()), ResponseDefinition.ok()));
+
+        assertThat(journal.countRequestsMatching(getRequestedFor(urlEqualTo("/things/1")).build()), is(1));
+        assertThat(journal.countRequestsMatching(anyRequestedFor(urlPathEqualTo("/things/2")).build()), is(1));
+        assertThat(journal.countRequestsMatching(getRequestedFor(urlMatching("/things/.*")).build()), is(2));
+        assertThat(journal.getRequestsMatching(everything()).get(0).getMethod(), is(RequestMethod.GET));
+        assertThat(journal.getRequestsMatching(everything()).get(1).getMethod(), is(RequestMethod.POST));
+    }
+
+    @Test
+    public void readsEntriesAfterACursorOldestFirst() {
+        RequestJournal journal = new MappedRequestJournal(journalDir, 64 * 1024, 2, Optional.<Long>absent());
+        for (int i = 0; i < 3; i++) {
+            journal.requestReceived(ServeEvent.of(request(RequestMethod.GET, "/things/" + i, new Date()), ResponseDefinition.ok()));
+        }
+
+        List<JournalEntry> firstPage = journal.getEntriesAfter(-1, 2);
+        assertThat(firstPage.size(), is(2));
+        assertThat(firstPage.get(0).getServeEvent().getRequest().getUrl(), is("/things/0"));
+        assertThat(firstPage.get(1).getServeEvent().getRequest().getUrl(), is("/things/1"));
+
+        List<JournalEntry> secondPage = journal.getEntriesAfter(firstPage.get(1).getSequence(), 2);
+        assertThat(secondPage.size(), is(1));
+        assertThat(secondPage.get(0).getServeEvent().getRequest().getUrl(), is("/things/2"));
+    }
+
+    @Test
+    public void deletesTheOldestSegmentWhenThereAreTooManySegments() {
+        RequestJournal journal = new MappedRequestJournal(journalDir, 2048, 2, Optional.<Long>absent());
+
+        for (int i = 0; i < 30; i++) {
+            journal.requestReceived(ServeEvent.of(request(RequestMethod.GET, "/things/" + i, new Date()), ResponseDefinition.ok()));
+        }
+
+        int retained = journal.countRequestsMatching(everything());
+        assertThat(retained, greaterThan(0));
+        assertThat(retained, lessThan(30));
+        assertThat(journal.countRequestsMatching(getRequestedFor(urlEqualTo("/things/0")).build()), is(0));
+        assertThat(journal.countRequestsMatching(getRequestedFor(urlEqualTo("/things/29")).build()), is(1));
+        assertThat(segmentFiles().length, is(2));
+    }
+
+    @Test
+    public void deletesSegmentsOlderThanTheMaximumAge() {
+        RequestJournal journal = new MappedRequestJournal(journalDir, 64 * 1024, 10, Optional.of(60000L));
+        Date twoMinutesAgo = new Date(System.currentTimeMillis() - 120000);
+
+        journal.requestReceived(ServeEvent.of(request(RequestMethod.GET, "/old", twoMinutesAgo), ResponseDefinition.ok()));
+        journal.requestReceived(ServeEvent.of(request(RequestMethod.GET, "/new", new Date()), ResponseDefinition.ok()));
+
+        assertThat(journal.countRequestsMatching(getRequestedFor(urlEqualTo("/old")).build()), is(0));
+        assertThat(journal.countRequestsMatching(getRequestedFor(urlEqualTo("/new")).build()), is(1));
+    }
+
+    @Test
+    public void resetDeletesAllSegments() {
+        RequestJournal journal = new MappedRequestJournal(journalDir, 64 * 1024, 2, Optional.<Long>absent());
+        ServeEvent serveEvent = ServeEvent.of(request(RequestMethod.GET, "/things", new Date()), ResponseDefinition.ok());
+        journal.requestReceived(serveEvent);
+
+        journal.reset();
+
+        assertThat(journal.countRequestsMatching(everything()), is(0));
+        assertThat(journal.getServeEvent(serveEvent.getId()).isPresent(), is(false));
+        assertThat(segmentFiles().length, is(0));
+    }
+
+    private File[] segmentFiles() {
+        return journalDir.listFiles(new FilenameFilter() {
+            @Override
+            public boolean accept(File dir, String name) {
+                return name.endsWith(MappedRequestJournal.SEGMENT_SUFFIX);
+            }
+        });
+    }
+
+    private static LoggedRequest request(RequestMethod method, String url, Date loggedDate) {
+        return new LoggedRequest(
+            url,
+            "http://localhost:8080" + url,
+            method,
+            "127.0.0.1",
+            HttpHeaders.noHeaders(),
+            Collections.<String, Cookie>emptyMap(),
+            false,
+            loggedDate,
+            null,
+            null,
+            null
+        );
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright (C) 2011 Thomas Akehurst
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.tomakehurst.wiremock.verification;
+
+import com.github.tomakehurst.wiremock.http.Request;
+import org.jmock.Mockery;
+import org.junit.Before;
+import org.junit.Test;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.getRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static com.github.tomakehurst.wiremock.testsupport.MockRequestBuilder.aRequest;
+import static org.hamcrest.Matchers.closeTo;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+public class RequestCounterTest {
+
+    private static final long START = 1500000000000L;
+
+    private Request counted, ignored;
+    private RequestCounter counter;
+
+    @Before
+    public void init() {
+        Mockery context = new Mockery();
+        counted = aRequest(context, "counted").withUrl("/counted").build();
+        ignored = aRequest(context, "ignored").withUrl("/ignored").build();
+        counter = new RequestCounter(new RequestCounterSpec("test", getRequestedFor(urlEqualTo("/counted")).build(), 10));
+    }
+
+    @Test
+    public void countsOnlyMatchingRequests() {
+        counter.requestReceived(counted, START);
+        counter.requestReceived(ignored, START);
+        counter.requestReceived(counted, START + 1500);
+
+        RequestCounterStats stats = counter.getStats(START + 2000);
+        assertThat(stats.getName(), is("test"));
+        assertThat(stats.getCount(), is(2L));
+        assertThat(stats.getRatePerSecond(), closeTo(0.2, 0.0001));
+    }
+
+    @Test
+    public void rateOnlyIncludesRequestsWithinTheWindow() {
+        for (int i = 0; i < 20; i++) {
+            counter.requestReceived(counted, START + i * 1000);
+        }
+
+        RequestCounterStats stats = counter.getStats(START + 19000);
+        assertThat(stats.getCount(), is(20L));
+        assertThat(stats.getRatePerSecond(), closeTo(1.0, 0.0001));
+
+        assertThat(counter.getStats(START + 60000).getRatePerSecond(), closeTo(0.0, 0.0001));
+    }
+
+    @Test
+    public void aLateRequestFromBeforeTheWindowDoesNotDisplaceANewerSecond() {
+        counter.requestReceived(counted, START + 10000);
+        counter.requestReceived(counted, START);
+
+        RequestCounterStats stats = counter.getStats(START + 10000);
+        assertThat(stats.getCount(), is(2L));
+        assertThat(stats.getRatePerSecond(), closeTo(0.1, 0.0001));
+    }
+
+    @Test
+    public void resetZeroesTheCountAndRate() {
+        counter.requestReceived(counted, START);
+        counter.reset();
+
+        RequestCounterStats stats = counter.getStats(START);
+        assertThat(stats.getCount(), is(0L));
+        assertThat(stats.getRatePerSecond(), closeTo(0.0, 0.0001));
+    }
+}
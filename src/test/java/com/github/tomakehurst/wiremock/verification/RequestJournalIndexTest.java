@@ -0,0 +1,136 @@
+/*
+ * Copyright (C) 2011 Thomas Akehurst
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.tomakehurst.wiremock.verification;
+
+import com.github.tomakehurst.wiremock.stubbing.ServeEvent;
+import com.github.tomakehurst.wiremock.stubbing.StubMapping;
+import org.jmock.Mockery;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.NavigableMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static com.github.tomakehurst.wiremock.http.RequestMethod.GET;
+import static com.github.tomakehurst.wiremock.http.RequestMethod.POST;
+import static com.github.tomakehurst.wiremock.matching.RequestPattern.everything;
+import static com.github.tomakehurst.wiremock.testsupport.MockRequestBuilder.aRequest;
+import static com.github.tomakehurst.wiremock.verification.LoggedRequest.createFrom;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+public class RequestJournalIndexTest {
+
+    private RequestJournalIndex index;
+    private StubMapping stubMapping;
+    private ServeEvent getOrders, postOrders, getCustomers;
+
+    @Before
+    public void init() {
+        Mockery context = new Mockery();
+        stubMapping = get(urlEqualTo("/orders")).build();
+        getOrders = ServeEvent.of(createFrom(aRequest(context, "getOrders").withMethod(GET).withUrl("/orders?page=2").build()), null, stubMapping);
+        postOrders = ServeEvent.of(createFrom(aRequest(context, "postOrders").withMethod(POST).withUrl("/orders").build()), null);
+        getCustomers = ServeEvent.of(createFrom(aRequest(context, "getCustomers").withMethod(GET).withUrl("/customers").build()), null);
+
+        index = new RequestJournalIndex();
+        index.add(1, getOrders);
+        index.add(2, postOrders);
+        index.add(3, getCustomers);
+    }
+
+    @Test
+    public void findsCandidatesByUrlPathWhenPatternHasALiteralUrl() {
+        assertThat(index.findCandidatesFor(getRequestedFor(urlEqualTo("/orders?page=2")).build()).values(), contains(getOrders, postOrders));
+        assertThat(index.findCandidatesFor(anyRequestedFor(urlPathEqualTo("/customers")).build()).values(), contains(getCustomers));
+        assertThat(index.findCandidatesFor(getRequestedFor(urlEqualTo("/nothing")).build()).values(), empty());
+    }
+
+    @Test
+    public void findsCandidatesByMethodWhenPatternHasNoLiteralUrl() {
+        assertThat(index.findCandidatesFor(getRequestedFor(urlMatching("/.*")).build()).values(), contains(getOrders, getCustomers));
+    }
+
+    @Test
+    public void returnsNullWhenThePatternCannotBeNarrowedDown() {
+        assertThat(index.findCandidatesFor(everything()), nullValue());
+        assertThat(index.findCandidatesFor(anyRequestedFor(urlMatching("/orders.*")).build()), nullValue());
+    }
+
+    @Test
+    public void findsEventsServedByAStubMapping() {
+        assertThat(index.findServedBy(stubMapping.getId()).values(), contains(getOrders));
+    }
+
+    @Test
+    public void removedEventsAreNoLongerCandidates() {
+        index.remove(1, getOrders);
+
+        assertThat(index.findCandidatesFor(getRequestedFor(urlEqualTo("/orders")).build()).values(), contains(postOrders));
+        assertThat(index.findServedBy(stubMapping.getId()).values(), empty());
+    }
+
+    @Test
+    public void dropsBucketsOnceTheyAreEmpty() {
+        index.remove(1, getOrders);
+        index.remove(2, postOrders);
+        index.remove(3, getCustomers);
+
+        assertThat(index.bucketCount(), is(0));
+    }
+
+    @Test
+    public void keepsEveryEntryAddedConcurrentlyWhileOthersAreRemoved() throws Exception {
+        index.remove(1, getOrders);
+        final int threads = 8;
+        final int perThread = 2000;
+        final CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        for (int t = 0; t < threads; t++) {
+            final long first = 100 + t * perThread;
+            executor.submit(new Callable<Void>() {
+                @Override
+                public Void call() throws Exception {
+                    start.await();
+                    for (long sequence = first; sequence < first + perThread; sequence++) {
+                        index.add(sequence, getOrders);
+                        if (sequence % 2 == 0) {
+                            index.remove(sequence, getOrders);
+                        }
+                    }
+                    return null;
+                }
+            });
+        }
+
+        start.countDown();
+        executor.shutdown();
+        assertThat(executor.awaitTermination(10, SECONDS), is(true));
+
+        NavigableMap<Long, ServeEvent> served = index.findServedBy(stubMapping.getId());
+        for (long sequence = 101; sequence < 100 + threads * perThread; sequence += 2) {
+            assertThat(served.containsKey(sequence), is(true));
+        }
+    }
+}
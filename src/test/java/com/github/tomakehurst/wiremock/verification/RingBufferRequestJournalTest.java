@@ -0,0 +1,190 @@
+/*
+ * Copyright (C) 2011 Thomas Akehurst
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.tomakehurst.wiremock.verification;
+
+import com.github.tomakehurst.wiremock.stubbing.ServeEvent;
+import org.jmock.Mockery;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.getRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static com.github.tomakehurst.wiremock.matching.RequestPattern.everything;
+import static com.github.tomakehurst.wiremock.testsupport.MockRequestBuilder.aRequest;
+import static com.github.tomakehurst.wiremock.verification.LoggedRequest.createFrom;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public class RingBufferRequestJournalTest {
+
+    private ServeEvent serveEvent1, serveEvent2, serveEvent3;
+
+    @Before
+    public void createTestRequests() {
+        Mockery context = new Mockery();
+        serveEvent1 = ServeEvent.of(createFrom(aRequest(context, "log1").withUrl("/logging1").build()), null);
+        serveEvent2 = ServeEvent.of(createFrom(aRequest(context, "log2").withUrl("/logging2").build()), null);
+        serveEvent3 = ServeEvent.of(createFrom(aRequest(context, "log3").withUrl("/logging3").build()), null);
+    }
+
+    @Test
+    public void discardsOldestRequestsOnceCapacityIsReached() {
+        RequestJournal journal = new RingBufferRequestJournal(2);
+
+        journal.requestReceived(serveEvent1);
+        journal.requestReceived(serveEvent2);
+        assertThat(journal.countRequestsMatching(everything()), is(2));
+
+        journal.requestReceived(serveEvent3);
+        assertThat(journal.countRequestsMatching(everything()), is(2));
+        assertThat(journal.countRequestsMatching(getRequestedFor(urlEqualTo("/logging1")).build()), is(0));
+        assertThat(journal.countRequestsMatching(getRequestedFor(urlEqualTo("/logging2")).build()), is(1));
+        assertThat(journal.countRequestsMatching(getRequestedFor(urlEqualTo("/logging3")).build()), is(1));
+    }
+
+    @Test
+    public void returnsServeEventsNewestFirstAndRequestsOldestFirst() {
+        RequestJournal journal = new RingBufferRequestJournal(5);
+
+        journal.requestReceived(serveEvent1);
+        journal.requestReceived(serveEvent2);
+        journal.requestReceived(serveEvent3);
+
+        assertThat(journal.getAllServeEvents(), contains(serveEvent3, serveEvent2, serveEvent1));
+        assertThat(journal.getRequestsMatching(everything()), contains(
+            serveEvent1.getRequest(), serveEvent2.getRequest(), serveEvent3.getRequest()));
+    }
+
+    @Test
+    public void findsServeEventsById() {
+        RequestJournal journal = new RingBufferRequestJournal(2);
+
+        journal.requestReceived(serveEvent1);
+        journal.requestReceived(serveEvent2);
+
+        assertThat(journal.getServeEvent(serveEvent2.getId()).get(), is(serveEvent2));
+
+        journal.requestReceived(serveEvent3);
+        assertThat(journal.getServeEvent(serveEvent1.getId()).isPresent(), is(false));
+    }
+
+    @Test
+    public void resettingTheJournalClearsAllEntries() {
+        RequestJournal journal = new RingBufferRequestJournal(2);
+        journal.requestReceived(serveEvent1);
+        journal.requestReceived(serveEvent2);
+
+        journal.reset();
+        assertThat(journal.countRequestsMatching(everything()), is(0));
+
+        journal.requestReceived(serveEvent3);
+        assertThat(journal.getAllServeEvents(), contains(serveEvent3));
+    }
+
+    @Test
+    public void resettingTheJournalReleasesSlotsAndIndexedEntries() {
+        RequestJournalIndex index = new RequestJournalIndex();
+        RingBufferRequestJournal journal = new RingBufferRequestJournal(3, index);
+        journal.requestReceived(serveEvent1);
+        journal.requestReceived(serveEvent2);
+        assertThat(journal.occupiedSlots(), is(2));
+
+        journal.reset();
+
+        assertThat(journal.occupiedSlots(), is(0));
+        assertThat(index.findCandidatesFor(getRequestedFor(urlEqualTo("/logging1")).build()).isEmpty(), is(true));
+        assertThat(index.findCandidatesFor(getRequestedFor(urlEqualTo("/logging2")).build()).isEmpty(), is(true));
+    }
+
+    @Test
+    public void retainsExactlyCapacityEntriesWhenWrittenToConcurrently() throws Exception {
+        final RequestJournal journal = new RingBufferRequestJournal(100);
+        final CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<ServeEvent> events = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            events.add(i % 2 == 0 ? serveEvent1 : serveEvent2);
+        }
+
+        for (final ServeEvent event: events) {
+            executor.submit(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        start.await();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                    journal.requestReceived(event);
+                }
+            });
+        }
+
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertThat(journal.countRequestsMatching(everything()), is(100));
+    }
+
+    @Test
+    public void indexedVerificationOnlyCountsRetainedRequests() {
+        RequestJournal journal = new RingBufferRequestJournal(2);
+        journal.requestReceived(serveEvent1);
+        journal.requestReceived(serveEvent1);
+        assertThat(journal.countRequestsMatching(getRequestedFor(urlEqualTo("/logging1")).build()), is(2));
+
+        journal.requestReceived(serveEvent2);
+        assertThat(journal.countRequestsMatching(getRequestedFor(urlEqualTo("/logging1")).build()), is(1));
+
+        journal.reset();
+        journal.requestReceived(serveEvent2);
+        assertThat(journal.countRequestsMatching(getRequestedFor(urlEqualTo("/logging1")).build()), is(0));
+        assertThat(journal.getRequestsMatching(getRequestedFor(urlEqualTo("/logging2")).build()), contains(serveEvent2.getRequest()));
+    }
+
+    @Test
+    public void skipsEntriesOverwrittenSinceTheCursor() {
+        RequestJournal journal = new RingBufferRequestJournal(2);
+        journal.requestReceived(serveEvent1);
+        List<JournalEntry> firstPage = journal.getEntriesAfter(-1, 10);
+        assertThat(firstPage.size(), is(1));
+
+        journal.requestReceived(serveEvent2);
+        journal.requestReceived(serveEvent3);
+        journal.requestReceived(serveEvent1);
+
+        List<JournalEntry> nextPage = journal.getEntriesAfter(firstPage.get(0).getSequence(), 10);
+        assertThat(nextPage.size(), is(2));
+        assertThat(nextPage.get(0).getServeEvent(), is(serveEvent3));
+        assertThat(nextPage.get(1).getServeEvent(), is(serveEvent1));
+        assertThat(journal.getEntriesAfter(nextPage.get(1).getSequence(), 10).isEmpty(), is(true));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsNonPositiveCapacity() {
+        new RingBufferRequestJournal(0);
+    }
+}